@@ -0,0 +1,74 @@
+package com.paklog.wes.task.benchmark;
+
+import com.paklog.wes.task.application.service.TaskManagementService;
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.infrastructure.assignment.TaskAssignmentEngine;
+import com.paklog.wes.task.infrastructure.assignment.TaskRecommendation;
+import com.paklog.wes.task.infrastructure.assignment.Worker;
+import com.paklog.wes.task.infrastructure.assignment.WorkerRegistry;
+import com.paklog.wes.task.infrastructure.assignment.WorkerSpatialIndex;
+import com.paklog.wes.task.infrastructure.layout.HeuristicTravelTimeModel;
+import com.paklog.wes.task.infrastructure.queue.TaskQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cost of scoring a worker against candidate tasks in the assignment engine
+ * Recommendations score and rank every eligible candidate with travel times from
+ * the heuristic model; the queue and task service are never reached on this path
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class AssignmentScoringBenchmark {
+
+    @Param({"15", "150", "1500"})
+    private int candidateTasks;
+
+    @Param({"200"})
+    private int workerCount;
+
+    private TaskAssignmentEngine engine;
+    private Worker[] workers;
+    private List<WorkTask> candidates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SyntheticWarehouse warehouse = new SyntheticWarehouse(7, LocalDateTime.now());
+        engine = new TaskAssignmentEngine(
+                mock(TaskQueue.class),
+                mock(TaskManagementService.class),
+                new HeuristicTravelTimeModel(),
+                new WorkerRegistry(new WorkerSpatialIndex(), Optional.empty()));
+        workers = warehouse.workers(workerCount);
+        candidates = Arrays.asList(warehouse.tasks(candidateTasks));
+    }
+
+    @Benchmark
+    public List<TaskRecommendation> taskRecommendations() {
+        Worker worker = workers[next];
+        next = next + 1 == workers.length ? 0 : next + 1;
+        return engine.getTaskRecommendations(worker, candidates);
+    }
+}
@@ -0,0 +1,71 @@
+package com.paklog.wes.task.benchmark;
+
+import com.paklog.wes.task.application.service.TaskManagementService;
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.infrastructure.assignment.AssignmentResult;
+import com.paklog.wes.task.infrastructure.assignment.TaskAssignmentEngine;
+import com.paklog.wes.task.infrastructure.assignment.Worker;
+import com.paklog.wes.task.infrastructure.assignment.WorkerRegistry;
+import com.paklog.wes.task.infrastructure.assignment.WorkerSpatialIndex;
+import com.paklog.wes.task.infrastructure.layout.HeuristicTravelTimeModel;
+import com.paklog.wes.task.infrastructure.queue.TaskQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cost of solving a wave-sized batch assignment in the assignment engine
+ * Covers scoring every eligible pair, building the sparse candidate graph and
+ * the solve itself; the bulk commit goes to a mock and costs nothing here
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class BatchAssignmentBenchmark {
+
+    @Param({"200", "2000"})
+    private int taskCount;
+
+    @Param({"200"})
+    private int workerCount;
+
+    private TaskAssignmentEngine engine;
+    private List<WorkTask> tasks;
+    private List<Worker> workers;
+
+    @Setup
+    public void setUp() {
+        SyntheticWarehouse warehouse = new SyntheticWarehouse(11, LocalDateTime.now());
+        engine = new TaskAssignmentEngine(
+                mock(TaskQueue.class),
+                mock(TaskManagementService.class),
+                new HeuristicTravelTimeModel(),
+                new WorkerRegistry(new WorkerSpatialIndex(), Optional.empty()));
+        tasks = Arrays.asList(warehouse.tasks(taskCount));
+        workers = Arrays.asList(warehouse.workers(workerCount));
+    }
+
+    @Benchmark
+    public List<AssignmentResult> batchAssign() {
+        return engine.batchAssign(tasks, workers);
+    }
+}
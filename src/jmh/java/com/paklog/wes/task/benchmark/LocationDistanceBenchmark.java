@@ -0,0 +1,51 @@
+package com.paklog.wes.task.benchmark;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link Location#distanceFrom} between consecutive locations of a population
+ * Aisle naming picks the comparison path: single letters and numbers compare
+ * pre-parsed ordinals, multi-letter aisles fall back to alphanumeric comparison
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class LocationDistanceBenchmark {
+
+    private static final int LOCATIONS = 4096;
+
+    @Param({"letters", "numbers", "mixed"})
+    private String aisles;
+
+    private Location[] locations;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        locations = new SyntheticWarehouse(11, LocalDateTime.now()).locations(LOCATIONS, aisles);
+    }
+
+    @Benchmark
+    public double distanceFrom() {
+        int current = next;
+        next = (current + 1) & (LOCATIONS - 1);
+        return locations[current].distanceFrom(locations[next]);
+    }
+}
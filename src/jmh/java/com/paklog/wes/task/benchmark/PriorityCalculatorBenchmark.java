@@ -0,0 +1,91 @@
+package com.paklog.wes.task.benchmark;
+
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.service.PriorityFeatures;
+import com.paklog.wes.task.domain.service.TaskPriorityCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-task cost of the priority paths run on every enqueue, re-score and queue read
+ * Each invocation scores the next task of the population, so branch and cache
+ * behaviour reflect a mixed backlog rather than one task scored repeatedly
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class PriorityCalculatorBenchmark {
+
+    @Param({"10000"})
+    private int taskCount;
+
+    private TaskPriorityCalculator calculator;
+    private WorkTask[] tasks;
+    private PriorityFeatures[] features;
+    private long scoredAt;
+    private Map<String, Object> assignmentSignals;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        calculator = new TaskPriorityCalculator();
+        tasks = new SyntheticWarehouse(42, now).tasks(taskCount);
+        features = new PriorityFeatures[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            features[i] = calculator.extractFeatures(tasks[i]);
+        }
+        scoredAt = PriorityFeatures.toNanos(now.plusMinutes(30));
+        assignmentSignals = Map.of(
+                "operatorInSameZone", true,
+                "partOfBatch", true,
+                "waveReleased", true,
+                "systemSurgeLevel", 1
+        );
+    }
+
+    @Benchmark
+    public int calculatePriority() {
+        return calculator.calculatePriority(tasks[advance()]);
+    }
+
+    @Benchmark
+    public int calculateDynamicPriority() {
+        return calculator.calculateDynamicPriority(tasks[advance()], assignmentSignals);
+    }
+
+    /**
+     * Re-scoring from features extracted earlier, as the re-prioritization wheel does
+     */
+    @Benchmark
+    public int scoreExtractedFeatures() {
+        return calculator.score(features[advance()], scoredAt);
+    }
+
+    @Benchmark
+    public double workTaskPriorityScore() {
+        return tasks[advance()].getPriorityScore();
+    }
+
+    private int advance() {
+        int current = next;
+        next = current + 1 == tasks.length ? 0 : current + 1;
+        return current;
+    }
+}
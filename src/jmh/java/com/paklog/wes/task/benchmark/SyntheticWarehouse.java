@@ -0,0 +1,170 @@
+package com.paklog.wes.task.benchmark;
+
+import com.paklog.task.execution.domain.valueobject.Priority;
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.entity.TaskContext;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import com.paklog.wes.task.infrastructure.assignment.Worker;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded task, worker and location populations shaped like a busy pick floor
+ * Mostly pick work over lettered aisles, a spread of deadlines from minutes to
+ * days, and roughly half the orders carrying a carrier cut-off, so the scoring
+ * code sees every branch rather than one repeated input
+ */
+final class SyntheticWarehouse {
+
+    static final String WAREHOUSE_ID = "WH-1";
+
+    private static final String[] ZONES = {"PICK-A1", "PICK-B2", "PICK-C3", "ZONE-A4", "BULK-1"};
+    private static final String[] CUSTOMER_TIERS = {"PLATINUM", "GOLD", "SILVER", "BRONZE", "STANDARD", null};
+    private static final TaskType[] TASK_TYPES = {
+            TaskType.PICK, TaskType.PICK, TaskType.PICK, TaskType.PICK, TaskType.PACK,
+            TaskType.PUTAWAY, TaskType.REPLENISH, TaskType.SHIP, TaskType.MOVE, TaskType.COUNT
+    };
+    private static final Priority[] PRIORITIES = {
+            Priority.LOW, Priority.NORMAL, Priority.NORMAL, Priority.NORMAL, Priority.HIGH, Priority.URGENT
+    };
+
+    private final Random random;
+    private final LocalDateTime now;
+
+    SyntheticWarehouse(long seed, LocalDateTime now) {
+        this.random = new Random(seed);
+        this.now = now;
+    }
+
+    WorkTask[] tasks(int count) {
+        WorkTask[] tasks = new WorkTask[count];
+        for (int i = 0; i < count; i++) {
+            WorkTask task = WorkTask.create(
+                    pick(TASK_TYPES),
+                    WAREHOUSE_ID,
+                    pick(ZONES),
+                    location(),
+                    pick(PRIORITIES),
+                    "ORDER-" + i,
+                    Duration.ofMinutes(2 + random.nextInt(20)),
+                    random.nextInt(20) == 0 ? null : now.plusMinutes(10 + random.nextInt(3 * 24 * 60)),
+                    new SyntheticContext(metadata())
+            );
+            task.setCreatedAt(now.minusMinutes(random.nextInt(12 * 60)));
+            task.queue();
+            tasks[i] = task;
+        }
+        return tasks;
+    }
+
+    Worker[] workers(int count) {
+        Worker[] workers = new Worker[count];
+        for (int i = 0; i < count; i++) {
+            Set<TaskType> capabilities = EnumSet.of(TaskType.PICK);
+            for (TaskType type : TaskType.values()) {
+                if (random.nextInt(3) == 0) {
+                    capabilities.add(type);
+                }
+            }
+            workers[i] = Worker.builder()
+                    .workerId("W-" + i)
+                    .warehouseId(WAREHOUSE_ID)
+                    .currentZone(pick(ZONES))
+                    .currentLocation(location())
+                    .capabilities(capabilities)
+                    .specializations(random.nextBoolean() ? Set.of(TaskType.PICK) : Set.of())
+                    .activeTaskCount(random.nextInt(Worker.MAX_ACTIVE_TASKS))
+                    .performanceRating(0.5 + random.nextDouble() / 2)
+                    .build();
+        }
+        return workers;
+    }
+
+    /**
+     * Locations with lettered aisles (A..Z, AA..AF), numbered aisles or both
+     */
+    Location[] locations(int count, String aisles) {
+        Location[] locations = new Location[count];
+        for (int i = 0; i < count; i++) {
+            boolean numbered = switch (aisles) {
+                case "letters" -> false;
+                case "numbers" -> true;
+                default -> random.nextBoolean();
+            };
+            locations[i] = numbered ? numberedLocation() : location();
+        }
+        return locations;
+    }
+
+    private Location location() {
+        int aisle = random.nextInt(32);
+        String aisleCode = aisle < 26
+                ? String.valueOf((char) ('A' + aisle))
+                : "A" + (char) ('A' + aisle - 26);
+        return new Location(aisleCode, bay(), level(), position());
+    }
+
+    private Location numberedLocation() {
+        return new Location(String.format("%02d", 1 + random.nextInt(40)), bay(), level(), position());
+    }
+
+    private String bay() {
+        return String.format("%02d", 1 + random.nextInt(60));
+    }
+
+    private String level() {
+        return String.format("%02d", 1 + random.nextInt(5));
+    }
+
+    private String position() {
+        return String.format("%02d", 1 + random.nextInt(4));
+    }
+
+    private Map<String, Object> metadata() {
+        Map<String, Object> metadata = new HashMap<>();
+        String tier = pick(CUSTOMER_TIERS);
+        if (tier != null) {
+            metadata.put("customerTier", tier);
+        }
+        if (random.nextBoolean()) {
+            LocalDateTime cutoff = now.plusMinutes(5 + random.nextInt(10 * 60));
+            // Cut-offs arrive both parsed and as ISO strings from upstream payloads
+            metadata.put("carrierCutoffTime", random.nextBoolean() ? cutoff : cutoff.toString());
+        }
+        if (random.nextInt(10) == 0) {
+            metadata.put("express", true);
+        }
+        return metadata;
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Hands out a fresh metadata map per call, as the persisted task contexts do
+     */
+    private static final class SyntheticContext implements TaskContext {
+        private final Map<String, Object> metadata;
+
+        private SyntheticContext(Map<String, Object> metadata) {
+            this.metadata = metadata;
+        }
+
+        @Override
+        public void validate() {
+        }
+
+        @Override
+        public Map<String, Object> getMetadata() {
+            return new HashMap<>(metadata);
+        }
+    }
+}
@@ -16,7 +16,9 @@ import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Consumer for wave events from wave-planning-service
@@ -65,17 +67,22 @@ public class WaveEventConsumer {
         // Anti-Corruption Layer: Map external priority to internal domain
         Priority internalPriority = mapPriority(contract.priority());
 
-            // Create pick tasks for each order in the wave
+            // Create pick tasks for every order in the wave with one bulk write and enqueue
+            List<CreateTaskCommand> commands = new ArrayList<>(contract.orderIds().size());
             for (String orderId : contract.orderIds()) {
-                createPickTaskForOrder(contract.waveId(), orderId, internalPriority, contract.zoneId());
+                commands.add(pickTaskCommandForOrder(contract.waveId(), orderId, internalPriority, contract.zoneId()));
             }
+
+            taskManagementService.createTasks(commands);
+            log.info("Created {} pick tasks for wave: waveId={}, priority={}",
+                commands.size(), contract.waveId(), internalPriority);
         } catch (Exception e) {
             log.error("Failed to process wave released event", e);
             throw new RuntimeException("Failed to process wave released event", e);
         }
     }
 
-    private void createPickTaskForOrder(String waveId, String orderId, Priority priority, String zoneId) {
+    private CreateTaskCommand pickTaskCommandForOrder(String waveId, String orderId, Priority priority, String zoneId) {
         // Create a basic pick task context
         // In a real implementation, this would fetch order details and create proper pick instructions
         PickTaskContext context = new PickTaskContext(
@@ -85,7 +92,7 @@ public class WaveEventConsumer {
             Collections.emptyList() // Empty for now - would be populated with actual pick instructions
         );
 
-        CreateTaskCommand command = new CreateTaskCommand(
+        return new CreateTaskCommand(
             TaskType.PICK,
             "WH-001", // Default warehouse - should come from configuration or wave data
             zoneId,
@@ -96,9 +103,6 @@ public class WaveEventConsumer {
             LocalDateTime.now().plusHours(2), // Default deadline - should come from wave or SLA
             context
         );
-
-        taskManagementService.createTask(command);
-        log.info("Created pick task for order: orderId={}, waveId={}, priority={}", orderId, waveId, priority);
     }
 
     /**
@@ -2,12 +2,14 @@ package com.paklog.wes.task;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Task Execution Service - WES
  * Unified task management, assignment, and execution orchestration
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class TaskExecutionServiceApplication {
 
     public static void main(String[] args) {
@@ -4,6 +4,9 @@ import com.paklog.wes.task.adapter.rest.dto.MobileTaskResponse;
 import com.paklog.wes.task.adapter.rest.dto.RejectTaskRequest;
 import com.paklog.wes.task.application.service.TaskManagementService;
 import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.infrastructure.assignment.TaskAssignmentEngine;
+import com.paklog.wes.task.infrastructure.assignment.TaskRecommendation;
+import com.paklog.wes.task.infrastructure.assignment.ZoneAssignmentScheduler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -26,9 +30,16 @@ import java.util.stream.Collectors;
 public class MobileTaskController {
 
     private final TaskManagementService taskService;
+    private final TaskAssignmentEngine assignmentEngine;
+    private final ZoneAssignmentScheduler assignmentScheduler;
 
-    public MobileTaskController(TaskManagementService taskService) {
+    public MobileTaskController(
+            TaskManagementService taskService,
+            TaskAssignmentEngine assignmentEngine,
+            ZoneAssignmentScheduler assignmentScheduler) {
         this.taskService = taskService;
+        this.assignmentEngine = assignmentEngine;
+        this.assignmentScheduler = assignmentScheduler;
     }
 
     @GetMapping("/my-tasks")
@@ -48,6 +59,37 @@ public class MobileTaskController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/suggested")
+    @Operation(summary = "Get suggested tasks", description = "Get the best open tasks for the current worker")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+    })
+    public ResponseEntity<List<TaskRecommendation>> getSuggestedTasks(
+            @Parameter(description = "Worker ID", required = true)
+            @RequestHeader("X-Worker-Id") String workerId,
+
+            @Parameter(description = "Maximum number of suggestions")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(assignmentEngine.getTaskRecommendations(workerId, Math.min(limit, 50)));
+    }
+
+    @PostMapping("/next")
+    @Operation(summary = "Get next task", description = "Assign the next queued task in the worker's zone")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Task assigned"),
+            @ApiResponse(responseCode = "204", description = "No task available")
+    })
+    public CompletableFuture<ResponseEntity<MobileTaskResponse>> getNextTask(
+            @Parameter(description = "Worker ID", required = true)
+            @RequestHeader("X-Worker-Id") String workerId
+    ) {
+        return assignmentScheduler.nextTask(workerId)
+                .thenApply(task -> task
+                        .map(assigned -> ResponseEntity.ok(MobileTaskResponse.fromDomain(assigned)))
+                        .orElseGet(() -> ResponseEntity.noContent().build()));
+    }
+
     @GetMapping("/{taskId}")
     @Operation(summary = "Get task details", description = "Get detailed task information")
     @ApiResponses({
@@ -56,7 +56,8 @@ public class TaskController {
                         ? Duration.ofSeconds(request.estimatedDurationSeconds())
                         : null,
                 request.deadline(),
-                contextMapper.mapContext(request.type(), request.context())
+                contextMapper.mapContext(request.type(), request.context()),
+                request.scheduledFor()
         );
 
         WorkTask task = taskService.createTask(command);
@@ -0,0 +1,100 @@
+package com.paklog.wes.task.adapter.rest;
+
+import com.paklog.wes.task.adapter.rest.dto.WorkerPositionRequest;
+import com.paklog.wes.task.adapter.rest.dto.WorkerResponse;
+import com.paklog.wes.task.adapter.rest.dto.WorkerSignInRequest;
+import com.paklog.wes.task.application.service.TaskManagementService;
+import com.paklog.wes.task.infrastructure.assignment.Worker;
+import com.paklog.wes.task.infrastructure.assignment.WorkerRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Mobile API for worker sessions
+ * Sign-in, sign-out and location scans keep the worker registry current, which
+ * is what suggestions, next-task and nearest-worker assignment choose from
+ */
+@RestController
+@RequestMapping("/api/v1/mobile/workers")
+@Tag(name = "Mobile API", description = "Simplified task API for mobile warehouse workers")
+public class WorkerSessionController {
+
+    private final WorkerRegistry workerRegistry;
+    private final TaskManagementService taskService;
+
+    public WorkerSessionController(WorkerRegistry workerRegistry, TaskManagementService taskService) {
+        this.workerRegistry = workerRegistry;
+        this.taskService = taskService;
+    }
+
+    @PostMapping("/sign-in")
+    @Operation(summary = "Sign in", description = "Start a worker session and make the worker available for assignment")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Worker signed in"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public ResponseEntity<WorkerResponse> signIn(
+            @Parameter(description = "Worker ID", required = true)
+            @RequestHeader("X-Worker-Id") String workerId,
+
+            @Valid @RequestBody WorkerSignInRequest request
+    ) {
+        // Tasks still held from an earlier session count against the worker's capacity
+        int activeTasks = taskService.findActiveTasksByWorker(workerId).size();
+
+        Worker.Builder builder = Worker.builder()
+                .workerId(workerId)
+                .warehouseId(request.warehouseId())
+                .currentZone(request.zone())
+                .currentLocation(request.location().toDomain())
+                .capabilities(request.capabilities())
+                .activeTaskCount(activeTasks);
+        if (request.specializations() != null) {
+            builder.specializations(request.specializations());
+        }
+        if (request.performanceRating() != null) {
+            builder.performanceRating(request.performanceRating());
+        }
+        Worker worker = builder.build();
+        workerRegistry.register(worker);
+
+        return ResponseEntity.ok(WorkerResponse.fromDomain(worker));
+    }
+
+    @PostMapping("/sign-out")
+    @Operation(summary = "Sign out", description = "End the worker session; no further tasks are offered to the worker")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Worker signed out")
+    })
+    public ResponseEntity<Void> signOut(
+            @Parameter(description = "Worker ID", required = true)
+            @RequestHeader("X-Worker-Id") String workerId
+    ) {
+        workerRegistry.deregister(workerId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/position")
+    @Operation(summary = "Report position", description = "Record a location scan of a signed-in worker")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Position recorded"),
+            @ApiResponse(responseCode = "404", description = "Worker not signed in")
+    })
+    public ResponseEntity<WorkerResponse> reportPosition(
+            @Parameter(description = "Worker ID", required = true)
+            @RequestHeader("X-Worker-Id") String workerId,
+
+            @Valid @RequestBody WorkerPositionRequest request
+    ) {
+        return workerRegistry.updatePosition(workerId, request.zone(), request.location().toDomain())
+                .map(WorkerResponse::fromDomain)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -31,6 +31,8 @@ public record CreateTaskRequest(
 
         LocalDateTime deadline,
 
+        LocalDateTime scheduledFor,
+
         @NotNull(message = "Task context is required")
         Map<String, Object> context
 ) {
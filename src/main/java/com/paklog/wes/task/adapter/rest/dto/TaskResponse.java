@@ -24,6 +24,7 @@ public record TaskResponse(
         Integer estimatedDurationSeconds,
         Integer actualDurationSeconds,
         LocalDateTime deadline,
+        LocalDateTime scheduledFor,
         LocalDateTime createdAt,
         LocalDateTime queuedAt,
         LocalDateTime assignedAt,
@@ -49,6 +50,7 @@ public record TaskResponse(
                 task.getEstimatedDuration() != null ? (int) task.getEstimatedDuration().toSeconds() : null,
                 task.getActualDuration() != null ? (int) task.getActualDuration().toSeconds() : null,
                 task.getDeadline(),
+                task.getScheduledFor(),
                 task.getCreatedAt(),
                 task.getQueuedAt(),
                 task.getAssignedAt(),
@@ -0,0 +1,16 @@
+package com.paklog.wes.task.adapter.rest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Location scan of a signed-in worker
+ */
+public record WorkerPositionRequest(
+        @NotBlank(message = "Zone is required")
+        String zone,
+
+        @NotNull(message = "Location is required")
+        LocationDto location
+) {
+}
@@ -0,0 +1,31 @@
+package com.paklog.wes.task.adapter.rest.dto;
+
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import com.paklog.wes.task.infrastructure.assignment.Worker;
+
+import java.util.Set;
+
+/**
+ * Live state of a signed-in worker
+ */
+public record WorkerResponse(
+        String workerId,
+        String warehouseId,
+        String zone,
+        LocationDto location,
+        Set<TaskType> capabilities,
+        int activeTaskCount,
+        boolean available
+) {
+    public static WorkerResponse fromDomain(Worker worker) {
+        return new WorkerResponse(
+                worker.workerId(),
+                worker.warehouseId(),
+                worker.currentZone(),
+                LocationDto.fromDomain(worker.currentLocation()),
+                worker.capabilities(),
+                worker.activeTaskCount(),
+                worker.isAvailable()
+        );
+    }
+}
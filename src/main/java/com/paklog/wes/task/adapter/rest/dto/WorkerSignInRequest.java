@@ -0,0 +1,34 @@
+package com.paklog.wes.task.adapter.rest.dto;
+
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Set;
+
+/**
+ * Request to start a worker session on a device
+ */
+public record WorkerSignInRequest(
+        @NotBlank(message = "Warehouse ID is required")
+        String warehouseId,
+
+        @NotBlank(message = "Zone is required")
+        String zone,
+
+        @NotNull(message = "Location is required")
+        LocationDto location,
+
+        @NotEmpty(message = "At least one capability is required")
+        Set<TaskType> capabilities,
+
+        Set<TaskType> specializations,
+
+        @DecimalMin(value = "0.0", message = "Performance rating must be between 0 and 1")
+        @DecimalMax(value = "1.0", message = "Performance rating must be between 0 and 1")
+        Double performanceRating
+) {
+}
@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 
 /**
  * Command to create a new task
+ * A future scheduledFor holds the task back from the queues until that time
  */
 public record CreateTaskCommand(
         TaskType type,
@@ -20,6 +21,20 @@ public record CreateTaskCommand(
         String referenceId,
         Duration estimatedDuration,
         LocalDateTime deadline,
-        TaskContext context
+        TaskContext context,
+        LocalDateTime scheduledFor
 ) {
+    public CreateTaskCommand(
+            TaskType type,
+            String warehouseId,
+            String zone,
+            Location location,
+            Priority priority,
+            String referenceId,
+            Duration estimatedDuration,
+            LocalDateTime deadline,
+            TaskContext context
+    ) {
+        this(type, warehouseId, zone, location, priority, referenceId, estimatedDuration, deadline, context, null);
+    }
 }
@@ -3,17 +3,26 @@ package com.paklog.wes.task.application.service;
 import com.paklog.task.execution.application.service.DomainEventPublisher;
 import com.paklog.wes.task.application.command.CreateTaskCommand;
 import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.entity.PickTaskContext;
 import com.paklog.wes.task.domain.repository.WorkTaskRepository;
 import com.paklog.wes.task.domain.valueobject.TaskStatus;
 import com.paklog.wes.task.domain.valueobject.TaskType;
-import com.paklog.wes.task.infrastructure.queue.TaskQueueManager;
+import com.paklog.wes.task.infrastructure.assignment.WorkerRegistry;
+import com.paklog.wes.task.infrastructure.queue.TaskQueue;
+import com.paklog.wes.task.infrastructure.routing.PickPathSequencer;
+import com.paklog.wes.task.infrastructure.routing.PickTourBatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Application service for task management
@@ -24,37 +33,47 @@ public class TaskManagementService {
     private static final Logger logger = LoggerFactory.getLogger(TaskManagementService.class);
 
     private final WorkTaskRepository taskRepository;
-    private final TaskQueueManager queueManager;
+    private final TaskQueue queueManager;
     private final DomainEventPublisher domainEventPublisher;
+    private final WorkerRegistry workerRegistry;
+    private final PickPathSequencer pickPathSequencer;
+    private final PickTourBatcher pickTourBatcher;
 
     public TaskManagementService(
             WorkTaskRepository taskRepository,
-            TaskQueueManager queueManager,
-            DomainEventPublisher domainEventPublisher) {
+            TaskQueue queueManager,
+            DomainEventPublisher domainEventPublisher,
+            WorkerRegistry workerRegistry,
+            PickPathSequencer pickPathSequencer,
+            PickTourBatcher pickTourBatcher) {
         this.taskRepository = taskRepository;
         this.queueManager = queueManager;
         this.domainEventPublisher = domainEventPublisher;
+        this.workerRegistry = workerRegistry;
+        this.pickPathSequencer = pickPathSequencer;
+        this.pickTourBatcher = pickTourBatcher;
     }
 
     /**
      * Create a new task
+     * Tasks with a future scheduledFor stay PENDING until promoted by {@link #promoteDueTasks}
      */
     @Transactional
     public WorkTask createTask(CreateTaskCommand command) {
         logger.info("Creating task: type={}, warehouseId={}, referenceId={}",
                 command.type(), command.warehouseId(), command.referenceId());
 
-        WorkTask task = WorkTask.create(
-                command.type(),
-                command.warehouseId(),
-                command.zone(),
-                command.location(),
-                command.priority(),
-                command.referenceId(),
-                command.estimatedDuration(),
-                command.deadline(),
-                command.context()
-        );
+        WorkTask task = newTask(command);
+
+        if (task.isScheduledAfter(LocalDateTime.now())) {
+            WorkTask savedTask = taskRepository.save(task);
+            queueManager.schedule(List.of(savedTask));
+            domainEventPublisher.publishDomainEvents(savedTask);
+
+            logger.info("Task created and scheduled: taskId={}, releaseAt={}",
+                    savedTask.getTaskId(), savedTask.getScheduledFor());
+            return savedTask;
+        }
 
         // Queue the task immediately after creation
         task.queue();
@@ -71,6 +90,90 @@ public class TaskManagementService {
         return savedTask;
     }
 
+    /**
+     * Create a batch of tasks (e.g. all orders of a released wave)
+     * Pick orders of one wave and zone may be merged into cluster tours first
+     * (task.batching.enabled). Tasks are persisted with one bulk write and
+     * enqueued in a single pipeline
+     */
+    @Transactional
+    public List<WorkTask> createTasks(List<CreateTaskCommand> commands) {
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+
+        logger.info("Creating {} tasks in bulk", commands.size());
+
+        List<CreateTaskCommand> batched = pickTourBatcher.batch(commands);
+        LocalDateTime now = LocalDateTime.now();
+        List<WorkTask> tasks = new ArrayList<>(batched.size());
+        for (CreateTaskCommand command : batched) {
+            WorkTask task = newTask(command);
+            if (!task.isScheduledAfter(now)) {
+                task.queue();
+            }
+            tasks.add(task);
+        }
+
+        List<WorkTask> savedTasks = taskRepository.saveAll(tasks);
+
+        List<WorkTask> queued = new ArrayList<>(savedTasks.size());
+        List<WorkTask> scheduled = new ArrayList<>();
+        for (WorkTask task : savedTasks) {
+            if (task.getStatus() == TaskStatus.QUEUED) {
+                queued.add(task);
+            } else {
+                scheduled.add(task);
+            }
+        }
+
+        // Add all tasks to their Redis queues in one pipeline
+        if (!queued.isEmpty()) {
+            queueManager.enqueueAll(queued);
+        }
+        if (!scheduled.isEmpty()) {
+            queueManager.schedule(scheduled);
+        }
+
+        savedTasks.forEach(domainEventPublisher::publishDomainEvents);
+
+        logger.info("Bulk created {} tasks ({} queued, {} scheduled)",
+                savedTasks.size(), queued.size(), scheduled.size());
+        return savedTasks;
+    }
+
+    /**
+     * Move scheduled tasks whose release time has passed into their live queues
+     * Claimed IDs that no longer refer to a PENDING task (cancelled, or already
+     * promoted by a run that died before acknowledging) are simply dropped
+     * Returns the number of tasks promoted
+     */
+    @Transactional
+    public int promoteDueTasks(Instant now, Duration claimTimeout, int limit) {
+        List<String> dueIds = queueManager.claimDueScheduled(now, claimTimeout, limit);
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+
+        List<WorkTask> promoted = new ArrayList<>(dueIds.size());
+        for (WorkTask task : taskRepository.findAllById(dueIds)) {
+            if (task.getStatus() == TaskStatus.PENDING) {
+                task.queue();
+                promoted.add(task);
+            }
+        }
+
+        if (!promoted.isEmpty()) {
+            List<WorkTask> savedTasks = taskRepository.saveAll(promoted);
+            queueManager.enqueueAll(savedTasks);
+            savedTasks.forEach(domainEventPublisher::publishDomainEvents);
+        }
+        queueManager.removeScheduled(dueIds);
+
+        logger.info("Promoted {} of {} due scheduled tasks", promoted.size(), dueIds.size());
+        return promoted.size();
+    }
+
     /**
      * Assign task to a worker
      */
@@ -85,6 +188,7 @@ public class TaskManagementService {
 
         // Remove from queue since it's now assigned
         queueManager.remove(savedTask);
+        workerRegistry.taskAssigned(workerId);
 
         // Publish domain events as CloudEvents
         domainEventPublisher.publishDomainEvents(savedTask);
@@ -94,6 +198,40 @@ public class TaskManagementService {
         return savedTask;
     }
 
+    /**
+     * Commit a batch of task to worker assignments with one bulk write
+     * Tasks that are missing or no longer assignable are skipped
+     * Returns the tasks that were assigned
+     */
+    @Transactional
+    public List<WorkTask> assignTasks(Map<String, String> workerIdsByTaskId) {
+        if (workerIdsByTaskId.isEmpty()) {
+            return List.of();
+        }
+
+        List<WorkTask> assigned = new ArrayList<>(workerIdsByTaskId.size());
+        for (WorkTask task : taskRepository.findAllById(workerIdsByTaskId.keySet())) {
+            try {
+                task.assign(workerIdsByTaskId.get(task.getTaskId()));
+                assigned.add(task);
+            } catch (IllegalStateException e) {
+                logger.warn("Skipping assignment of task {}: {}", task.getTaskId(), e.getMessage());
+            }
+        }
+
+        if (assigned.isEmpty()) {
+            return List.of();
+        }
+
+        List<WorkTask> savedTasks = taskRepository.saveAll(assigned);
+        queueManager.removeAll(savedTasks);
+        savedTasks.forEach(task -> workerRegistry.taskAssigned(task.getAssignedTo()));
+        savedTasks.forEach(domainEventPublisher::publishDomainEvents);
+
+        logger.info("Bulk assigned {} of {} tasks", savedTasks.size(), workerIdsByTaskId.size());
+        return savedTasks;
+    }
+
     /**
      * Worker accepts assigned task
      */
@@ -118,12 +256,14 @@ public class TaskManagementService {
         logger.info("Rejecting task {}: reason={}", taskId, reason);
 
         WorkTask task = findTaskById(taskId);
+        String workerId = task.getAssignedTo();
         task.reject(reason);
 
         WorkTask savedTask = taskRepository.save(task);
 
         // Re-enqueue the task for another worker
         queueManager.enqueue(savedTask);
+        workerRegistry.taskReleased(workerId);
 
         logger.info("Task rejected and returned to queue: taskId={}", taskId);
 
@@ -157,6 +297,11 @@ public class TaskManagementService {
         task.complete();
 
         WorkTask savedTask = taskRepository.save(task);
+        workerRegistry.taskReleased(savedTask.getAssignedTo());
+        // The worker finishes the task where it is, so that is their position for the next assignment
+        if (savedTask.getTaskLocation() != null) {
+            workerRegistry.updatePosition(savedTask.getAssignedTo(), savedTask.getZone(), savedTask.getTaskLocation());
+        }
 
         // Publish domain events as CloudEvents
         domainEventPublisher.publishDomainEvents(savedTask);
@@ -177,6 +322,7 @@ public class TaskManagementService {
         task.fail(reason);
 
         WorkTask savedTask = taskRepository.save(task);
+        workerRegistry.taskReleased(savedTask.getAssignedTo());
         logger.info("Task failed: taskId={}", taskId);
 
         return savedTask;
@@ -190,12 +336,16 @@ public class TaskManagementService {
         logger.info("Cancelling task {}: reason={}", taskId, reason);
 
         WorkTask task = findTaskById(taskId);
+        boolean wasActive = task.getStatus().isActive();
         task.cancel(reason);
 
         WorkTask savedTask = taskRepository.save(task);
 
         // Remove from queue if it was queued
         queueManager.remove(savedTask);
+        if (wasActive && savedTask.getAssignedTo() != null) {
+            workerRegistry.taskReleased(savedTask.getAssignedTo());
+        }
 
         logger.info("Task cancelled: taskId={}", taskId);
 
@@ -208,6 +358,10 @@ public class TaskManagementService {
                 .orElseThrow(() -> new TaskNotFoundException("Task not found: " + taskId));
     }
 
+    public List<WorkTask> findTasksByIds(Collection<String> taskIds) {
+        return taskRepository.findAllById(taskIds);
+    }
+
     public List<WorkTask> findTasksByWorker(String workerId) {
         return taskRepository.findByAssignedTo(workerId);
     }
@@ -248,6 +402,29 @@ public class TaskManagementService {
         return taskRepository.countActiveTasksByWorker(workerId);
     }
 
+    private WorkTask newTask(CreateTaskCommand command) {
+        WorkTask task = WorkTask.create(
+                command.type(),
+                command.warehouseId(),
+                command.zone(),
+                command.location(),
+                command.priority(),
+                command.referenceId(),
+                command.estimatedDuration(),
+                command.deadline(),
+                command.context()
+        );
+        if (command.scheduledFor() != null) {
+            task.scheduleFor(command.scheduledFor());
+        }
+
+        // Put picks in walking order before the task is persisted
+        if (task.getContext() instanceof PickTaskContext pickContext) {
+            pickPathSequencer.sequence(task.getWarehouseId(), task.getTaskLocation(), pickContext);
+        }
+        return task;
+    }
+
     /**
      * Custom exception for task not found
      */
@@ -32,6 +32,11 @@ import java.util.UUID;
 @Document(collection = "work_tasks")
 public class WorkTask {
 
+    /**
+     * Score reduction applied to overdue tasks so they jump ahead of everything else
+     */
+    public static final double OVERDUE_SCORE_BONUS = 10000;
+
     @Id
     private String taskId;
 
@@ -55,6 +60,7 @@ public class WorkTask {
     private Duration actualDuration;
     private String referenceId;  // Reference to wave, order, receipt, etc.
     private LocalDateTime deadline;
+    private LocalDateTime scheduledFor;  // Release time for future-dated work
     private TaskContext context;
     private String failureReason;
     private String cancellationReason;
@@ -106,6 +112,21 @@ public class WorkTask {
         return task;
     }
 
+    /**
+     * Hold a pending task until the given release time instead of queuing it now
+     */
+    public void scheduleFor(LocalDateTime releaseAt) {
+        ensureStatus(TaskStatus.PENDING);
+        this.scheduledFor = Objects.requireNonNull(releaseAt, "Release time cannot be null");
+    }
+
+    /**
+     * Check if the task is waiting for a release time that has not yet passed
+     */
+    public boolean isScheduledAfter(LocalDateTime now) {
+        return status == TaskStatus.PENDING && scheduledFor != null && scheduledFor.isAfter(now);
+    }
+
     /**
      * Queue the task for assignment
      */
@@ -248,7 +269,7 @@ public class WorkTask {
      * Lower score = higher priority
      */
     public double getPriorityScore() {
-        double base = priority.getValue() * 1000.0;
+        double base = getBasePriorityScore();
 
         // Age increases priority (reduces score)
         long ageMinutes = Duration.between(createdAt, LocalDateTime.now()).toMinutes();
@@ -256,9 +277,19 @@ public class WorkTask {
 
         // Overdue tasks get highest priority
         if (isOverdue()) {
-            base -= 10000;
+            base -= OVERDUE_SCORE_BONUS;
         }
 
+        return base;
+    }
+
+    /**
+     * Get the time-independent part of the priority score (priority level and complexity)
+     * Queues age this score themselves, so it stays valid for as long as the task waits
+     */
+    public double getBasePriorityScore() {
+        double base = priority.getValue() * 1000.0;
+
         // Complexity affects priority
         if (context != null) {
             base += (context.getComplexityScore() * 100);
@@ -445,6 +476,14 @@ public class WorkTask {
         this.deadline = deadline;
     }
 
+    public LocalDateTime getScheduledFor() {
+        return scheduledFor;
+    }
+
+    public void setScheduledFor(LocalDateTime scheduledFor) {
+        this.scheduledFor = scheduledFor;
+    }
+
     public TaskContext getContext() {
         return context;
     }
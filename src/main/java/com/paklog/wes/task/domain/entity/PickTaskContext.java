@@ -17,10 +17,12 @@ public class PickTaskContext implements TaskContext {
 
     private String waveId;
     private String orderId;
+    private List<String> orderIds;
     private PickStrategy strategy;
     private List<PickInstruction> instructions;
     private boolean isMultiOrder;
     private int totalQuantity;
+    private double estimatedTravelSeconds;
 
     public PickTaskContext() {
         this.instructions = new ArrayList<>();
@@ -29,12 +31,39 @@ public class PickTaskContext implements TaskContext {
     public PickTaskContext(String waveId, String orderId, PickStrategy strategy, List<PickInstruction> instructions) {
         this.waveId = Objects.requireNonNull(waveId, "Wave ID cannot be null");
         this.orderId = Objects.requireNonNull(orderId, "Order ID cannot be null");
+        this.orderIds = new ArrayList<>(List.of(orderId));
         this.strategy = Objects.requireNonNull(strategy, "Pick strategy cannot be null");
         this.instructions = new ArrayList<>(Objects.requireNonNull(instructions, "Instructions cannot be null"));
         this.isMultiOrder = false;
         this.totalQuantity = instructions.stream().mapToInt(PickInstruction::getQuantity).sum();
     }
 
+    /**
+     * Merge single-order contexts of one wave into a multi-order cluster pick
+     * Each instruction is tagged with the order it belongs to; the first order is the primary one
+     */
+    public static PickTaskContext cluster(String waveId, List<PickTaskContext> orders) {
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException("Cluster needs at least one order");
+        }
+
+        List<PickInstruction> merged = new ArrayList<>();
+        List<String> clusteredOrderIds = new ArrayList<>();
+        for (PickTaskContext order : orders) {
+            clusteredOrderIds.addAll(order.getOrderIds());
+            for (PickInstruction instruction : order.instructions) {
+                String owner = instruction.getOrderId() != null ? instruction.getOrderId() : order.orderId;
+                merged.add(new PickInstruction(instruction.getSku(), instruction.getQuantity(),
+                        instruction.getLocation(), instruction.getLpn(), owner));
+            }
+        }
+
+        PickTaskContext context = new PickTaskContext(waveId, clusteredOrderIds.get(0), PickStrategy.CLUSTER, merged);
+        context.orderIds = clusteredOrderIds;
+        context.isMultiOrder = clusteredOrderIds.size() > 1;
+        return context;
+    }
+
     @Override
     public void validate() {
         if (waveId == null || waveId.isBlank()) {
@@ -54,10 +83,12 @@ public class PickTaskContext implements TaskContext {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("waveId", waveId);
         metadata.put("orderId", orderId);
+        metadata.put("orderIds", getOrderIds());
         metadata.put("strategy", strategy != null ? strategy.name() : null);
         metadata.put("instructionCount", instructions != null ? instructions.size() : 0);
         metadata.put("totalQuantity", totalQuantity);
         metadata.put("isMultiOrder", isMultiOrder);
+        metadata.put("estimatedTravelSeconds", estimatedTravelSeconds);
         return metadata;
     }
 
@@ -88,14 +119,20 @@ public class PickTaskContext implements TaskContext {
         private int quantity;
         private Location location;
         private String lpn;  // License Plate Number
+        private String orderId;  // Set on multi-order picks
 
         public PickInstruction() {}
 
         public PickInstruction(String sku, int quantity, Location location, String lpn) {
+            this(sku, quantity, location, lpn, null);
+        }
+
+        public PickInstruction(String sku, int quantity, Location location, String lpn, String orderId) {
             this.sku = sku;
             this.quantity = quantity;
             this.location = location;
             this.lpn = lpn;
+            this.orderId = orderId;
         }
 
         public void validate() {
@@ -142,6 +179,14 @@ public class PickTaskContext implements TaskContext {
         public void setLpn(String lpn) {
             this.lpn = lpn;
         }
+
+        public String getOrderId() {
+            return orderId;
+        }
+
+        public void setOrderId(String orderId) {
+            this.orderId = orderId;
+        }
     }
 
     /**
@@ -172,6 +217,20 @@ public class PickTaskContext implements TaskContext {
         this.orderId = orderId;
     }
 
+    /**
+     * Every order served by this task; a single entry unless it is a multi-order pick
+     */
+    public List<String> getOrderIds() {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return orderId != null ? List.of(orderId) : List.of();
+        }
+        return new ArrayList<>(orderIds);
+    }
+
+    public void setOrderIds(List<String> orderIds) {
+        this.orderIds = new ArrayList<>(orderIds);
+    }
+
     public PickStrategy getStrategy() {
         return strategy;
     }
@@ -187,6 +246,18 @@ public class PickTaskContext implements TaskContext {
     public void setInstructions(List<PickInstruction> instructions) {
         this.instructions = new ArrayList<>(instructions);
         this.totalQuantity = instructions.stream().mapToInt(PickInstruction::getQuantity).sum();
+        this.estimatedTravelSeconds = 0;
+    }
+
+    /**
+     * Replace the instructions with the same picks in walking order
+     */
+    public void applyRoute(List<PickInstruction> sequence, double travelSeconds) {
+        if (sequence.size() != instructions.size()) {
+            throw new IllegalArgumentException("Route must contain every pick instruction exactly once");
+        }
+        this.instructions = new ArrayList<>(sequence);
+        this.estimatedTravelSeconds = travelSeconds;
     }
 
     public boolean isMultiOrder() {
@@ -200,4 +271,15 @@ public class PickTaskContext implements TaskContext {
     public int getTotalQuantity() {
         return totalQuantity;
     }
+
+    /**
+     * Estimated walking time of the pick route in seconds, or 0 if the route has not been sequenced
+     */
+    public double getEstimatedTravelSeconds() {
+        return estimatedTravelSeconds;
+    }
+
+    public void setEstimatedTravelSeconds(double estimatedTravelSeconds) {
+        this.estimatedTravelSeconds = estimatedTravelSeconds;
+    }
 }
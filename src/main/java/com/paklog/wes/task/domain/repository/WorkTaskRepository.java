@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for WorkTask aggregate
@@ -36,6 +37,17 @@ public interface WorkTaskRepository extends MongoRepository<WorkTask, String> {
      */
     List<WorkTask> findByWarehouseIdAndStatus(String warehouseId, TaskStatus status);
 
+    /**
+     * Stream tasks in a warehouse by status without loading them all at once; close the stream after use
+     */
+    Stream<WorkTask> streamByWarehouseIdAndStatus(String warehouseId, TaskStatus status);
+
+    /**
+     * Stream tasks in a warehouse by status that were queued at or after the given time
+     */
+    Stream<WorkTask> streamByWarehouseIdAndStatusAndQueuedAtGreaterThanEqual(
+            String warehouseId, TaskStatus status, LocalDateTime queuedAt);
+
     /**
      * Find all tasks in a zone by status
      */
@@ -0,0 +1,69 @@
+package com.paklog.wes.task.domain.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Priority inputs of a task, resolved once from the task and its context metadata
+ * Time signals are kept as nanoseconds on the local time line so they can be
+ * scored against any instant without touching the task again; everything that
+ * does not depend on the clock is already reduced to its component score.
+ * The weight profile in force at extraction is kept with them, so a profile
+ * swap never mixes the lookups of one profile with the weights of another
+ */
+public record PriorityFeatures(
+        long deadline,
+        long carrierCutoff,
+        long createdAt,
+        int customerScore,
+        int zoneScore,
+        double typeMultiplier,
+        boolean express,
+        PriorityWeightProfile profile
+) {
+    /**
+     * Marks a time signal the task does not have
+     */
+    public static final long ABSENT = Long.MIN_VALUE;
+
+    // Instants are clamped to +/- ~146 years around 1970 so differences never overflow;
+    // only instants that far away are moved, and they stay in the same score band
+    private static final long LIMIT = Long.MAX_VALUE / 2;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    public boolean hasDeadline() {
+        return deadline != ABSENT;
+    }
+
+    public boolean hasCarrierCutoff() {
+        return carrierCutoff != ABSENT;
+    }
+
+    public boolean hasCreatedAt() {
+        return createdAt != ABSENT;
+    }
+
+    /**
+     * Local date-time as nanoseconds, or {@link #ABSENT} for null
+     */
+    public static long toNanos(LocalDateTime time) {
+        if (time == null) {
+            return ABSENT;
+        }
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        if (seconds > LIMIT / NANOS_PER_SECOND) {
+            return LIMIT;
+        }
+        if (seconds < -LIMIT / NANOS_PER_SECOND) {
+            return -LIMIT;
+        }
+        return seconds * NANOS_PER_SECOND + time.getNano();
+    }
+
+    /**
+     * Whole seconds from one instant to another, rounded down like {@link java.time.Duration#getSeconds()}
+     */
+    static long secondsBetween(long from, long to) {
+        return Math.floorDiv(to - from, NANOS_PER_SECOND);
+    }
+}
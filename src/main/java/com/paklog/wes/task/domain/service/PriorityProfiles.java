@@ -0,0 +1,28 @@
+package com.paklog.wes.task.domain.service;
+
+import java.util.Map;
+
+/**
+ * Priority weight profiles by warehouse, with a fallback for warehouses without their own
+ * Immutable; a change is made by building a new instance and swapping it in whole
+ */
+public record PriorityProfiles(
+        PriorityWeightProfile defaults,
+        Map<String, PriorityWeightProfile> byWarehouse
+) {
+    public static final PriorityProfiles DEFAULT = new PriorityProfiles(PriorityWeightProfile.DEFAULT, Map.of());
+
+    public PriorityProfiles {
+        if (defaults == null) {
+            throw new IllegalArgumentException("Default priority profile cannot be null");
+        }
+        byWarehouse = Map.copyOf(byWarehouse);
+    }
+
+    public PriorityWeightProfile forWarehouse(String warehouseId) {
+        if (warehouseId == null) {
+            return defaults;
+        }
+        return byWarehouse.getOrDefault(warehouseId, defaults);
+    }
+}
@@ -0,0 +1,117 @@
+package com.paklog.wes.task.domain.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Weights and lookup tables of the priority model, compiled for scoring
+ * Weights are the percentage each 0-100 component score contributes. Tier names
+ * and zone prefixes are normalised to upper case once, and prefixes are tried
+ * longest first, so scoring does no per-call parsing. Instances are immutable
+ * and can be shared freely between scoring threads
+ */
+public record PriorityWeightProfile(
+        int slaWeight,
+        int cutoffWeight,
+        int customerWeight,
+        int zoneWeight,
+        int ageWeight,
+        Map<String, Integer> customerTierScores,
+        int defaultCustomerScore,
+        List<ZonePrefix> zonePrefixes,
+        int otherZoneScore,
+        int noZoneScore
+) {
+    /**
+     * The built-in model: SLA 35%, cut-off 30%, customer 20%, zone 10%, age 5%
+     */
+    public static final PriorityWeightProfile DEFAULT = new PriorityWeightProfile(
+            35, 30, 20, 10, 5,
+            Map.of("PLATINUM", 100, "GOLD", 85, "SILVER", 70, "BRONZE", 55, "STANDARD", 40),
+            50,
+            List.of(new ZonePrefix("PICK-A", 90), new ZonePrefix("ZONE-A", 90),
+                    new ZonePrefix("PICK-B", 70), new ZonePrefix("ZONE-B", 70),
+                    new ZonePrefix("PICK-C", 50), new ZonePrefix("ZONE-C", 50)),
+            30,
+            50
+    );
+
+    public PriorityWeightProfile {
+        requireWeight("SLA", slaWeight);
+        requireWeight("cutoff", cutoffWeight);
+        requireWeight("customer", customerWeight);
+        requireWeight("zone", zoneWeight);
+        requireWeight("age", ageWeight);
+        requireScore("default customer", defaultCustomerScore);
+        requireScore("other zone", otherZoneScore);
+        requireScore("no zone", noZoneScore);
+
+        Map<String, Integer> tiers = new LinkedHashMap<>();
+        customerTierScores.forEach((tier, score) -> tiers.put(normalize(tier), requireScore(tier, score)));
+        customerTierScores = Map.copyOf(tiers);
+
+        List<ZonePrefix> prefixes = new ArrayList<>(zonePrefixes.size());
+        for (ZonePrefix prefix : zonePrefixes) {
+            prefixes.add(new ZonePrefix(prefix.prefix().toUpperCase(Locale.ENGLISH),
+                    requireScore(prefix.prefix(), prefix.score())));
+        }
+        prefixes.sort(Comparator.comparingInt((ZonePrefix prefix) -> prefix.prefix().length()).reversed()
+                .thenComparing(ZonePrefix::prefix));
+        zonePrefixes = List.copyOf(prefixes);
+    }
+
+    /**
+     * Score of a customer tier; no tier or an unknown one scores the default
+     */
+    public int customerScore(String customerTier) {
+        if (customerTier == null) {
+            return defaultCustomerScore;
+        }
+        Integer score = customerTierScores.get(normalize(customerTier));
+        return score != null ? score : defaultCustomerScore;
+    }
+
+    /**
+     * Score of the first (longest) matching zone prefix
+     */
+    public int zoneScore(String zone) {
+        if (zone == null || zone.isBlank()) {
+            return noZoneScore;
+        }
+
+        String normalized = zone.toUpperCase(Locale.ENGLISH);
+        for (ZonePrefix prefix : zonePrefixes) {
+            if (normalized.startsWith(prefix.prefix())) {
+                return prefix.score();
+            }
+        }
+        return otherZoneScore;
+    }
+
+    private static String normalize(String customerTier) {
+        return customerTier.trim().toUpperCase(Locale.ENGLISH);
+    }
+
+    private static void requireWeight(String name, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative " + name + " weight: " + weight);
+        }
+    }
+
+    private static int requireScore(String name, Integer score) {
+        if (score == null || score < 0 || score > 100) {
+            throw new IllegalArgumentException("Score for " + name + " must be between 0 and 100: " + score);
+        }
+        return score;
+    }
+
+    /**
+     * Zones whose name starts with prefix score this much
+     */
+    public record ZonePrefix(String prefix, int score) {
+    }
+}
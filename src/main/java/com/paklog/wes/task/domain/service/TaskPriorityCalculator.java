@@ -8,87 +8,176 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Domain service for calculating dynamic task priority.
  * Uses a weighted scoring model that blends SLA urgency, carrier cut-off,
- * customer importance, zone efficiency and task age.
+ * customer importance, zone efficiency and task age. A task's inputs are
+ * extracted once into {@link PriorityFeatures} and scored against a single
+ * reading of the clock. Weights, tier scores and zone prefixes come from the
+ * task's warehouse {@link PriorityWeightProfile}; the profiles are replaced as
+ * one immutable set, so scoring reads them without locks or config lookups.
  */
 @Service
 public class TaskPriorityCalculator {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskPriorityCalculator.class);
 
-    private static final int WEIGHT_SLA_URGENCY = 35;
-    private static final int WEIGHT_CARRIER_CUTOFF = 30;
-    private static final int WEIGHT_CUSTOMER_TIER = 20;
-    private static final int WEIGHT_ZONE_EFFICIENCY = 10;
-    private static final int WEIGHT_AGE = 5;
+    private static final DateTimeFormatter ISO_DATE_TIME = DateTimeFormatter.ISO_DATE_TIME;
 
-    private static final Map<String, Double> CUSTOMER_TIER_MULTIPLIERS = Map.of(
-            "PLATINUM", 2.0,
-            "GOLD", 1.5,
-            "SILVER", 1.2,
-            "BRONZE", 1.0,
-            "STANDARD", 0.8
-    );
+    // Band edges of the time-driven scores below; keep in step with their if-chains
+    private static final long[] SLA_BAND_HOURS = {48, 24, 8, 4, 2, 1};
+    private static final long[] CUTOFF_BAND_MINUTES = {480, 240, 120, 60, 30};
+    private static final long[] AGE_BAND_HOURS = {2, 6, 12, 24};
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final long NANOS_PER_HOUR = 60 * NANOS_PER_MINUTE;
 
-    private static final DateTimeFormatter ISO_DATE_TIME = DateTimeFormatter.ISO_DATE_TIME;
+    private final Clock clock;
+    private final AtomicReference<PriorityProfiles> profiles = new AtomicReference<>(PriorityProfiles.DEFAULT);
+
+    public TaskPriorityCalculator() {
+        this(Clock.systemDefaultZone());
+    }
+
+    TaskPriorityCalculator(Clock clock) {
+        this.clock = clock;
+    }
+
+    public PriorityProfiles getProfiles() {
+        return profiles.get();
+    }
+
+    /**
+     * Swap in a new set of weight profiles; tasks extracted from now on are scored with them
+     */
+    public void setProfiles(PriorityProfiles newProfiles) {
+        if (newProfiles == null) {
+            throw new IllegalArgumentException("Priority profiles cannot be null");
+        }
+        profiles.set(newProfiles);
+    }
 
     /**
      * Calculate comprehensive priority score for a task. Higher score = higher priority.
      */
     public int calculatePriority(WorkTask task) {
+        return calculatePriority(task, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Priority score at the given time; re-scoring many tasks against one time keeps them comparable
+     */
+    public int calculatePriority(WorkTask task, LocalDateTime now) {
         if (task == null) {
             throw new IllegalArgumentException("Task cannot be null");
         }
 
-        int totalScore = 0;
-
-        int slaScore = calculateSLAScore(task);
-        totalScore += (slaScore * WEIGHT_SLA_URGENCY) / 100;
+        PriorityFeatures features = extractFeatures(task);
+        long nowNanos = PriorityFeatures.toNanos(now);
+        int totalScore = score(features, nowNanos);
 
-        int cutoffScore = calculateCutoffScore(task);
-        totalScore += (cutoffScore * WEIGHT_CARRIER_CUTOFF) / 100;
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Calculated priority {} for task {} (SLA:{}, Cutoff:{}, Customer:{}, Zone:{}, Age:{})",
+                    totalScore,
+                    task.getTaskId(),
+                    slaScore(features, nowNanos),
+                    cutoffScore(features, nowNanos),
+                    features.customerScore(),
+                    features.zoneScore(),
+                    ageScore(features, nowNanos)
+            );
+        }
 
-        int customerScore = calculateCustomerScore(task);
-        totalScore += (customerScore * WEIGHT_CUSTOMER_TIER) / 100;
+        return totalScore;
+    }
 
-        int zoneScore = calculateZoneScore(task);
-        totalScore += (zoneScore * WEIGHT_ZONE_EFFICIENCY) / 100;
+    /**
+     * Resolve everything the score needs from the task, reading its context metadata once
+     * and its warehouse's weight profile once
+     */
+    public PriorityFeatures extractFeatures(WorkTask task) {
+        PriorityWeightProfile profile = profiles.get().forWarehouse(task.getWarehouseId());
+        Map<String, Object> metadata = metadata(task);
+        Priority priority = task.getPriority();
+        return new PriorityFeatures(
+                PriorityFeatures.toNanos(task.getDeadline()),
+                PriorityFeatures.toNanos(getCarrierCutoffTime(task, metadata)),
+                PriorityFeatures.toNanos(task.getCreatedAt()),
+                profile.customerScore(getCustomerTier(metadata, priority)),
+                profile.zoneScore(task.getZone()),
+                taskTypeMultiplier(task.getType()),
+                isExpress(metadata, priority),
+                profile
+        );
+    }
 
-        int ageScore = calculateAgeScore(task);
-        totalScore += (ageScore * WEIGHT_AGE) / 100;
+    /**
+     * Weighted score of extracted features at a time from {@link PriorityFeatures#toNanos}
+     * Pure arithmetic: no clock reads and no allocation
+     */
+    public int score(PriorityFeatures features, long now) {
+        PriorityWeightProfile profile = features.profile();
+        int totalScore = 0;
+        totalScore += (slaScore(features, now) * profile.slaWeight()) / 100;
+        totalScore += (cutoffScore(features, now) * profile.cutoffWeight()) / 100;
+        totalScore += (features.customerScore() * profile.customerWeight()) / 100;
+        totalScore += (features.zoneScore() * profile.zoneWeight()) / 100;
+        totalScore += (ageScore(features, now) * profile.ageWeight()) / 100;
 
-        totalScore = applyTaskTypeModifier(totalScore, task.getType());
+        totalScore = (int) (totalScore * features.typeMultiplier());
 
-        if (isExpress(task)) {
+        if (features.express()) {
             totalScore = (int) (totalScore * 1.5);
         }
 
         totalScore = totalScore * 5;
-        totalScore = Math.max(0, Math.min(1000, totalScore));
+        return Math.max(0, Math.min(1000, totalScore));
+    }
 
-        logger.debug(
-                "Calculated priority {} for task {} (SLA:{}, Cutoff:{}, Customer:{}, Zone:{}, Age:{})",
-                totalScore,
-                task.getTaskId(),
-                slaScore,
-                cutoffScore,
-                customerScore,
-                zoneScore,
-                ageScore
-        );
+    /**
+     * Earliest time after now at which {@link #score} can change, or {@link PriorityFeatures#ABSENT}
+     * if it never will. The time-driven scores are step functions, so between their band
+     * edges a task's score is constant and need not be recomputed
+     */
+    public long nextScoreChange(PriorityFeatures features, long now) {
+        long next = Long.MAX_VALUE;
 
-        return totalScore;
+        if (features.hasDeadline()) {
+            // Hours remaining drop below h one nanosecond after deadline - h; overdue starts a full hour late
+            for (long hours : SLA_BAND_HOURS) {
+                next = earliestAfter(now, features.deadline() - hours * NANOS_PER_HOUR + 1, next);
+            }
+            next = earliestAfter(now, features.deadline() + NANOS_PER_HOUR - 1_000_000_000L + 1, next);
+        }
+
+        if (features.hasCarrierCutoff()) {
+            for (long minutes : CUTOFF_BAND_MINUTES) {
+                next = earliestAfter(now, features.carrierCutoff() - minutes * NANOS_PER_MINUTE + 1, next);
+            }
+            next = earliestAfter(now, features.carrierCutoff() + NANOS_PER_MINUTE - 1_000_000_000L + 1, next);
+        }
+
+        if (features.hasCreatedAt()) {
+            // Hours old exceed h once a whole hour past it has elapsed
+            for (long hours : AGE_BAND_HOURS) {
+                next = earliestAfter(now, features.createdAt() + (hours + 1) * NANOS_PER_HOUR, next);
+            }
+        }
+
+        return next == Long.MAX_VALUE ? PriorityFeatures.ABSENT : next;
+    }
+
+    private static long earliestAfter(long now, long candidate, long earliest) {
+        return candidate > now && candidate < earliest ? candidate : earliest;
     }
 
     /**
@@ -100,14 +189,12 @@ public class TaskPriorityCalculator {
         return Math.max(calculatedScore, baseScore);
     }
 
-    private int calculateSLAScore(WorkTask task) {
-        LocalDateTime deadline = task.getDeadline();
-        if (deadline == null) {
+    private static int slaScore(PriorityFeatures features, long now) {
+        if (!features.hasDeadline()) {
             return 50;
         }
 
-        LocalDateTime now = LocalDateTime.now();
-        long hoursRemaining = Duration.between(now, deadline).toHours();
+        long hoursRemaining = PriorityFeatures.secondsBetween(now, features.deadline()) / 3600;
 
         if (hoursRemaining < 0) {
             return 100;
@@ -128,14 +215,12 @@ public class TaskPriorityCalculator {
         }
     }
 
-    private int calculateCutoffScore(WorkTask task) {
-        LocalDateTime carrierCutoff = getCarrierCutoffTime(task);
-        if (carrierCutoff == null) {
+    private static int cutoffScore(PriorityFeatures features, long now) {
+        if (!features.hasCarrierCutoff()) {
             return 30;
         }
 
-        LocalDateTime now = LocalDateTime.now();
-        long minutesRemaining = Duration.between(now, carrierCutoff).toMinutes();
+        long minutesRemaining = PriorityFeatures.secondsBetween(now, features.carrierCutoff()) / 60;
 
         if (minutesRemaining < 0) {
             return 100;
@@ -154,51 +239,12 @@ public class TaskPriorityCalculator {
         }
     }
 
-    private int calculateCustomerScore(WorkTask task) {
-        String customerTier = getCustomerTier(task);
-        if (customerTier == null) {
-            return 50;
-        }
-
-        String normalized = customerTier.trim().toUpperCase(Locale.ENGLISH);
-        return switch (normalized) {
-            case "PLATINUM" -> 100;
-            case "GOLD" -> 85;
-            case "SILVER" -> 70;
-            case "BRONZE" -> 55;
-            case "STANDARD" -> 40;
-            default -> {
-                double multiplier = CUSTOMER_TIER_MULTIPLIERS.getOrDefault(normalized, 1.0);
-                yield (int) Math.round(50 * multiplier);
-            }
-        };
-    }
-
-    private int calculateZoneScore(WorkTask task) {
-        String zone = task.getZone();
-        if (zone == null || zone.isBlank()) {
-            return 50;
-        }
-
-        String normalized = zone.toUpperCase(Locale.ENGLISH);
-        if (normalized.startsWith("PICK-A") || normalized.startsWith("ZONE-A")) {
-            return 90;
-        } else if (normalized.startsWith("PICK-B") || normalized.startsWith("ZONE-B")) {
-            return 70;
-        } else if (normalized.startsWith("PICK-C") || normalized.startsWith("ZONE-C")) {
-            return 50;
-        } else {
-            return 30;
-        }
-    }
-
-    private int calculateAgeScore(WorkTask task) {
-        LocalDateTime createdAt = task.getCreatedAt();
-        if (createdAt == null) {
+    private static int ageScore(PriorityFeatures features, long now) {
+        if (!features.hasCreatedAt()) {
             return 0;
         }
 
-        long hoursOld = Duration.between(createdAt, LocalDateTime.now()).toHours();
+        long hoursOld = PriorityFeatures.secondsBetween(features.createdAt(), now) / 3600;
 
         if (hoursOld > 24) {
             return 100;
@@ -213,19 +259,19 @@ public class TaskPriorityCalculator {
         }
     }
 
-    private int applyTaskTypeModifier(int baseScore, TaskType taskType) {
+    private static double taskTypeMultiplier(TaskType taskType) {
         if (taskType == null) {
-            return baseScore;
+            return 1.0;
         }
 
         return switch (taskType) {
-            case COUNT -> (int) (baseScore * 0.6);
-            case REPLENISH -> (int) (baseScore * 0.8);
-            case PICK -> baseScore;
-            case PACK -> (int) (baseScore * 0.9);
-            case PUTAWAY -> (int) (baseScore * 1.1);
-            case MOVE -> (int) (baseScore * 0.7);
-            case SHIP -> (int) (baseScore * 1.2);
+            case COUNT -> 0.6;
+            case REPLENISH -> 0.8;
+            case PICK -> 1.0;
+            case PACK -> 0.9;
+            case PUTAWAY -> 1.1;
+            case MOVE -> 0.7;
+            case SHIP -> 1.2;
         };
     }
 
@@ -263,10 +309,12 @@ public class TaskPriorityCalculator {
      */
     public PriorityAdjustment recommendAdjustment(WorkTask task, SystemLoadMetrics loadMetrics) {
         int currentPriority = priorityToScore(task.getPriority());
-        int calculatedPriority = calculatePriority(task);
+        PriorityFeatures features = extractFeatures(task);
+        long now = PriorityFeatures.toNanos(LocalDateTime.now(clock));
+        int calculatedPriority = score(features, now);
 
         if (Math.abs(currentPriority - calculatedPriority) > 50) {
-            String reason = buildAdjustmentReason(task, loadMetrics, calculatedPriority);
+            String reason = buildAdjustmentReason(features, now, loadMetrics, calculatedPriority);
             return new PriorityAdjustment(
                     task.getTaskId(),
                     currentPriority,
@@ -285,31 +333,30 @@ public class TaskPriorityCalculator {
         );
     }
 
-    private String buildAdjustmentReason(WorkTask task, SystemLoadMetrics loadMetrics, int calculatedPriority) {
+    private String buildAdjustmentReason(PriorityFeatures features, long now, SystemLoadMetrics loadMetrics,
+                                         int calculatedPriority) {
         StringBuilder reason = new StringBuilder("Priority adjustment recommended: ");
 
-        LocalDateTime deadline = task.getDeadline();
-        if (deadline != null) {
-            long hoursRemaining = Duration.between(LocalDateTime.now(), deadline).toHours();
+        if (features.hasDeadline()) {
+            long hoursRemaining = PriorityFeatures.secondsBetween(now, features.deadline()) / 3600;
             if (hoursRemaining < 2) {
                 reason.append("Approaching SLA deadline. ");
             }
         }
 
-        LocalDateTime cutoff = getCarrierCutoffTime(task);
-        if (cutoff != null) {
-            long minutesRemaining = Duration.between(LocalDateTime.now(), cutoff).toMinutes();
+        if (features.hasCarrierCutoff()) {
+            long minutesRemaining = PriorityFeatures.secondsBetween(now, features.carrierCutoff()) / 60;
             if (minutesRemaining < 60) {
                 reason.append("Carrier cutoff imminent. ");
             }
         }
 
-        if (isExpress(task)) {
+        if (features.express()) {
             reason.append("Express handling required. ");
         }
 
-        String customerTier = getCustomerTier(task);
-        if ("PLATINUM".equalsIgnoreCase(customerTier) || "GOLD".equalsIgnoreCase(customerTier)) {
+        // Customers scored at least as high as the built-in GOLD tier
+        if (features.customerScore() >= 85) {
             reason.append("High value customer. ");
         }
 
@@ -339,9 +386,7 @@ public class TaskPriorityCalculator {
         return Math.max(200, Math.min(900, base));
     }
 
-    private boolean isExpress(WorkTask task) {
-        Map<String, Object> metadata = metadata(task);
-
+    private static boolean isExpress(Map<String, Object> metadata, Priority priority) {
         Object expressFlag = metadata.get("express");
         if (expressFlag == null) {
             expressFlag = metadata.get("isExpress");
@@ -354,12 +399,11 @@ public class TaskPriorityCalculator {
             return Boolean.parseBoolean(string);
         }
 
-        Priority priority = task.getPriority();
         return priority != null && priority.isExpedited();
     }
 
-    private LocalDateTime getCarrierCutoffTime(WorkTask task) {
-        Object value = metadata(task).get("carrierCutoffTime");
+    private static LocalDateTime getCarrierCutoffTime(WorkTask task, Map<String, Object> metadata) {
+        Object value = metadata.get("carrierCutoffTime");
         if (value instanceof LocalDateTime ldt) {
             return ldt;
         }
@@ -373,13 +417,12 @@ public class TaskPriorityCalculator {
         return null;
     }
 
-    private String getCustomerTier(WorkTask task) {
-        Object value = metadata(task).get("customerTier");
+    private static String getCustomerTier(Map<String, Object> metadata, Priority priority) {
+        Object value = metadata.get("customerTier");
         if (value instanceof String str && !str.isBlank()) {
             return str;
         }
 
-        Priority priority = task.getPriority();
         if (priority != null && priority.isExpedited()) {
             return "PLATINUM";
         }
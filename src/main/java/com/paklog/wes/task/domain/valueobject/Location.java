@@ -1,5 +1,7 @@
 package com.paklog.wes.task.domain.valueobject;
 
+import org.springframework.data.annotation.Transient;
+
 import java.util.Objects;
 
 /**
@@ -13,6 +15,23 @@ public class Location {
     private final String level;
     private final String position;
 
+    // Numeric coordinates resolved once by the constructor, so distanceFrom is plain arithmetic.
+    // Not mapped to Mongo: reads go through the constructor, which derives them again
+    @Transient
+    private final byte aisleKind;
+    @Transient
+    private final int aisleOrdinal;
+    @Transient
+    private final boolean gridResolved;
+    @Transient
+    private final int bayNumber;
+    @Transient
+    private final int levelNumber;
+
+    private static final byte AISLE_NUMERIC = 1;
+    private static final byte AISLE_LETTER = 2;
+    private static final byte AISLE_OTHER = 3;
+
     public Location(String aisle, String bay, String level, String position) {
         Objects.requireNonNull(aisle, "Aisle cannot be null");
         Objects.requireNonNull(bay, "Bay cannot be null");
@@ -22,6 +41,25 @@ public class Location {
         this.bay = bay;
         this.level = level;
         this.position = position;
+
+        String aisleDigits = aisle.replaceAll("[^0-9]", "");
+        Integer aisleNumber = aisleDigits.isEmpty() ? null : parseIntOrNull(aisleDigits);
+        if (aisleNumber != null) {
+            this.aisleKind = AISLE_NUMERIC;
+            this.aisleOrdinal = aisleNumber;
+        } else if (aisleDigits.isEmpty() && aisle.length() == 1) {
+            this.aisleKind = AISLE_LETTER;
+            this.aisleOrdinal = aisle.charAt(0);
+        } else {
+            this.aisleKind = AISLE_OTHER;
+            this.aisleOrdinal = 0;
+        }
+
+        Integer bayValue = parseIntOrNull(bay);
+        Integer levelValue = parseIntOrNull(level);
+        this.gridResolved = bayValue != null && levelValue != null;
+        this.bayNumber = bayValue != null ? bayValue : 0;
+        this.levelNumber = levelValue != null ? levelValue : 0;
     }
 
     /**
@@ -68,14 +106,37 @@ public class Location {
         }
 
         // Simplified distance calculation based on aisle and bay differences
-        int aisleDiff = Math.abs(compareAlphanumeric(this.aisle, other.aisle));
-        int bayDiff = Math.abs(Integer.parseInt(this.bay) - Integer.parseInt(other.bay));
-        int levelDiff = Math.abs(Integer.parseInt(this.level) - Integer.parseInt(other.level));
+        int aisleDiff = Math.abs(aisleDifference(other));
+        int bayDiff;
+        int levelDiff;
+        if (this.gridResolved && other.gridResolved) {
+            bayDiff = Math.abs(this.bayNumber - other.bayNumber);
+            levelDiff = Math.abs(this.levelNumber - other.levelNumber);
+        } else {
+            // Non-numeric bay or level: fails exactly as parsing always has
+            bayDiff = Math.abs(Integer.parseInt(this.bay) - Integer.parseInt(other.bay));
+            levelDiff = Math.abs(Integer.parseInt(this.level) - Integer.parseInt(other.level));
+        }
 
         // Aisle changes are most expensive, then bay, then level
         return (aisleDiff * 100.0) + (bayDiff * 10.0) + (levelDiff * 1.0);
     }
 
+    private int aisleDifference(Location other) {
+        if (this.aisleKind == other.aisleKind && this.aisleKind != AISLE_OTHER) {
+            return this.aisleOrdinal - other.aisleOrdinal;
+        }
+        return compareAlphanumeric(this.aisle, other.aisle);
+    }
+
+    private static Integer parseIntOrNull(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private int compareAlphanumeric(String s1, String s2) {
         // Extract numeric part if exists, otherwise use character comparison
         try {
@@ -97,6 +158,40 @@ public class Location {
         return this.aisle.equals(other.aisle);
     }
 
+    /**
+     * True if the aisle has a numeric ordering ({@link #aisleOrdinal()}): a numeric part or a single letter
+     */
+    public boolean hasOrdinalAisle() {
+        return aisleKind != AISLE_OTHER;
+    }
+
+    public int aisleOrdinal() {
+        return aisleOrdinal;
+    }
+
+    /**
+     * True if the aisle ordinal is its numeric part; false for single-letter or unordered aisles
+     * Ordinals of numbered and lettered aisles are not comparable with each other
+     */
+    public boolean hasNumericAisle() {
+        return aisleKind == AISLE_NUMERIC;
+    }
+
+    /**
+     * True if bay and level are numeric, so {@link #bayNumber()} and {@link #levelNumber()} are meaningful
+     */
+    public boolean hasNumericGrid() {
+        return gridResolved;
+    }
+
+    public int bayNumber() {
+        return bayNumber;
+    }
+
+    public int levelNumber() {
+        return levelNumber;
+    }
+
     public String getAisle() {
         return aisle;
     }
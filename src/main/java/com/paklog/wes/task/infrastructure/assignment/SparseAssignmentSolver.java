@@ -0,0 +1,271 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import java.util.Arrays;
+
+/**
+ * Minimum-cost rectangular assignment over a sparse set of permitted pairs
+ * Successive shortest augmenting paths (Dijkstra on reduced costs) from each row
+ * of the smaller side, so one augmentation costs O(E log V) instead of a dense
+ * sweep. As many rows as possible are assigned, then total cost is minimised;
+ * rows left without a permitted column are reported as unassigned
+ */
+final class SparseAssignmentSolver {
+
+    private SparseAssignmentSolver() {
+    }
+
+    /**
+     * Returns the column assigned to each row, or -1 if the row is unassigned
+     * Row r may only take the columns in edgeColumns[r], at the matching edgeCosts[r]
+     */
+    static int[] solve(int rows, int columns, int[][] edgeColumns, double[][] edgeCosts) {
+        int[] assignment = new int[rows];
+        Arrays.fill(assignment, -1);
+        if (rows == 0 || columns == 0) {
+            return assignment;
+        }
+
+        if (rows <= columns) {
+            int[] columnByRow = minimize(rows, columns, edgeColumns, edgeCosts);
+            System.arraycopy(columnByRow, 0, assignment, 0, rows);
+            return assignment;
+        }
+
+        // Augment from the smaller side: every augmentation then ends in a real assignment
+        int[] degree = new int[columns];
+        for (int[] rowColumns : edgeColumns) {
+            for (int column : rowColumns) {
+                degree[column]++;
+            }
+        }
+        int[][] transposedColumns = new int[columns][];
+        double[][] transposedCosts = new double[columns][];
+        for (int c = 0; c < columns; c++) {
+            transposedColumns[c] = new int[degree[c]];
+            transposedCosts[c] = new double[degree[c]];
+            degree[c] = 0;
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int e = 0; e < edgeColumns[r].length; e++) {
+                int c = edgeColumns[r][e];
+                transposedColumns[c][degree[c]] = r;
+                transposedCosts[c][degree[c]] = edgeCosts[r][e];
+                degree[c]++;
+            }
+        }
+
+        int[] rowByColumn = minimize(columns, rows, transposedColumns, transposedCosts);
+        for (int c = 0; c < columns; c++) {
+            if (rowByColumn[c] >= 0) {
+                assignment[rowByColumn[c]] = c;
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * Assigns each of the n rows to a distinct one of the m columns, or to nothing
+     * Row i also owns a private dummy column m + i at a prohibitive cost, so an
+     * augmenting path always exists and dropping a row is only ever a last resort
+     */
+    private static int[] minimize(int n, int m, int[][] edgeColumns, double[][] edgeCosts) {
+        double dummyCost = dummyCost(n, edgeCosts);
+        int columnCount = m + n;
+        double[] u = new double[n];
+        double[] v = new double[columnCount];
+        int[] columnByRow = new int[n];
+        int[] rowByColumn = new int[columnCount];
+        Arrays.fill(columnByRow, -1);
+        Arrays.fill(rowByColumn, -1);
+
+        // Row potentials start at the cheapest edge, so every reduced cost is non-negative
+        for (int i = 0; i < n; i++) {
+            u[i] = dummyCost;
+            for (double cost : edgeCosts[i]) {
+                u[i] = Math.min(u[i], cost);
+            }
+        }
+
+        double[] dist = new double[columnCount];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        int[] previousRow = new int[columnCount];
+        boolean[] settled = new boolean[columnCount];
+        int[] touched = new int[columnCount];
+        int[] settledColumns = new int[columnCount];
+        double[] rowDist = new double[n];
+        int[] reachedRows = new int[n];
+        Heap heap = new Heap(columnCount);
+
+        for (int source = 0; source < n; source++) {
+            int touchedCount = 0;
+            int settledCount = 0;
+            int reachedCount = 0;
+            heap.clear();
+
+            int row = source;
+            double rowDistance = 0;
+            int free;
+            double total;
+            while (true) {
+                // Relax every column of the row, its dummy included
+                int[] rowColumns = edgeColumns[row];
+                for (int e = 0; e <= rowColumns.length; e++) {
+                    int column = e < rowColumns.length ? rowColumns[e] : m + row;
+                    double cost = e < rowColumns.length ? edgeCosts[row][e] : dummyCost;
+                    if (settled[column]) {
+                        continue;
+                    }
+                    double candidate = rowDistance + cost - u[row] - v[column];
+                    if (candidate < dist[column]) {
+                        if (dist[column] == Double.POSITIVE_INFINITY) {
+                            touched[touchedCount++] = column;
+                        }
+                        dist[column] = candidate;
+                        previousRow[column] = row;
+                        heap.push(column, candidate);
+                    }
+                }
+
+                int column;
+                do {
+                    column = heap.pop();
+                } while (settled[column] || heap.poppedKey() > dist[column]);
+                settled[column] = true;
+                settledColumns[settledCount++] = column;
+
+                if (rowByColumn[column] < 0) {
+                    free = column;
+                    total = dist[column];
+                    break;
+                }
+                row = rowByColumn[column];
+                rowDistance = dist[column];
+                rowDist[row] = rowDistance;
+                reachedRows[reachedCount++] = row;
+            }
+
+            // Shift potentials so the shortest path tree has zero reduced cost
+            u[source] += total;
+            for (int k = 0; k < reachedCount; k++) {
+                u[reachedRows[k]] += total - rowDist[reachedRows[k]];
+            }
+            for (int k = 0; k < settledCount; k++) {
+                int column = settledColumns[k];
+                v[column] += dist[column] - total;
+            }
+
+            // Flip the augmenting path back to the source
+            int column = free;
+            while (true) {
+                int owner = previousRow[column];
+                int next = columnByRow[owner];
+                columnByRow[owner] = column;
+                rowByColumn[column] = owner;
+                if (owner == source) {
+                    break;
+                }
+                column = next;
+            }
+
+            for (int k = 0; k < touchedCount; k++) {
+                dist[touched[k]] = Double.POSITIVE_INFINITY;
+                settled[touched[k]] = false;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (columnByRow[i] >= m) {
+                columnByRow[i] = -1;
+            }
+        }
+        return columnByRow;
+    }
+
+    /**
+     * A finite cost for leaving a row unassigned, large enough that no solution
+     * ever trades a real assignment for a dropped row
+     */
+    private static double dummyCost(int n, double[][] edgeCosts) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            for (double cost : edgeCosts[i]) {
+                min = Math.min(min, cost);
+                max = Math.max(max, cost);
+            }
+        }
+        if (min == Double.POSITIVE_INFINITY) {
+            return 1.0;
+        }
+        return max + (max - min + 1.0) * (n + 1);
+    }
+
+    /**
+     * Binary min-heap of columns keyed by distance; stale entries are skipped by the caller
+     */
+    private static final class Heap {
+
+        private int[] columns;
+        private double[] keys;
+        private int size;
+        private double poppedKey;
+
+        Heap(int capacity) {
+            columns = new int[Math.max(capacity, 16)];
+            keys = new double[columns.length];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void push(int column, double key) {
+            if (size == columns.length) {
+                columns = Arrays.copyOf(columns, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                columns[i] = columns[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            columns[i] = column;
+            keys[i] = key;
+        }
+
+        int pop() {
+            int top = columns[0];
+            poppedKey = keys[0];
+            int lastColumn = columns[--size];
+            double lastKey = keys[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= lastKey) {
+                    break;
+                }
+                columns[i] = columns[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            columns[i] = lastColumn;
+            keys[i] = lastKey;
+            return top;
+        }
+
+        double poppedKey() {
+            return poppedKey;
+        }
+    }
+}
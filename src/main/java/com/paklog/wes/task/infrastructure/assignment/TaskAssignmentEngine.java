@@ -2,14 +2,18 @@ package com.paklog.wes.task.infrastructure.assignment;
 
 import com.paklog.wes.task.application.service.TaskManagementService;
 import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.valueobject.TaskStatus;
 import com.paklog.wes.task.domain.valueobject.TaskType;
-import com.paklog.wes.task.infrastructure.queue.TaskQueueManager;
+import com.paklog.wes.task.infrastructure.layout.TravelTimeModel;
+import com.paklog.wes.task.infrastructure.queue.TaskQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Intelligent task assignment engine
@@ -20,12 +24,52 @@ public class TaskAssignmentEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskAssignmentEngine.class);
 
-    private final TaskQueueManager queueManager;
-    private final TaskManagementService taskService;
+    /**
+     * Number of best-scoring workers tried before an assignment is given up
+     */
+    private static final int MAX_ASSIGNMENT_ATTEMPTS = 5;
+
+    /**
+     * Worker pool size from which scoring is spread across cores
+     */
+    private static final int PARALLEL_SCORING_THRESHOLD = 256;
+
+    /**
+     * Number of nearest workers scored when candidates come from the spatial index
+     */
+    private static final int NEAREST_CANDIDATES = 32;
+
+    /**
+     * Queue head tasks fetched per requested recommendation, per eligible queue
+     * Queue order is not the worker's score order, so more are fetched than shown
+     */
+    private static final int RECOMMENDATION_CANDIDATES_PER_SLOT = 3;
 
-    public TaskAssignmentEngine(TaskQueueManager queueManager, TaskManagementService taskService) {
+    /**
+     * Best-scoring workers kept as batch assignment candidates for each task
+     */
+    private static final int BATCH_CANDIDATE_WORKERS_PER_TASK = 8;
+
+    /**
+     * Best-scoring tasks kept as batch assignment candidates per free worker slot
+     * Keeps workers that are nobody's favourite in the solution
+     */
+    private static final int BATCH_CANDIDATE_TASKS_PER_SLOT = 4;
+
+    private final TaskQueue queueManager;
+    private final TaskManagementService taskService;
+    private final TravelTimeModel travelTimeModel;
+    private final WorkerRegistry workerRegistry;
+
+    public TaskAssignmentEngine(
+            TaskQueue queueManager,
+            TaskManagementService taskService,
+            TravelTimeModel travelTimeModel,
+            WorkerRegistry workerRegistry) {
         this.queueManager = queueManager;
         this.taskService = taskService;
+        this.travelTimeModel = travelTimeModel;
+        this.workerRegistry = workerRegistry;
     }
 
     /**
@@ -69,30 +113,42 @@ public class TaskAssignmentEngine {
         }
     }
 
+    /**
+     * Get next task for a registered worker, using its live registry state
+     */
+    public Optional<WorkTask> getNextTaskForWorker(String workerId) {
+        Optional<Worker> worker = workerRegistry.find(workerId);
+        if (worker.isEmpty()) {
+            logger.warn("Worker {} is not registered", workerId);
+            return Optional.empty();
+        }
+        return getNextTaskForWorker(worker.get());
+    }
+
     /**
      * Assign task to best available worker
-     * Uses worker scoring algorithm
+     * Uses worker scoring algorithm; only the best few candidates are kept and
+     * tried, and large pools are scored in parallel on the fork/join pool
      */
     public AssignmentResult assignTaskToBestWorker(WorkTask task, List<Worker> availableWorkers) {
         logger.debug("Finding best worker for task {}", task.getTaskId());
 
-        // Filter workers who can perform this task type
-        List<Worker> eligibleWorkers = availableWorkers.stream()
+        Stream<Worker> workers = availableWorkers.size() >= PARALLEL_SCORING_THRESHOLD
+                ? availableWorkers.parallelStream()
+                : availableWorkers.stream();
+
+        // Score workers who can perform this task type, keeping the best few
+        List<WorkerScore> scores = workers
                 .filter(worker -> worker.canPerform(task.getType()))
                 .filter(worker -> worker.warehouseId().equals(task.getWarehouseId()))
-                .collect(Collectors.toList());
+                .map(worker -> calculateScore(worker, task))
+                .collect(WorkerScore.top(MAX_ASSIGNMENT_ATTEMPTS)); // Highest score first
 
-        if (eligibleWorkers.isEmpty()) {
+        if (scores.isEmpty()) {
             logger.warn("No eligible workers found for task {}", task.getTaskId());
             return AssignmentResult.noEligibleWorker(task.getTaskId());
         }
 
-        // Score each worker
-        List<WorkerScore> scores = eligibleWorkers.stream()
-                .map(worker -> calculateScore(worker, task))
-                .sorted(Comparator.reverseOrder()) // Highest score first
-                .collect(Collectors.toList());
-
         logger.debug("Worker scores for task {}: {}", task.getTaskId(), scores);
 
         // Try assigning to best workers in order
@@ -112,6 +168,34 @@ public class TaskAssignmentEngine {
         return AssignmentResult.failed(task.getTaskId(), "All assignment attempts failed");
     }
 
+    /**
+     * Assign task to the best of the available workers nearest to it
+     * Candidates come from the worker registry's spatial index: the task's zone first,
+     * then the whole warehouse if nobody in the zone can take it
+     */
+    public AssignmentResult assignTaskToNearestWorker(WorkTask task) {
+        List<Worker> candidates = nearestCandidates(task, task.getZone());
+        if (candidates.isEmpty()) {
+            candidates = nearestCandidates(task, null);
+        }
+
+        return assignTaskToBestWorker(task, candidates);
+    }
+
+    /**
+     * Assign task to the best of the available workers nearest to it in the task's zone only
+     * Never touches workers of other zones, so it is safe to run on the zone's assignment lane
+     */
+    public AssignmentResult assignTaskToNearestZoneWorker(WorkTask task) {
+        return assignTaskToBestWorker(task, nearestCandidates(task, task.getZone()));
+    }
+
+    private List<Worker> nearestCandidates(WorkTask task, String zone) {
+        Predicate<Worker> eligible = worker -> worker.isAvailable() && worker.canPerform(task.getType());
+        return workerRegistry.nearest(
+                task.getWarehouseId(), zone, task.getTaskLocation(), NEAREST_CANDIDATES, eligible);
+    }
+
     /**
      * Calculate worker score for a task
      * Higher score = better match
@@ -124,11 +208,11 @@ public class TaskAssignmentEngine {
         if (task.getZone() != null && task.getZone().equals(worker.currentZone())) {
             score += 30.0;
 
-            // If task has location and worker has location, calculate distance
+            // If task has location and worker has location, calculate travel time
             if (task.getTaskLocation() != null && worker.currentLocation() != null) {
-                double distance = task.getTaskLocation().distanceFrom(worker.currentLocation());
-                // Closer is better (inverse scoring)
-                score += Math.max(0, 20 - (distance / 10.0));
+                double travelSeconds = travelSeconds(worker, task);
+                // Closer is better (inverse scoring), one point per minute of walking
+                score += Math.max(0, 20 - (travelSeconds / 60.0));
             }
         } else {
             // Penalty for different zone
@@ -137,8 +221,7 @@ public class TaskAssignmentEngine {
 
         // Current workload (0-20 points)
         // Workers with fewer active tasks get higher scores
-        int activeTasks = worker.activeTaskCount();
-        score += Math.max(0, 20 - (activeTasks * 5));
+        score += workloadScore(worker.activeTaskCount());
 
         // Task type specialization (0-20 points)
         if (worker.hasSpecialization(task.getType())) {
@@ -158,46 +241,269 @@ public class TaskAssignmentEngine {
         return new WorkerScore(worker, score);
     }
 
+    /**
+     * Batch assign tasks to the available registered workers of their warehouses
+     */
+    public List<AssignmentResult> batchAssign(List<WorkTask> tasks) {
+        List<Worker> workers = tasks.stream()
+                .map(WorkTask::getWarehouseId)
+                .distinct()
+                .flatMap(warehouseId -> workerRegistry.availableWorkers(warehouseId).stream())
+                .collect(Collectors.toList());
+        return batchAssign(tasks, workers);
+    }
+
     /**
      * Batch assign tasks to multiple workers
+     * Solves the whole batch as one assignment problem, maximising the total
+     * score over the best candidate pairs of every task and worker slot (one
+     * slot per unit of remaining capacity), then commits all assignments with
+     * a single bulk write
      */
     public List<AssignmentResult> batchAssign(List<WorkTask> tasks, List<Worker> workers) {
-        List<AssignmentResult> results = new ArrayList<>();
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
 
-        for (WorkTask task : tasks) {
-            AssignmentResult result = assignTaskToBestWorker(task, workers);
-            results.add(result);
+        Map<String, List<WorkTask>> tasksByWarehouse = tasks.stream()
+                .collect(Collectors.groupingBy(WorkTask::getWarehouseId, LinkedHashMap::new, Collectors.toList()));
+        Map<String, List<Worker>> workersByWarehouse = workers.stream()
+                .filter(Worker::isAvailable)
+                .collect(Collectors.groupingBy(Worker::warehouseId));
+
+        Map<String, WorkerScore> matches = new HashMap<>();
+        tasksByWarehouse.forEach((warehouseId, warehouseTasks) -> matches.putAll(
+                solveAssignment(warehouseTasks, workersByWarehouse.getOrDefault(warehouseId, List.of()))));
 
-            if (result.success()) {
-                // Remove assigned worker from available pool
-                workers.removeIf(w -> w.workerId().equals(result.workerId()));
+        Map<String, String> workerIdsByTaskId = new LinkedHashMap<>();
+        matches.forEach((taskId, score) -> workerIdsByTaskId.put(taskId, score.worker().workerId()));
+
+        Set<String> committed = new HashSet<>();
+        String commitError = null;
+        try {
+            taskService.assignTasks(workerIdsByTaskId).forEach(task -> committed.add(task.getTaskId()));
+        } catch (Exception e) {
+            logger.error("Failed to commit batch assignment of {} tasks", workerIdsByTaskId.size(), e);
+            commitError = e.getMessage();
+        }
+
+        List<AssignmentResult> results = new ArrayList<>(tasks.size());
+        for (WorkTask task : tasks) {
+            WorkerScore match = matches.get(task.getTaskId());
+            if (match == null) {
+                boolean eligible = workers.stream()
+                        .anyMatch(worker -> worker.canPerform(task.getType())
+                                && worker.warehouseId().equals(task.getWarehouseId()));
+                results.add(eligible
+                        ? AssignmentResult.failed(task.getTaskId(), "No worker capacity available")
+                        : AssignmentResult.noEligibleWorker(task.getTaskId()));
+            } else if (committed.contains(task.getTaskId())) {
+                results.add(AssignmentResult.success(task.getTaskId(), match.worker().workerId(), match.score()));
+            } else {
+                results.add(AssignmentResult.failed(task.getTaskId(),
+                        commitError != null ? commitError : "Task is no longer assignable"));
             }
         }
 
+        logger.info("Batch assigned {} of {} tasks", committed.size(), tasks.size());
         return results;
     }
 
+    /**
+     * Optimal assignment of one warehouse's tasks to its workers' free slots
+     * Every eligible pair is scored once, but only each task's best workers and
+     * each worker's best tasks become candidate pairs, so the solver works on a
+     * sparse graph instead of a tasks x slots matrix. A worker's k-th extra slot
+     * scores the same as its first apart from the workload term
+     */
+    private Map<String, WorkerScore> solveAssignment(List<WorkTask> tasks, List<Worker> workers) {
+        int slotCount = workers.stream().mapToInt(Worker::remainingCapacity).sum();
+        if (tasks.isEmpty() || slotCount == 0) {
+            return Map.of();
+        }
+
+        int[] firstSlot = new int[workers.size()];
+        int[] slotWorker = new int[slotCount];
+        double[] slotAdjustment = new double[slotCount];
+        int slot = 0;
+        for (int w = 0; w < workers.size(); w++) {
+            Worker worker = workers.get(w);
+            firstSlot[w] = slot;
+            for (int k = 0; k < worker.remainingCapacity(); k++) {
+                slotWorker[slot] = w;
+                slotAdjustment[slot] = workloadScore(worker.activeTaskCount() + k)
+                        - workloadScore(worker.activeTaskCount());
+                slot++;
+            }
+        }
+
+        List<List<Candidate>> workersByTask = candidatePairs(tasks, workers);
+
+        // Maximise total score by minimising its negation
+        int[][] edgeSlots = new int[tasks.size()][];
+        double[][] edgeCosts = new double[tasks.size()][];
+        for (int t = 0; t < tasks.size(); t++) {
+            List<Candidate> candidates = workersByTask.get(t);
+            int edgeCount = 0;
+            for (Candidate candidate : candidates) {
+                edgeCount += workers.get(candidate.index()).remainingCapacity();
+            }
+            edgeSlots[t] = new int[edgeCount];
+            edgeCosts[t] = new double[edgeCount];
+            int edge = 0;
+            for (Candidate candidate : candidates) {
+                int w = candidate.index();
+                for (int k = 0; k < workers.get(w).remainingCapacity(); k++) {
+                    edgeSlots[t][edge] = firstSlot[w] + k;
+                    edgeCosts[t][edge] = -(candidate.score() + slotAdjustment[firstSlot[w] + k]);
+                    edge++;
+                }
+            }
+        }
+
+        int[] slotByTask = SparseAssignmentSolver.solve(tasks.size(), slotCount, edgeSlots, edgeCosts);
+
+        Map<String, WorkerScore> matches = new HashMap<>();
+        for (int t = 0; t < tasks.size(); t++) {
+            for (int edge = 0; edge < edgeSlots[t].length; edge++) {
+                if (edgeSlots[t][edge] == slotByTask[t]) {
+                    Worker worker = workers.get(slotWorker[slotByTask[t]]);
+                    matches.put(tasks.get(t).getTaskId(), new WorkerScore(worker, -edgeCosts[t][edge]));
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Candidate workers of each task: its own best workers plus every worker that ranks it among its best tasks
+     */
+    private List<List<Candidate>> candidatePairs(List<WorkTask> tasks, List<Worker> workers) {
+        Comparator<Candidate> byScore = Comparator.comparingDouble(Candidate::score);
+        List<List<Candidate>> workersByTask = new ArrayList<>(tasks.size());
+        List<PriorityQueue<Candidate>> tasksByWorker = new ArrayList<>(workers.size());
+        for (int w = 0; w < workers.size(); w++) {
+            tasksByWorker.add(new PriorityQueue<>(byScore));
+        }
+
+        for (int t = 0; t < tasks.size(); t++) {
+            WorkTask task = tasks.get(t);
+            PriorityQueue<Candidate> best = new PriorityQueue<>(byScore);
+            for (int w = 0; w < workers.size(); w++) {
+                Worker worker = workers.get(w);
+                if (!worker.canPerform(task.getType())) {
+                    continue;
+                }
+                double score = calculateScore(worker, task).score();
+                offer(best, new Candidate(w, score), BATCH_CANDIDATE_WORKERS_PER_TASK);
+                offer(tasksByWorker.get(w), new Candidate(t, score),
+                        BATCH_CANDIDATE_TASKS_PER_SLOT * worker.remainingCapacity());
+            }
+            workersByTask.add(new ArrayList<>(best));
+        }
+
+        for (int w = 0; w < workers.size(); w++) {
+            for (Candidate candidate : tasksByWorker.get(w)) {
+                List<Candidate> taskWorkers = workersByTask.get(candidate.index());
+                int worker = w;
+                if (taskWorkers.stream().noneMatch(existing -> existing.index() == worker)) {
+                    taskWorkers.add(new Candidate(w, candidate.score()));
+                }
+            }
+        }
+        return workersByTask;
+    }
+
+    /**
+     * Keep the limit highest-scoring candidates in a min-heap
+     */
+    private static void offer(PriorityQueue<Candidate> best, Candidate candidate, int limit) {
+        if (best.size() < limit) {
+            best.add(candidate);
+        } else if (limit > 0 && candidate.score() > best.peek().score()) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+
     /**
      * Get task recommendations for a worker
      * Returns tasks the worker could do, sorted by score
      */
     public List<TaskRecommendation> getTaskRecommendations(Worker worker, List<WorkTask> availableTasks) {
-        return availableTasks.stream()
-                .filter(task -> worker.canPerform(task.getType()))
-                .filter(task -> worker.warehouseId().equals(task.getWarehouseId()))
-                .map(task -> {
-                    WorkerScore score = calculateScore(worker, task);
-                    return new TaskRecommendation(
-                            task.getTaskId(),
-                            task.getType(),
-                            task.getPriority(),
-                            task.getZone(),
-                            score.score(),
-                            calculateEstimatedWalkTime(worker, task)
-                    );
-                })
-                .sorted(Comparator.comparing(TaskRecommendation::score).reversed())
+        return recommend(worker, availableTasks, availableTasks.size());
+    }
+
+    /**
+     * Get the best task recommendations for a registered worker
+     */
+    public List<TaskRecommendation> getTaskRecommendations(String workerId, int limit) {
+        return workerRegistry.find(workerId)
+                .map(worker -> getTaskRecommendations(worker, limit))
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Get the best task recommendations for a worker, best first
+     * Candidates are the head tasks of the worker's eligible queues rather than
+     * every open task, so the cost does not grow with the backlog
+     */
+    public List<TaskRecommendation> getTaskRecommendations(Worker worker, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        List<String> candidateIds = queueManager.peek(
+                worker.warehouseId(),
+                worker.currentZone(),
+                worker.capabilities(),
+                limit * RECOMMENDATION_CANDIDATES_PER_SLOT
+        );
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<WorkTask> candidates = taskService.findTasksByIds(candidateIds).stream()
+                .filter(task -> task.getStatus() == TaskStatus.QUEUED)
                 .collect(Collectors.toList());
+        return recommend(worker, candidates, limit);
+    }
+
+    /**
+     * Score eligible tasks into a bounded min-heap and return the best, best first
+     */
+    private List<TaskRecommendation> recommend(Worker worker, Collection<WorkTask> tasks, int limit) {
+        Comparator<TaskRecommendation> byScore = Comparator.comparingDouble(TaskRecommendation::score);
+        PriorityQueue<TaskRecommendation> best = new PriorityQueue<>(byScore);
+
+        for (WorkTask task : tasks) {
+            if (!worker.canPerform(task.getType()) || !worker.warehouseId().equals(task.getWarehouseId())) {
+                continue;
+            }
+            TaskRecommendation recommendation = new TaskRecommendation(
+                    task.getTaskId(),
+                    task.getType(),
+                    task.getPriority(),
+                    task.getZone(),
+                    calculateScore(worker, task).score(),
+                    calculateEstimatedWalkTime(worker, task)
+            );
+            if (best.size() < limit) {
+                best.add(recommendation);
+            } else if (limit > 0 && recommendation.score() > best.peek().score()) {
+                best.poll();
+                best.add(recommendation);
+            }
+        }
+
+        List<TaskRecommendation> recommendations = new ArrayList<>(best);
+        recommendations.sort(byScore.reversed());
+        return recommendations;
+    }
+
+    private static double workloadScore(int activeTasks) {
+        return Math.max(0, 20 - (activeTasks * 5));
     }
 
     private int calculateEstimatedWalkTime(Worker worker, WorkTask task) {
@@ -205,8 +511,16 @@ public class TaskAssignmentEngine {
             return 0;
         }
 
-        // Simplified calculation: ~6 seconds per distance unit
-        double distance = task.getTaskLocation().distanceFrom(worker.currentLocation());
-        return (int) (distance * 6);
+        return (int) travelSeconds(worker, task);
+    }
+
+    private double travelSeconds(Worker worker, WorkTask task) {
+        return travelTimeModel.travelSeconds(task.getWarehouseId(), worker.currentLocation(), task.getTaskLocation());
+    }
+
+    /**
+     * A task or worker index with its pair score
+     */
+    private record Candidate(int index, double score) {
     }
 }
@@ -18,6 +18,11 @@ public record Worker(
         int activeTaskCount,
         double performanceRating // 0.0 to 1.0
 ) {
+    /**
+     * Maximum number of tasks a worker holds at once
+     */
+    public static final int MAX_ACTIVE_TASKS = 3;
+
     /**
      * Check if worker can perform a task type
      */
@@ -36,7 +41,32 @@ public record Worker(
      * Check if worker is available (not overloaded)
      */
     public boolean isAvailable() {
-        return activeTaskCount < 3; // Configurable max concurrent tasks
+        return remainingCapacity() > 0;
+    }
+
+    /**
+     * Number of further tasks the worker can take on
+     */
+    public int remainingCapacity() {
+        return Math.max(0, MAX_ACTIVE_TASKS - activeTaskCount);
+    }
+
+    /**
+     * Copy of this worker at a new position (e.g. after a location scan)
+     */
+    public Worker withPosition(String zone, Location location) {
+        return new Worker(workerId, warehouseId, zone, location, capabilities, specializations,
+                activeTaskCount, performanceRating);
+    }
+
+    public Worker withActiveTaskCount(int activeTaskCount) {
+        return new Worker(workerId, warehouseId, currentZone, currentLocation, capabilities, specializations,
+                activeTaskCount, performanceRating);
+    }
+
+    public Worker withPerformanceRating(double performanceRating) {
+        return new Worker(workerId, warehouseId, currentZone, currentLocation, capabilities, specializations,
+                activeTaskCount, performanceRating);
     }
 
     /**
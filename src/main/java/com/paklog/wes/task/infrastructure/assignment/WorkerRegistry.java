@@ -0,0 +1,153 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Live state of every signed-in worker
+ * Workers register on sign-in, report positions from scans, and their active
+ * task count follows task lifecycle transitions, so assignment needs no
+ * database reads. Each worker is updated atomically in its own map bin; the
+ * spatial index is kept in step. With task.workers.mirror.enabled, changes are
+ * written through to Redis and shared state is reloaded periodically
+ */
+@Service
+public class WorkerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerRegistry.class);
+
+    private final ConcurrentMap<String, Worker> workers = new ConcurrentHashMap<>();
+    private final WorkerSpatialIndex spatialIndex;
+    private final Optional<WorkerRegistryMirror> mirror;
+
+    public WorkerRegistry(WorkerSpatialIndex spatialIndex, Optional<WorkerRegistryMirror> mirror) {
+        this.spatialIndex = spatialIndex;
+        this.mirror = mirror;
+    }
+
+    /**
+     * Register or replace a worker (sign-in, profile change)
+     */
+    public void register(Worker worker) {
+        workers.put(worker.workerId(), worker);
+        spatialIndex.update(worker);
+        mirror.ifPresent(m -> m.save(worker));
+        logger.info("Registered worker {} in warehouse {}", worker.workerId(), worker.warehouseId());
+    }
+
+    /**
+     * Remove a worker (sign-out)
+     */
+    public void deregister(String workerId) {
+        Worker removed = workers.remove(workerId);
+        spatialIndex.remove(workerId);
+        if (removed != null) {
+            mirror.ifPresent(m -> m.remove(removed));
+            logger.info("Deregistered worker {}", workerId);
+        }
+    }
+
+    /**
+     * Record a worker's new position (e.g. from a location scan); empty if the worker is not signed in
+     */
+    public Optional<Worker> updatePosition(String workerId, String zone, Location location) {
+        Optional<Worker> updated = update(workerId, worker -> worker.withPosition(zone, location));
+        updated.ifPresent(worker -> mirror.ifPresent(m -> m.saveProfile(worker)));
+        return updated;
+    }
+
+    public void updatePerformanceRating(String workerId, double performanceRating) {
+        update(workerId, worker -> worker.withPerformanceRating(performanceRating))
+                .ifPresent(worker -> mirror.ifPresent(m -> m.saveProfile(worker)));
+    }
+
+    /**
+     * A task was assigned to the worker
+     */
+    public void taskAssigned(String workerId) {
+        adjustActiveTasks(workerId, 1);
+    }
+
+    /**
+     * A task of the worker was rejected, completed, failed or cancelled
+     */
+    public void taskReleased(String workerId) {
+        adjustActiveTasks(workerId, -1);
+    }
+
+    public Optional<Worker> find(String workerId) {
+        return Optional.ofNullable(workers.get(workerId));
+    }
+
+    /**
+     * Workers of a warehouse with spare capacity
+     */
+    public List<Worker> availableWorkers(String warehouseId) {
+        return workers.values().stream()
+                .filter(worker -> worker.warehouseId().equals(warehouseId))
+                .filter(Worker::isAvailable)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Up to k workers matching the filter, nearest to the location first
+     * A null zone searches the whole warehouse
+     */
+    public List<Worker> nearest(String warehouseId, String zone, Location location, int k, Predicate<Worker> filter) {
+        return spatialIndex.nearest(warehouseId, zone, location, k, filter);
+    }
+
+    public int size() {
+        return workers.size();
+    }
+
+    /**
+     * Replace local state with a full snapshot (mirror refresh); not written back
+     */
+    void replaceAll(Collection<Worker> snapshot) {
+        Set<String> present = new HashSet<>();
+        for (Worker worker : snapshot) {
+            present.add(worker.workerId());
+            workers.put(worker.workerId(), worker);
+            spatialIndex.update(worker);
+        }
+        for (String workerId : workers.keySet()) {
+            if (!present.contains(workerId)) {
+                workers.remove(workerId);
+                spatialIndex.remove(workerId);
+            }
+        }
+    }
+
+    private void adjustActiveTasks(String workerId, int delta) {
+        Optional<Worker> updated = update(workerId,
+                worker -> worker.withActiveTaskCount(Math.max(0, worker.activeTaskCount() + delta)));
+        if (updated.isEmpty()) {
+            logger.debug("Worker {} is not registered, active task count not tracked", workerId);
+            return;
+        }
+        mirror.ifPresent(m -> m.adjustActiveTasks(updated.get(), delta));
+    }
+
+    private Optional<Worker> update(String workerId, UnaryOperator<Worker> change) {
+        Worker updated = workers.computeIfPresent(workerId, (id, worker) -> {
+            Worker next = change.apply(worker);
+            spatialIndex.update(next);
+            return next;
+        });
+        return Optional.ofNullable(updated);
+    }
+}
@@ -0,0 +1,133 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Redis copy of the worker registry, shared by every instance
+ * Profiles (zone, location, skills, rating) live in task:workers:{warehouse}
+ * and active task counts in task:worker-load:{warehouse}; counts are changed
+ * with HINCRBY so concurrent assignments on different nodes are not lost
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.workers.mirror", name = "enabled", havingValue = "true")
+public class WorkerRegistryMirror {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerRegistryMirror.class);
+
+    static final String WAREHOUSES_KEY = "task:worker-warehouses";
+    static final String PROFILES_PREFIX = "task:workers:";
+    static final String LOAD_PREFIX = "task:worker-load:";
+
+    private static final String SEPARATOR = "|";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public WorkerRegistryMirror(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Mirror a newly registered worker; an active task count already shared by other nodes is kept
+     */
+    public void save(Worker worker) {
+        saveProfile(worker);
+        redisTemplate.opsForHash().putIfAbsent(LOAD_PREFIX + worker.warehouseId(), worker.workerId(),
+                String.valueOf(worker.activeTaskCount()));
+    }
+
+    /**
+     * Mirror a profile change (position, rating) without touching the shared active task count
+     */
+    public void saveProfile(Worker worker) {
+        redisTemplate.opsForSet().add(WAREHOUSES_KEY, worker.warehouseId());
+        redisTemplate.opsForHash().put(PROFILES_PREFIX + worker.warehouseId(), worker.workerId(), encode(worker));
+    }
+
+    public void adjustActiveTasks(Worker worker, int delta) {
+        redisTemplate.opsForHash().increment(LOAD_PREFIX + worker.warehouseId(), worker.workerId(), delta);
+    }
+
+    public void remove(Worker worker) {
+        redisTemplate.opsForHash().delete(PROFILES_PREFIX + worker.warehouseId(), worker.workerId());
+        redisTemplate.opsForHash().delete(LOAD_PREFIX + worker.warehouseId(), worker.workerId());
+    }
+
+    /**
+     * Every mirrored worker of every warehouse
+     */
+    public List<Worker> loadAll() {
+        Set<String> warehouses = redisTemplate.opsForSet().members(WAREHOUSES_KEY);
+        if (warehouses == null) {
+            return List.of();
+        }
+
+        List<Worker> workers = new ArrayList<>();
+        for (String warehouseId : warehouses) {
+            Map<Object, Object> profiles = redisTemplate.opsForHash().entries(PROFILES_PREFIX + warehouseId);
+            Map<Object, Object> loads = redisTemplate.opsForHash().entries(LOAD_PREFIX + warehouseId);
+            profiles.forEach((workerId, profile) -> {
+                try {
+                    Object load = loads.get(workerId);
+                    int activeTasks = load != null ? Math.max(0, Integer.parseInt(load.toString())) : 0;
+                    workers.add(decode(warehouseId, workerId.toString(), profile.toString(), activeTasks));
+                } catch (RuntimeException e) {
+                    logger.warn("Skipping unreadable worker {} in warehouse {}", workerId, warehouseId, e);
+                }
+            });
+        }
+        return workers;
+    }
+
+    static String encode(Worker worker) {
+        return String.join(SEPARATOR,
+                worker.currentZone() != null ? worker.currentZone() : "",
+                worker.currentLocation() != null ? worker.currentLocation().getLocationCode() : "",
+                join(worker.capabilities()),
+                join(worker.specializations()),
+                String.valueOf(worker.performanceRating()));
+    }
+
+    static Worker decode(String warehouseId, String workerId, String profile, int activeTaskCount) {
+        String[] parts = profile.split("\\|", -1);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Invalid worker profile: " + profile);
+        }
+        return Worker.builder()
+                .workerId(workerId)
+                .warehouseId(warehouseId)
+                .currentZone(parts[0].isEmpty() ? null : parts[0])
+                .currentLocation(parts[1].isEmpty() ? null : Location.fromCode(parts[1]))
+                .capabilities(split(parts[2]))
+                .specializations(split(parts[3]))
+                .activeTaskCount(activeTaskCount)
+                .performanceRating(Double.parseDouble(parts[4]))
+                .build();
+    }
+
+    private static String join(Set<TaskType> types) {
+        return types.stream().map(TaskType::name).sorted().collect(Collectors.joining(","));
+    }
+
+    private static Set<TaskType> split(String types) {
+        if (types.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(types.split(","))
+                .map(TaskType::valueOf)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(TaskType.class)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically reloads the worker registry from its Redis mirror
+ * Picks up sign-ins, moves and load changes made on other instances
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.workers.mirror", name = "enabled", havingValue = "true")
+public class WorkerRegistryRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerRegistryRefresher.class);
+
+    private final WorkerRegistry registry;
+    private final WorkerRegistryMirror mirror;
+
+    public WorkerRegistryRefresher(WorkerRegistry registry, WorkerRegistryMirror mirror) {
+        this.registry = registry;
+        this.mirror = mirror;
+    }
+
+    @Scheduled(fixedDelayString = "${task.workers.mirror.refresh-interval:PT5S}")
+    public void refresh() {
+        try {
+            registry.replaceAll(mirror.loadAll());
+        } catch (Exception e) {
+            logger.error("Failed to refresh worker registry from Redis", e);
+        }
+    }
+}
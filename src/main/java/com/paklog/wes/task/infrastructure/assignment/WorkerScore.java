@@ -1,5 +1,11 @@
 package com.paklog.wes.task.infrastructure.assignment;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+
 /**
  * Worker score for task assignment
  * Implements Comparable for sorting by score (higher is better)
@@ -14,6 +20,36 @@ public record WorkerScore(
         return Double.compare(this.score, other.score);
     }
 
+    /**
+     * Collects the k highest scores, best first
+     * Keeps a bounded min-heap per stream segment instead of sorting every
+     * score, so it is O(n log k) and merges cheaply in parallel streams
+     */
+    public static Collector<WorkerScore, ?, List<WorkerScore>> top(int k) {
+        return Collector.of(
+                () -> new PriorityQueue<WorkerScore>(k + 1),
+                (heap, score) -> offer(heap, score, k),
+                (left, right) -> {
+                    right.forEach(score -> offer(left, score, k));
+                    return left;
+                },
+                heap -> {
+                    List<WorkerScore> best = new ArrayList<>(heap);
+                    best.sort(Comparator.reverseOrder());
+                    return best;
+                }
+        );
+    }
+
+    private static void offer(PriorityQueue<WorkerScore> heap, WorkerScore score, int k) {
+        if (heap.size() < k) {
+            heap.add(score);
+        } else if (k > 0 && score.compareTo(heap.peek()) > 0) {
+            heap.poll();
+            heap.add(score);
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("WorkerScore{workerId=%s, score=%.2f}",
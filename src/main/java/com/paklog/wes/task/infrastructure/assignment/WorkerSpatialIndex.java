@@ -0,0 +1,326 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Grid index of worker positions per warehouse and zone
+ * Cells are one aisle wide and {@link #BAYS_PER_CELL} bays deep. Nearest and
+ * radius queries walk rings of cells outward from the origin and stop once no
+ * unvisited cell can hold anything closer, so their cost follows the number of
+ * workers nearby rather than headcount. Distances are {@link Location#distanceFrom}.
+ * Numbered and lettered aisles have separate grids: distanceFrom compares aisles
+ * of different kinds by their codes, not their ordinals, so no ring bound holds
+ * across them and workers on the other kind of aisle are checked one by one.
+ * Workers without a grid position (no location, or a non-numeric code) are
+ * kept aside and only returned after every placed worker
+ */
+@Component
+public class WorkerSpatialIndex {
+
+    static final int BAYS_PER_CELL = 10;
+
+    // Minimum distanceFrom contributions of one aisle and one bay of separation
+    private static final double AISLE_DISTANCE = 100.0;
+    private static final double BAY_DISTANCE = 10.0;
+
+    private final ConcurrentMap<ZoneKey, Zone> zones = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Placement> placements = new ConcurrentHashMap<>();
+
+    /**
+     * Insert or move a worker; call whenever a worker's position or state changes
+     */
+    public void update(Worker worker) {
+        ZoneKey zoneKey = new ZoneKey(worker.warehouseId(), worker.currentZone());
+        Cell cell = cellOf(worker.currentLocation());
+        Placement placement = new Placement(worker, zoneKey, cell);
+
+        // Serialise updates per worker so the cell sets stay consistent with placements
+        placements.compute(worker.workerId(), (workerId, previous) -> {
+            if (previous != null && (!previous.zoneKey().equals(zoneKey) || !Objects.equals(previous.cell(), cell))) {
+                zone(previous.zoneKey()).remove(workerId, previous.cell());
+            }
+            if (previous == null || !previous.zoneKey().equals(zoneKey) || !Objects.equals(previous.cell(), cell)) {
+                zone(zoneKey).add(workerId, cell);
+            }
+            return placement;
+        });
+    }
+
+    /**
+     * Drop a worker from the index (e.g. on logout)
+     */
+    public void remove(String workerId) {
+        placements.computeIfPresent(workerId, (id, previous) -> {
+            zone(previous.zoneKey()).remove(id, previous.cell());
+            return null;
+        });
+    }
+
+    public int size() {
+        return placements.size();
+    }
+
+    /**
+     * Up to k workers matching the filter, closest to the origin first
+     * A null zone searches every zone of the warehouse
+     */
+    public List<Worker> nearest(String warehouseId, String zone, Location origin, int k, Predicate<Worker> filter) {
+        if (k <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance).reversed());
+        search(warehouseId, zone, origin, Double.POSITIVE_INFINITY, k, filter, best);
+        return sorted(best);
+    }
+
+    /**
+     * Workers matching the filter within the given distance of the origin, closest first
+     */
+    public List<Worker> withinRadius(String warehouseId, String zone, Location origin, double radius,
+                                     Predicate<Worker> filter) {
+        PriorityQueue<Candidate> found = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance).reversed());
+        search(warehouseId, zone, origin, radius, Integer.MAX_VALUE, filter, found);
+        return sorted(found);
+    }
+
+    private void search(String warehouseId, String zone, Location origin, double radius, int k,
+                        Predicate<Worker> filter, PriorityQueue<Candidate> best) {
+        List<Zone> searched = new ArrayList<>();
+        zones.forEach((key, value) -> {
+            if (key.warehouseId().equals(warehouseId) && (zone == null || Objects.equals(key.zone(), zone))) {
+                searched.add(value);
+            }
+        });
+        if (searched.isEmpty()) {
+            return;
+        }
+
+        Cell originCell = cellOf(origin);
+        if (originCell != null) {
+            int cx = cellX(originCell.key());
+            int cy = cellY(originCell.key());
+            for (int ring = 0; ; ring++) {
+                boolean beyondAll = true;
+                for (Zone z : searched) {
+                    Grid grid = z.grid(originCell.numericAisle());
+                    if (!grid.isBeyond(cx, cy, ring)) {
+                        beyondAll = false;
+                        visitRing(grid, cx, cy, ring, origin, radius, k, filter, best);
+                    }
+                }
+                double nextBound = lowerBound(ring + 1);
+                if (beyondAll || nextBound > radius || (best.size() >= k && nextBound > best.peek().distance())) {
+                    break;
+                }
+            }
+            for (Zone z : searched) {
+                for (Set<String> workerIds : z.grid(!originCell.numericAisle()).cells.values()) {
+                    visit(workerIds, origin, radius, k, filter, best);
+                }
+            }
+        }
+
+        // Workers without a grid position rank after every placed worker; with no
+        // grid origin there is nothing to rank by, so every worker qualifies
+        double fallbackDistance = originCell != null ? Double.MAX_VALUE : 0;
+        if (fallbackDistance > radius) {
+            return;
+        }
+        for (Zone z : searched) {
+            for (String workerId : originCell != null ? z.unplaced : z.allWorkerIds()) {
+                if (best.size() >= k) {
+                    return;
+                }
+                Placement placement = placements.get(workerId);
+                if (placement != null && filter.test(placement.worker())) {
+                    best.add(new Candidate(placement.worker(), fallbackDistance));
+                }
+            }
+        }
+    }
+
+    private void visitRing(Grid grid, int cx, int cy, int ring, Location origin, double radius, int k,
+                           Predicate<Worker> filter, PriorityQueue<Candidate> best) {
+        for (int dx = -ring; dx <= ring; dx++) {
+            boolean edgeColumn = Math.abs(dx) == ring;
+            for (int dy = -ring; dy <= ring; dy += edgeColumn ? 1 : Math.max(1, 2 * ring)) {
+                Set<String> workerIds = grid.cells.get(cellKey(cx + dx, cy + dy));
+                if (workerIds != null) {
+                    visit(workerIds, origin, radius, k, filter, best);
+                }
+            }
+        }
+    }
+
+    private void visit(Set<String> workerIds, Location origin, double radius, int k,
+                       Predicate<Worker> filter, PriorityQueue<Candidate> best) {
+        for (String workerId : workerIds) {
+            Placement placement = placements.get(workerId);
+            if (placement == null || !filter.test(placement.worker())) {
+                continue;
+            }
+            double distance = origin.distanceFrom(placement.worker().currentLocation());
+            if (distance <= radius) {
+                offer(best, new Candidate(placement.worker(), distance), k);
+            }
+        }
+    }
+
+    /**
+     * Smallest possible distance to any cell on the given ring
+     */
+    private static double lowerBound(int ring) {
+        if (ring == 0) {
+            return 0;
+        }
+        return Math.min(ring * AISLE_DISTANCE, ((ring - 1) * BAYS_PER_CELL + 1) * BAY_DISTANCE);
+    }
+
+    private static void offer(PriorityQueue<Candidate> best, Candidate candidate, int k) {
+        if (best.size() < k) {
+            best.add(candidate);
+        } else if (candidate.distance() < best.peek().distance()) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+
+    private static List<Worker> sorted(PriorityQueue<Candidate> candidates) {
+        List<Candidate> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparingDouble(Candidate::distance));
+        List<Worker> workers = new ArrayList<>(ordered.size());
+        ordered.forEach(candidate -> workers.add(candidate.worker()));
+        return workers;
+    }
+
+    private Zone zone(ZoneKey key) {
+        return zones.computeIfAbsent(key, k -> new Zone());
+    }
+
+    /**
+     * Grid cell of a location, or null if it has no grid position
+     */
+    private static Cell cellOf(Location location) {
+        if (location == null || !location.hasOrdinalAisle() || !location.hasNumericGrid()) {
+            return null;
+        }
+        return new Cell(location.hasNumericAisle(),
+                cellKey(location.aisleOrdinal(), Math.floorDiv(location.bayNumber(), BAYS_PER_CELL)));
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int cellX(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    private static int cellY(long cell) {
+        return (int) cell;
+    }
+
+    private record ZoneKey(String warehouseId, String zone) {
+    }
+
+    private record Placement(Worker worker, ZoneKey zoneKey, Cell cell) {
+    }
+
+    private record Cell(boolean numericAisle, long key) {
+    }
+
+    private record Candidate(Worker worker, double distance) {
+    }
+
+    /**
+     * Placed workers of one zone on a grid per aisle kind, plus the workers without a grid position
+     */
+    private static final class Zone {
+        private final Grid numberedAisles = new Grid();
+        private final Grid letteredAisles = new Grid();
+        private final Set<String> unplaced = ConcurrentHashMap.newKeySet();
+
+        Grid grid(boolean numericAisle) {
+            return numericAisle ? numberedAisles : letteredAisles;
+        }
+
+        void add(String workerId, Cell cell) {
+            if (cell == null) {
+                unplaced.add(workerId);
+            } else {
+                grid(cell.numericAisle()).add(workerId, cell.key());
+            }
+        }
+
+        void remove(String workerId, Cell cell) {
+            if (cell == null) {
+                unplaced.remove(workerId);
+            } else {
+                grid(cell.numericAisle()).remove(workerId, cell.key());
+            }
+        }
+
+        List<String> allWorkerIds() {
+            List<String> workerIds = new ArrayList<>(unplaced);
+            numberedAisles.cells.values().forEach(workerIds::addAll);
+            letteredAisles.cells.values().forEach(workerIds::addAll);
+            return workerIds;
+        }
+    }
+
+    /**
+     * Occupied cells of one aisle kind, plus the extent ever occupied (only grows)
+     */
+    private static final class Grid {
+        private final ConcurrentMap<Long, Set<String>> cells = new ConcurrentHashMap<>();
+        private final AtomicInteger minX = new AtomicInteger(Integer.MAX_VALUE);
+        private final AtomicInteger maxX = new AtomicInteger(Integer.MIN_VALUE);
+        private final AtomicInteger minY = new AtomicInteger(Integer.MAX_VALUE);
+        private final AtomicInteger maxY = new AtomicInteger(Integer.MIN_VALUE);
+
+        void add(String workerId, long cell) {
+            int x = cellX(cell);
+            int y = cellY(cell);
+            minX.accumulateAndGet(x, Math::min);
+            maxX.accumulateAndGet(x, Math::max);
+            minY.accumulateAndGet(y, Math::min);
+            maxY.accumulateAndGet(y, Math::max);
+            // Add inside compute so a concurrent remove cannot drop the set this worker joins
+            cells.compute(cell, (key, workerIds) -> {
+                Set<String> updated = workerIds == null ? ConcurrentHashMap.newKeySet() : workerIds;
+                updated.add(workerId);
+                return updated;
+            });
+        }
+
+        void remove(String workerId, long cell) {
+            cells.computeIfPresent(cell, (key, workerIds) -> {
+                workerIds.remove(workerId);
+                return workerIds.isEmpty() ? null : workerIds;
+            });
+        }
+
+        /**
+         * True if the ring around (cx, cy) lies entirely outside every cell ever occupied
+         */
+        boolean isBeyond(int cx, int cy, int ring) {
+            if (minX.get() > maxX.get()) {
+                return true;
+            }
+            return (long) cx - ring < minX.get() && (long) cx + ring > maxX.get()
+                    && (long) cy - ring < minY.get() && (long) cy + ring > maxY.get();
+        }
+    }
+}
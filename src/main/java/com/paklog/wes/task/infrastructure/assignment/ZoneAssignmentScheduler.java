@@ -0,0 +1,213 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs assignment decisions one zone at a time, off the request threads
+ * Every (warehouse, zone) has a lane: a lock-free multi-producer mailbox that
+ * at most one pool thread drains at a time. Decisions for a zone are therefore
+ * serialised without locks and never race each other for the zone's queue
+ * heads or workers, while different zones run in parallel on the shared pool.
+ * A lane gives up its thread after task.assignment.scheduler.drain-batch
+ * requests so busy zones cannot starve quiet ones
+ */
+@Component
+public class ZoneAssignmentScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZoneAssignmentScheduler.class);
+
+    private final TaskAssignmentEngine assignmentEngine;
+    private final WorkerRegistry workerRegistry;
+    private final int drainBatch;
+    private final ExecutorService executor;
+    private final ConcurrentMap<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+
+    public ZoneAssignmentScheduler(
+            TaskAssignmentEngine assignmentEngine,
+            WorkerRegistry workerRegistry,
+            ZoneSchedulerProperties properties) {
+        this.assignmentEngine = assignmentEngine;
+        this.workerRegistry = workerRegistry;
+        this.drainBatch = Math.max(1, properties.getDrainBatch());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.effectiveThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "zone-assignment-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Dequeue and assign the next task for a registered worker, in the worker's current zone
+     */
+    public CompletableFuture<Optional<WorkTask>> nextTask(String workerId) {
+        Optional<Worker> worker = workerRegistry.find(workerId);
+        if (worker.isEmpty()) {
+            logger.warn("Worker {} is not registered", workerId);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return nextTask(worker.get());
+    }
+
+    public CompletableFuture<Optional<WorkTask>> nextTask(Worker worker) {
+        return submit(worker.warehouseId(), worker.currentZone(), () -> assignmentEngine.getNextTaskForWorker(worker));
+    }
+
+    /**
+     * Assign a task to the nearest suitable worker, in the task's zone lane
+     * Only workers currently in the task's zone are considered: a worker elsewhere
+     * belongs to another lane, which may be handing it work at the same moment
+     */
+    public CompletableFuture<AssignmentResult> assignToNearestWorker(WorkTask task) {
+        return submit(task.getWarehouseId(), task.getZone(), () -> assignmentEngine.assignTaskToNearestZoneWorker(task));
+    }
+
+    /**
+     * Optimal batch assignment, solved per zone with that zone's available workers
+     * Results follow the order of the input tasks
+     */
+    public CompletableFuture<List<AssignmentResult>> batchAssign(List<WorkTask> tasks) {
+        Map<LaneKey, List<WorkTask>> byLane = new LinkedHashMap<>();
+        for (WorkTask task : tasks) {
+            byLane.computeIfAbsent(new LaneKey(task.getWarehouseId(), task.getZone()), key -> new ArrayList<>())
+                    .add(task);
+        }
+
+        Map<String, AssignmentResult> resultsByTaskId = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> zoneRuns = new ArrayList<>(byLane.size());
+        byLane.forEach((key, zoneTasks) -> zoneRuns.add(
+                submit(key.warehouseId(), key.zone(), () -> assignmentEngine.batchAssign(zoneTasks, zoneWorkers(key)))
+                        .thenAccept(results -> results.forEach(
+                                result -> resultsByTaskId.put(result.taskId(), result)))));
+
+        return CompletableFuture.allOf(zoneRuns.toArray(CompletableFuture[]::new))
+                .thenApply(done -> tasks.stream().map(task -> resultsByTaskId.get(task.getTaskId())).toList());
+    }
+
+    /**
+     * Run a job on the lane of a warehouse zone; jobs of one lane never run concurrently
+     * Once the scheduler is shut down the returned future fails with RejectedExecutionException
+     */
+    public <T> CompletableFuture<T> submit(String warehouseId, String zone, Supplier<T> job) {
+        LaneJob<T> laneJob = new LaneJob<>(job);
+        lanes.computeIfAbsent(new LaneKey(warehouseId, zone), key -> new Lane()).post(laneJob);
+        return laneJob.future;
+    }
+
+    public int laneCount() {
+        return lanes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Zone assignment lanes did not drain within 10s");
+            executor.shutdownNow();
+            lanes.values().forEach(lane -> lane.abortPending(new RejectedExecutionException("Scheduler shut down")));
+        }
+    }
+
+    private List<Worker> zoneWorkers(LaneKey key) {
+        return workerRegistry.availableWorkers(key.warehouseId()).stream()
+                .filter(worker -> Objects.equals(worker.currentZone(), key.zone()))
+                .toList();
+    }
+
+    private record LaneKey(String warehouseId, String zone) {
+    }
+
+    /**
+     * A submitted job and the future it completes, or fails if it can no longer run
+     */
+    private static final class LaneJob<T> {
+        private final Supplier<T> job;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private LaneJob(Supplier<T> job) {
+            this.job = job;
+        }
+
+        void run() {
+            try {
+                future.complete(job.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        void abort(Throwable cause) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Mailbox of one zone; the draining flag hands the consumer role to exactly one thread
+     */
+    private final class Lane {
+        private final ConcurrentLinkedQueue<LaneJob<?>> mailbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        void post(LaneJob<?> job) {
+            mailbox.offer(job);
+            scheduleDrain();
+        }
+
+        void abortPending(Throwable cause) {
+            LaneJob<?> job;
+            while ((job = mailbox.poll()) != null) {
+                job.abort(cause);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shut down: no thread will drain this lane again, so fail waiting jobs rather than strand them
+                    draining.set(false);
+                    abortPending(e);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                LaneJob<?> job;
+                for (int run = 0; run < drainBatch && (job = mailbox.poll()) != null; run++) {
+                    job.run();
+                }
+            } finally {
+                draining.set(false);
+            }
+            // A job posted after the last poll but before the flag was cleared must not be stranded
+            if (!mailbox.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
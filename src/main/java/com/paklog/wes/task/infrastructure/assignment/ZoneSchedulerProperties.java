@@ -0,0 +1,40 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Zone assignment scheduler configuration (task.assignment.scheduler.*)
+ */
+@ConfigurationProperties(prefix = "task.assignment.scheduler")
+public class ZoneSchedulerProperties {
+
+    /**
+     * Threads shared by all zone lanes; 0 means one per available processor
+     */
+    private int threads = 0;
+
+    /**
+     * Requests a lane runs before yielding its thread to other zones
+     */
+    private int drainBatch = 64;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getDrainBatch() {
+        return drainBatch;
+    }
+
+    public void setDrainBatch(int drainBatch) {
+        this.drainBatch = drainBatch;
+    }
+
+    int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
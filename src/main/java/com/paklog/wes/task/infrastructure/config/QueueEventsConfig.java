@@ -0,0 +1,27 @@
+package com.paklog.wes.task.infrastructure.config;
+
+import com.paklog.wes.task.infrastructure.queue.QueueHeadCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes the queue head cache to queue change events from every instance
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "task.queue", name = "backend", havingValue = "redis", matchIfMissing = true)
+public class QueueEventsConfig {
+
+    @Bean
+    public RedisMessageListenerContainer queueEventsListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            QueueHeadCache queueHeadCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(queueHeadCache, new ChannelTopic(QueueHeadCache.CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,12 @@
+package com.paklog.wes.task.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs (queue maintenance, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
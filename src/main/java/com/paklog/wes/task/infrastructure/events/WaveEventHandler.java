@@ -15,6 +15,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Event handler for Wave events
@@ -58,12 +59,16 @@ public class WaveEventHandler {
 
             Priority priority = priorityStr != null ? Priority.valueOf(priorityStr) : Priority.NORMAL;
 
-            // Generate pick tasks for each order in the wave
+            // Generate pick tasks for each order in the wave and create them in one batch
+            List<CreateTaskCommand> commands = new ArrayList<>(orderIds.size());
             for (String orderId : orderIds) {
-                createPickTask(waveId, orderId, warehouseId, assignedZone, priority);
+                buildPickTaskCommand(waveId, orderId, warehouseId, assignedZone, priority)
+                        .ifPresent(commands::add);
             }
 
-            logger.info("Created {} pick tasks for wave {}", orderIds.size(), waveId);
+            taskService.createTasks(commands);
+
+            logger.info("Created {} pick tasks for wave {}", commands.size(), waveId);
 
         } catch (Exception e) {
             logger.error("Error handling WaveReleasedEvent", e);
@@ -71,8 +76,8 @@ public class WaveEventHandler {
         }
     }
 
-    private void createPickTask(String waveId, String orderId, String warehouseId,
-                                String zone, Priority priority) {
+    private Optional<CreateTaskCommand> buildPickTaskCommand(String waveId, String orderId, String warehouseId,
+                                                             String zone, Priority priority) {
         try {
             // Create pick task context
             // In a real implementation, you would fetch order details and create proper pick instructions
@@ -105,12 +110,11 @@ public class WaveEventHandler {
                     context
             );
 
-            taskService.createTask(command);
-
-            logger.debug("Created pick task for order {} in wave {}", orderId, waveId);
+            return Optional.of(command);
 
         } catch (Exception e) {
             logger.error("Error creating pick task for order {} in wave {}", orderId, waveId, e);
+            return Optional.empty();
         
 
 }
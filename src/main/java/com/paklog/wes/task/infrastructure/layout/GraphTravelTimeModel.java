@@ -0,0 +1,57 @@
+package com.paklog.wes.task.infrastructure.layout;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Travel time from precomputed shortest paths over each configured warehouse layout
+ * Graphs are built once at startup. Warehouses without a layout, locations
+ * outside it and unreachable bay pairs fall back to the distance heuristic
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.layout", name = "enabled", havingValue = "true")
+public class GraphTravelTimeModel implements TravelTimeModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphTravelTimeModel.class);
+
+    private final Map<String, LayoutGraph> graphs = new HashMap<>();
+    private final double levelSeconds;
+    private final HeuristicTravelTimeModel fallback = new HeuristicTravelTimeModel();
+
+    public GraphTravelTimeModel(WarehouseLayoutProperties properties) {
+        this.levelSeconds = properties.getLevelSeconds();
+
+        properties.getWarehouses().forEach((warehouseId, layout) -> {
+            long started = System.nanoTime();
+            LayoutGraph graph = LayoutGraph.build(layout, properties.getWalkSpeed());
+            graphs.put(warehouseId, graph);
+
+            logger.info("Built travel matrix for warehouse {}: {} bays in {} ms",
+                    warehouseId, graph.nodeCount(), (System.nanoTime() - started) / 1_000_000);
+            if (graph.unreachablePairs() > 0) {
+                logger.warn("Warehouse {} layout has {} unreachable bay pairs; check one-way aisles and cross-aisles",
+                        warehouseId, graph.unreachablePairs());
+            }
+        });
+    }
+
+    @Override
+    public double travelSeconds(String warehouseId, Location from, Location to) {
+        LayoutGraph graph = graphs.get(warehouseId);
+        if (graph == null || !from.hasNumericGrid() || !to.hasNumericGrid()) {
+            return fallback.travelSeconds(warehouseId, from, to);
+        }
+
+        float walk = graph.travelSeconds(from.getAisle(), from.bayNumber(), to.getAisle(), to.bayNumber());
+        if (Float.isNaN(walk) || Float.isInfinite(walk)) {
+            return fallback.travelSeconds(warehouseId, from, to);
+        }
+        return walk + Math.abs(from.levelNumber() - to.levelNumber()) * levelSeconds;
+    }
+}
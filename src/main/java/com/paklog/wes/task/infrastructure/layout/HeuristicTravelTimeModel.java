@@ -0,0 +1,24 @@
+package com.paklog.wes.task.infrastructure.layout;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Travel time from {@link Location#distanceFrom} at a flat pace
+ * Used when no warehouse layout is configured, and for locations a layout does not cover
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.layout", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class HeuristicTravelTimeModel implements TravelTimeModel {
+
+    /**
+     * Seconds per unit of {@link Location#distanceFrom}
+     */
+    private static final double SECONDS_PER_DISTANCE_UNIT = 6.0;
+
+    @Override
+    public double travelSeconds(String warehouseId, Location from, Location to) {
+        return from.distanceFrom(to) * SECONDS_PER_DISTANCE_UNIT;
+    }
+}
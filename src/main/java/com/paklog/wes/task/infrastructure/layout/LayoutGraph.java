@@ -0,0 +1,169 @@
+package com.paklog.wes.task.infrastructure.layout;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Walkable graph of one warehouse with all-pairs travel times precomputed
+ * Nodes are bays; edges run along aisles (honouring one-way aisles) and across
+ * cross-aisles between neighbouring aisles. Shortest paths from every node are
+ * computed once with Dijkstra and stored row-major in an off-heap float matrix,
+ * so a lookup is two map reads and one array read
+ */
+final class LayoutGraph {
+
+    /**
+     * Largest node count whose matrix still fits in a single direct buffer
+     */
+    static final int MAX_NODES = 23_170;
+
+    private final Map<String, int[]> aisles;
+    private final int nodeCount;
+    private final FloatBuffer seconds;
+    private final long unreachablePairs;
+
+    private LayoutGraph(Map<String, int[]> aisles, int nodeCount, FloatBuffer seconds, long unreachablePairs) {
+        this.aisles = aisles;
+        this.nodeCount = nodeCount;
+        this.seconds = seconds;
+        this.unreachablePairs = unreachablePairs;
+    }
+
+    static LayoutGraph build(WarehouseLayoutProperties.Warehouse layout, double walkSpeed) {
+        if (walkSpeed <= 0) {
+            throw new IllegalArgumentException("Walk speed must be positive");
+        }
+
+        // aisle ID -> {first node index, bay count}
+        Map<String, int[]> aisles = new HashMap<>();
+        List<WarehouseLayoutProperties.Aisle> ordered = layout.getAisles();
+        int nodeCount = 0;
+        for (WarehouseLayoutProperties.Aisle aisle : ordered) {
+            if (aisle.getBays() <= 0) {
+                throw new IllegalArgumentException("Aisle " + aisle.getId() + " must have at least one bay");
+            }
+            if (aisles.put(aisle.getId(), new int[]{nodeCount, aisle.getBays()}) != null) {
+                throw new IllegalArgumentException("Duplicate aisle " + aisle.getId());
+            }
+            nodeCount += aisle.getBays();
+        }
+        if (nodeCount > MAX_NODES) {
+            throw new IllegalArgumentException("Layout has " + nodeCount + " bays, at most " + MAX_NODES + " supported");
+        }
+
+        List<List<float[]>> adjacency = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            adjacency.add(new ArrayList<>(4));
+        }
+
+        float alongAisle = (float) (layout.getBayWidth() / walkSpeed);
+        for (WarehouseLayoutProperties.Aisle aisle : ordered) {
+            int first = aisles.get(aisle.getId())[0];
+            for (int bay = 1; bay < aisle.getBays(); bay++) {
+                int lower = first + bay - 1;
+                int upper = lower + 1;
+                if (aisle.getDirection() != WarehouseLayoutProperties.Direction.DESCENDING) {
+                    adjacency.get(lower).add(new float[]{upper, alongAisle});
+                }
+                if (aisle.getDirection() != WarehouseLayoutProperties.Direction.ASCENDING) {
+                    adjacency.get(upper).add(new float[]{lower, alongAisle});
+                }
+            }
+        }
+
+        float acrossAisles = (float) (layout.getAisleSpacing() / walkSpeed);
+        for (int a = 0; a + 1 < ordered.size(); a++) {
+            WarehouseLayoutProperties.Aisle left = ordered.get(a);
+            WarehouseLayoutProperties.Aisle right = ordered.get(a + 1);
+            for (int bay : layout.getCrossAisles()) {
+                if (bay >= 1 && bay <= left.getBays() && bay <= right.getBays()) {
+                    int from = aisles.get(left.getId())[0] + bay - 1;
+                    int to = aisles.get(right.getId())[0] + bay - 1;
+                    adjacency.get(from).add(new float[]{to, acrossAisles});
+                    adjacency.get(to).add(new float[]{from, acrossAisles});
+                }
+            }
+        }
+
+        FloatBuffer seconds = ByteBuffer.allocateDirect(nodeCount * nodeCount * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        float[] row = new float[nodeCount];
+        long unreachable = 0;
+        for (int source = 0; source < nodeCount; source++) {
+            shortestPaths(adjacency, source, row);
+            seconds.put(source * nodeCount, row);
+            for (float value : row) {
+                if (value == Float.POSITIVE_INFINITY) {
+                    unreachable++;
+                }
+            }
+        }
+
+        return new LayoutGraph(aisles, nodeCount, seconds, unreachable);
+    }
+
+    /**
+     * Dijkstra from one source; queue entries pack the (non-negative) float
+     * distance bits above the node index, which keeps their natural ordering
+     */
+    private static void shortestPaths(List<List<float[]>> adjacency, int source, float[] distances) {
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        distances[source] = 0f;
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        queue.add((long) source);
+
+        while (!queue.isEmpty()) {
+            long entry = queue.poll();
+            int node = (int) entry;
+            float distance = Float.intBitsToFloat((int) (entry >>> 32));
+            if (distance > distances[node]) {
+                continue;
+            }
+            for (float[] edge : adjacency.get(node)) {
+                int next = (int) edge[0];
+                float candidate = distance + edge[1];
+                if (candidate < distances[next]) {
+                    distances[next] = candidate;
+                    queue.add(((long) Float.floatToIntBits(candidate) << 32) | next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Travel seconds between two bays, or NaN if either bay is not in the layout
+     * Unreachable pairs (a one-way dead end) return positive infinity
+     */
+    float travelSeconds(String fromAisle, int fromBay, String toAisle, int toBay) {
+        int from = node(fromAisle, fromBay);
+        int to = node(toAisle, toBay);
+        if (from < 0 || to < 0) {
+            return Float.NaN;
+        }
+        return seconds.get(from * nodeCount + to);
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    long unreachablePairs() {
+        return unreachablePairs;
+    }
+
+    private int node(String aisle, int bay) {
+        int[] range = aisles.get(aisle);
+        if (range == null || bay < 1 || bay > range[1]) {
+            return -1;
+        }
+        return range[0] + bay - 1;
+    }
+}
@@ -0,0 +1,15 @@
+package com.paklog.wes.task.infrastructure.layout;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+
+/**
+ * Walking time between two locations of a warehouse
+ * The implementation is selected with task.layout.enabled
+ */
+public interface TravelTimeModel {
+
+    /**
+     * Estimated travel time in seconds from one location to another
+     */
+    double travelSeconds(String warehouseId, Location from, Location to);
+}
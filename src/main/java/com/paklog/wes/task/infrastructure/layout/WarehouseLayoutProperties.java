@@ -0,0 +1,160 @@
+package com.paklog.wes.task.infrastructure.layout;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warehouse layout configuration (task.layout.*)
+ * Describes each warehouse as a row of aisles joined by cross-aisles, used to
+ * precompute true walking times between bays
+ */
+@ConfigurationProperties(prefix = "task.layout")
+public class WarehouseLayoutProperties {
+
+    /**
+     * Use the layout graph for travel times instead of the distance heuristic
+     */
+    private boolean enabled = false;
+
+    /**
+     * Walking speed in metres per second
+     */
+    private double walkSpeed = 1.0;
+
+    /**
+     * Seconds added per level of height difference (reach or lift time)
+     */
+    private double levelSeconds = 5.0;
+
+    /**
+     * Layouts keyed by warehouse ID; other warehouses use the heuristic
+     */
+    private Map<String, Warehouse> warehouses = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getWalkSpeed() {
+        return walkSpeed;
+    }
+
+    public void setWalkSpeed(double walkSpeed) {
+        this.walkSpeed = walkSpeed;
+    }
+
+    public double getLevelSeconds() {
+        return levelSeconds;
+    }
+
+    public void setLevelSeconds(double levelSeconds) {
+        this.levelSeconds = levelSeconds;
+    }
+
+    public Map<String, Warehouse> getWarehouses() {
+        return warehouses;
+    }
+
+    public void setWarehouses(Map<String, Warehouse> warehouses) {
+        this.warehouses = warehouses;
+    }
+
+    /**
+     * One warehouse: aisles in physical order, adjacent aisles connected by
+     * cross-aisles at the listed bay numbers
+     */
+    public static class Warehouse {
+        private double bayWidth = 1.5;
+        private double aisleSpacing = 3.0;
+        private List<Aisle> aisles = new ArrayList<>();
+        private List<Integer> crossAisles = new ArrayList<>();
+
+        public double getBayWidth() {
+            return bayWidth;
+        }
+
+        public void setBayWidth(double bayWidth) {
+            this.bayWidth = bayWidth;
+        }
+
+        public double getAisleSpacing() {
+            return aisleSpacing;
+        }
+
+        public void setAisleSpacing(double aisleSpacing) {
+            this.aisleSpacing = aisleSpacing;
+        }
+
+        public List<Aisle> getAisles() {
+            return aisles;
+        }
+
+        public void setAisles(List<Aisle> aisles) {
+            this.aisles = aisles;
+        }
+
+        public List<Integer> getCrossAisles() {
+            return crossAisles;
+        }
+
+        public void setCrossAisles(List<Integer> crossAisles) {
+            this.crossAisles = crossAisles;
+        }
+    }
+
+    /**
+     * An aisle with bays numbered 1..bays
+     */
+    public static class Aisle {
+        private String id;
+        private int bays;
+        private Direction direction = Direction.BOTH;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public int getBays() {
+            return bays;
+        }
+
+        public void setBays(int bays) {
+            this.bays = bays;
+        }
+
+        public Direction getDirection() {
+            return direction;
+        }
+
+        public void setDirection(Direction direction) {
+            this.direction = direction;
+        }
+    }
+
+    public enum Direction {
+        /**
+         * Two-way aisle
+         */
+        BOTH,
+        /**
+         * One-way, towards higher bay numbers
+         */
+        ASCENDING,
+        /**
+         * One-way, towards lower bay numbers
+         */
+        DESCENDING
+    }
+}
@@ -0,0 +1,43 @@
+package com.paklog.wes.task.infrastructure.priority;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Priority profile overrides kept in Mongo, keyed by warehouse ID
+ * The document with ID {@value #DEFAULTS_ID} applies to every warehouse
+ */
+@Document(collection = "priority_profiles")
+public class PriorityProfileDocument {
+
+    public static final String DEFAULTS_ID = "default";
+
+    @Id
+    private String id;
+
+    private PriorityProfileSettings settings;
+
+    public PriorityProfileDocument() {
+    }
+
+    public PriorityProfileDocument(String id, PriorityProfileSettings settings) {
+        this.id = id;
+        this.settings = settings;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public PriorityProfileSettings getSettings() {
+        return settings;
+    }
+
+    public void setSettings(PriorityProfileSettings settings) {
+        this.settings = settings;
+    }
+}
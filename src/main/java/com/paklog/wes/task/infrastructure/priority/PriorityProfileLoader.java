@@ -0,0 +1,128 @@
+package com.paklog.wes.task.infrastructure.priority;
+
+import com.paklog.wes.task.domain.service.PriorityProfiles;
+import com.paklog.wes.task.domain.service.PriorityWeightProfile;
+import com.paklog.wes.task.domain.service.TaskPriorityCalculator;
+import com.paklog.wes.task.infrastructure.queue.TaskReprioritizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the priority calculator's weight profiles in step with configuration and Mongo
+ * Profiles are rebuilt from both sources every task.priority.refresh-interval and
+ * swapped into the calculator only when they changed, so scoring never looks
+ * configuration up itself. An invalid profile is logged and the profiles in force
+ * stay. After a swap, a sweep of the queued tasks is requested at once rather
+ * than leaving them on their old urgency until their next band edge
+ */
+@Component
+public class PriorityProfileLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriorityProfileLoader.class);
+
+    private final TaskPriorityCalculator priorityCalculator;
+    private final PriorityProfileProperties properties;
+    private final PriorityProfileRepository repository;
+    private final Optional<TaskReprioritizer> reprioritizer;
+
+    public PriorityProfileLoader(
+            TaskPriorityCalculator priorityCalculator,
+            PriorityProfileProperties properties,
+            PriorityProfileRepository repository,
+            Optional<TaskReprioritizer> reprioritizer) {
+        this.priorityCalculator = priorityCalculator;
+        this.properties = properties;
+        this.repository = repository;
+        this.reprioritizer = reprioritizer;
+    }
+
+    @Scheduled(fixedDelayString = "${task.priority.refresh-interval:PT30S}")
+    public void refresh() {
+        try {
+            if (reload()) {
+                reprioritizer.ifPresent(TaskReprioritizer::requestSweep);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to reload priority profiles, keeping the current ones", e);
+        }
+    }
+
+    /**
+     * Rebuild the profiles and swap them in if they changed; returns whether they did
+     */
+    public boolean reload() {
+        PriorityProfiles loaded = load();
+        if (loaded.equals(priorityCalculator.getProfiles())) {
+            return false;
+        }
+
+        priorityCalculator.setProfiles(loaded);
+        logger.info("Priority profiles updated: defaults {}, {} warehouse profiles",
+                loaded.defaults(), loaded.byWarehouse().size());
+        return true;
+    }
+
+    PriorityProfiles load() {
+        Map<String, PriorityProfileSettings> stored = new HashMap<>();
+        for (PriorityProfileDocument document : repository.findAll()) {
+            if (document.getId() != null && document.getSettings() != null) {
+                stored.put(document.getId(), document.getSettings());
+            }
+        }
+
+        PriorityWeightProfile defaults = overlay(
+                overlay(PriorityWeightProfile.DEFAULT, properties.getDefaults()),
+                stored.remove(PriorityProfileDocument.DEFAULTS_ID));
+
+        Set<String> warehouseIds = new LinkedHashSet<>(properties.getWarehouses().keySet());
+        warehouseIds.addAll(stored.keySet());
+        Map<String, PriorityWeightProfile> byWarehouse = new HashMap<>();
+        for (String warehouseId : warehouseIds) {
+            byWarehouse.put(warehouseId, overlay(
+                    overlay(defaults, properties.getWarehouses().get(warehouseId)),
+                    stored.get(warehouseId)));
+        }
+        return new PriorityProfiles(defaults, byWarehouse);
+    }
+
+    static PriorityWeightProfile overlay(PriorityWeightProfile base, PriorityProfileSettings settings) {
+        if (settings == null) {
+            return base;
+        }
+
+        List<PriorityWeightProfile.ZonePrefix> zonePrefixes = base.zonePrefixes();
+        if (settings.getZonePrefixes() != null) {
+            zonePrefixes = new ArrayList<>();
+            for (Map.Entry<String, Integer> prefix : settings.getZonePrefixes().entrySet()) {
+                zonePrefixes.add(new PriorityWeightProfile.ZonePrefix(prefix.getKey(), prefix.getValue()));
+            }
+        }
+
+        return new PriorityWeightProfile(
+                orElse(settings.getSlaWeight(), base.slaWeight()),
+                orElse(settings.getCutoffWeight(), base.cutoffWeight()),
+                orElse(settings.getCustomerWeight(), base.customerWeight()),
+                orElse(settings.getZoneWeight(), base.zoneWeight()),
+                orElse(settings.getAgeWeight(), base.ageWeight()),
+                settings.getCustomerTiers() != null ? settings.getCustomerTiers() : base.customerTierScores(),
+                orElse(settings.getDefaultCustomerScore(), base.defaultCustomerScore()),
+                zonePrefixes,
+                orElse(settings.getOtherZoneScore(), base.otherZoneScore()),
+                orElse(settings.getNoZoneScore(), base.noZoneScore())
+        );
+    }
+
+    private static int orElse(Integer value, int inherited) {
+        return value != null ? value : inherited;
+    }
+}
@@ -0,0 +1,47 @@
+package com.paklog.wes.task.infrastructure.priority;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Priority weight profile configuration (task.priority.*)
+ * defaults is laid over the built-in model and each warehouse entry over the
+ * defaults; documents in the priority_profiles collection are laid over both
+ * and are re-read every refreshInterval
+ */
+@ConfigurationProperties(prefix = "task.priority")
+public class PriorityProfileProperties {
+
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    private PriorityProfileSettings defaults = new PriorityProfileSettings();
+
+    private Map<String, PriorityProfileSettings> warehouses = new LinkedHashMap<>();
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public PriorityProfileSettings getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(PriorityProfileSettings defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, PriorityProfileSettings> getWarehouses() {
+        return warehouses;
+    }
+
+    public void setWarehouses(Map<String, PriorityProfileSettings> warehouses) {
+        this.warehouses = warehouses;
+    }
+}
@@ -0,0 +1,11 @@
+package com.paklog.wes.task.infrastructure.priority;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Priority profile overrides stored in Mongo
+ */
+@Repository
+public interface PriorityProfileRepository extends MongoRepository<PriorityProfileDocument, String> {
+}
@@ -0,0 +1,102 @@
+package com.paklog.wes.task.infrastructure.priority;
+
+import java.util.Map;
+
+/**
+ * Overrides of a priority weight profile, from configuration or a Mongo document
+ * Unset fields inherit from the profile they are laid over; tier and zone tables
+ * replace the inherited table as a whole. Zone keys are name prefixes, longest match wins
+ */
+public class PriorityProfileSettings {
+
+    private Integer slaWeight;
+    private Integer cutoffWeight;
+    private Integer customerWeight;
+    private Integer zoneWeight;
+    private Integer ageWeight;
+    private Map<String, Integer> customerTiers;
+    private Integer defaultCustomerScore;
+    private Map<String, Integer> zonePrefixes;
+    private Integer otherZoneScore;
+    private Integer noZoneScore;
+
+    public Integer getSlaWeight() {
+        return slaWeight;
+    }
+
+    public void setSlaWeight(Integer slaWeight) {
+        this.slaWeight = slaWeight;
+    }
+
+    public Integer getCutoffWeight() {
+        return cutoffWeight;
+    }
+
+    public void setCutoffWeight(Integer cutoffWeight) {
+        this.cutoffWeight = cutoffWeight;
+    }
+
+    public Integer getCustomerWeight() {
+        return customerWeight;
+    }
+
+    public void setCustomerWeight(Integer customerWeight) {
+        this.customerWeight = customerWeight;
+    }
+
+    public Integer getZoneWeight() {
+        return zoneWeight;
+    }
+
+    public void setZoneWeight(Integer zoneWeight) {
+        this.zoneWeight = zoneWeight;
+    }
+
+    public Integer getAgeWeight() {
+        return ageWeight;
+    }
+
+    public void setAgeWeight(Integer ageWeight) {
+        this.ageWeight = ageWeight;
+    }
+
+    public Map<String, Integer> getCustomerTiers() {
+        return customerTiers;
+    }
+
+    public void setCustomerTiers(Map<String, Integer> customerTiers) {
+        this.customerTiers = customerTiers;
+    }
+
+    public Integer getDefaultCustomerScore() {
+        return defaultCustomerScore;
+    }
+
+    public void setDefaultCustomerScore(Integer defaultCustomerScore) {
+        this.defaultCustomerScore = defaultCustomerScore;
+    }
+
+    public Map<String, Integer> getZonePrefixes() {
+        return zonePrefixes;
+    }
+
+    public void setZonePrefixes(Map<String, Integer> zonePrefixes) {
+        this.zonePrefixes = zonePrefixes;
+    }
+
+    public Integer getOtherZoneScore() {
+        return otherZoneScore;
+    }
+
+    public void setOtherZoneScore(Integer otherZoneScore) {
+        this.otherZoneScore = otherZoneScore;
+    }
+
+    public Integer getNoZoneScore() {
+        return noZoneScore;
+    }
+
+    public void setNoZoneScore(Integer noZoneScore) {
+        this.noZoneScore = noZoneScore;
+    }
+}
@@ -0,0 +1,444 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process task queue backend for single-node sites and tests
+ * Each warehouse/zone/type queue is an independent lane of lock-free skip lists,
+ * so workers in different zones never contend. Scoring matches the Redis backend
+ * (aging and overdue boost); dequeued tasks are not leased. Scheduled tasks
+ * wait in a release-time ordered skip list until promoted.
+ */
+@Service
+@ConditionalOnProperty(prefix = "task.queue", name = "backend", havingValue = "memory")
+public class InMemoryTaskQueue implements TaskQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskQueue.class);
+
+    private static final int MAX_OVERDUE_CANDIDATES = 32;
+
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Scheduled> scheduled = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Scheduled::releaseAt).thenComparingLong(Scheduled::seq));
+    private final ConcurrentMap<String, Scheduled> scheduledIndex = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final TaskQueueProperties properties;
+    private final QueueMetrics metrics;
+
+    public InMemoryTaskQueue(TaskQueueProperties properties, QueueMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void enqueue(WorkTask task) {
+        lane(task.getWarehouseId(), task.getZone(), task.getType()).add(newEntry(task));
+        logger.info("Enqueued task {} to in-memory queue {}", task.getTaskId(),
+                QueueKeys.of(task.getWarehouseId(), task.getZone(), task.getType()).queue());
+    }
+
+    @Override
+    public void enqueueAll(Collection<WorkTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        for (WorkTask task : tasks) {
+            lane(task.getWarehouseId(), task.getZone(), task.getType()).add(newEntry(task));
+        }
+        logger.info("Enqueued {} tasks to in-memory queues", tasks.size());
+    }
+
+    @Override
+    public void schedule(Collection<WorkTask> tasks) {
+        for (WorkTask task : tasks) {
+            if (task.getScheduledFor() != null) {
+                putScheduled(new Scheduled(task.getTaskId(),
+                        QueueScores.toEpochMillis(task.getScheduledFor()), sequence.incrementAndGet()));
+            }
+        }
+    }
+
+    @Override
+    public List<String> claimDueScheduled(Instant now, Duration claimTimeout, int limit) {
+        long nowMillis = now.toEpochMilli();
+        long retryAt = now.plus(claimTimeout).toEpochMilli();
+        List<String> claimed = new ArrayList<>();
+
+        for (Scheduled entry : scheduled) {
+            if (entry.releaseAt() > nowMillis || claimed.size() >= limit) {
+                break;
+            }
+            // Whoever removes the entry owns the claim; it is re-added with the retry time
+            if (scheduled.remove(entry)) {
+                Scheduled retry = new Scheduled(entry.taskId(), retryAt, sequence.incrementAndGet());
+                if (scheduledIndex.replace(entry.taskId(), entry, retry)) {
+                    scheduled.add(retry);
+                    claimed.add(entry.taskId());
+                }
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public void removeScheduled(Collection<String> taskIds) {
+        for (String taskId : taskIds) {
+            Scheduled entry = scheduledIndex.remove(taskId);
+            if (entry != null) {
+                scheduled.remove(entry);
+            }
+        }
+    }
+
+    @Override
+    public Optional<String> dequeue(String workerId, String warehouseId, String zone, Set<TaskType> capabilities) {
+        List<Lane> eligibleLanes = new ArrayList<>(capabilities.size());
+        for (TaskType type : capabilities) {
+            Lane lane = lanes.get(QueueKeys.of(warehouseId, zone, type).queue());
+            if (lane != null) {
+                eligibleLanes.add(lane);
+            }
+        }
+
+        // A candidate can be claimed by a concurrent worker between selection and
+        // removal; only the thread whose remove() succeeds owns it, the rest retry
+        while (true) {
+            long now = System.currentTimeMillis();
+            Lane bestLane = null;
+            Entry best = null;
+            double bestScore = Double.POSITIVE_INFINITY;
+
+            for (Lane lane : eligibleLanes) {
+                Entry head = firstOrNull(lane.byScore);
+                if (head != null) {
+                    double score = effectiveScore(head, now);
+                    if (score < bestScore) {
+                        bestScore = score;
+                        best = head;
+                        bestLane = lane;
+                    }
+                }
+
+                int scanned = 0;
+                for (Entry candidate : lane.byDeadline) {
+                    if (candidate.deadline() > now || scanned++ >= MAX_OVERDUE_CANDIDATES) {
+                        break;
+                    }
+                    double score = effectiveScore(candidate, now);
+                    if (score < bestScore) {
+                        bestScore = score;
+                        best = candidate;
+                        bestLane = lane;
+                    }
+                }
+            }
+
+            if (best == null) {
+                logger.debug("No tasks available for worker {} in {}/{}", workerId, warehouseId, zone);
+                return Optional.empty();
+            }
+
+            if (bestLane.claim(best)) {
+                metrics.recordWait(bestLane.warehouseId, bestLane.zone, bestLane.type,
+                        Duration.ofMillis(now - best.enqueuedAt()));
+                logger.info("Dequeued task {} from in-memory queue {} for worker {} (aged score {})",
+                        best.taskId(), bestLane.queueKey, workerId, bestScore);
+                return Optional.of(best.taskId());
+            }
+        }
+    }
+
+    @Override
+    public void remove(WorkTask task) {
+        Lane lane = lanes.get(QueueKeys.of(task.getWarehouseId(), task.getZone(), task.getType()).queue());
+        if (lane != null) {
+            lane.remove(task.getTaskId());
+        }
+        if (task.getScheduledFor() != null) {
+            removeScheduled(List.of(task.getTaskId()));
+        }
+        logger.info("Removed task {} from in-memory queue", task.getTaskId());
+    }
+
+    @Override
+    public void removeAll(Collection<WorkTask> tasks) {
+        List<String> scheduledIds = new ArrayList<>();
+        for (WorkTask task : tasks) {
+            Lane lane = lanes.get(QueueKeys.of(task.getWarehouseId(), task.getZone(), task.getType()).queue());
+            if (lane != null) {
+                lane.remove(task.getTaskId());
+            }
+            if (task.getScheduledFor() != null) {
+                scheduledIds.add(task.getTaskId());
+            }
+        }
+        if (!scheduledIds.isEmpty()) {
+            removeScheduled(scheduledIds);
+        }
+        logger.debug("Removed {} tasks from in-memory queues", tasks.size());
+    }
+
+    @Override
+    public int reprioritize(Collection<TaskUrgency> updates) {
+        double agingFactor = properties.getAgingFactor();
+        double urgencyWeight = properties.getReprioritize().getUrgencyWeight();
+        int moved = 0;
+        for (TaskUrgency update : updates) {
+            WorkTask task = update.task();
+            Lane lane = lanes.get(QueueKeys.of(task.getWarehouseId(), task.getZone(), task.getType()).queue());
+            if (lane != null && lane.rescore(task.getTaskId(),
+                    QueueScores.storedScore(task, agingFactor, update.urgency(), urgencyWeight))) {
+                moved++;
+            }
+        }
+        logger.debug("Re-scored {} of {} queued tasks", moved, updates.size());
+        return moved;
+    }
+
+    @Override
+    public int requeueExpiredLeases(Instant now) {
+        return 0;
+    }
+
+    @Override
+    public QueueStatus getQueueStatus(String warehouseId, String zone, TaskType type) {
+        String queueKey = QueueKeys.of(warehouseId, zone, type).queue();
+        Lane lane = lanes.get(queueKey);
+        return lane != null ? lane.status() : new QueueStatus(queueKey, warehouseId, zone, type, 0, null, null, null);
+    }
+
+    @Override
+    public List<QueueStatus> getAllQueueStatus(String warehouseId) {
+        List<QueueStatus> statuses = new ArrayList<>();
+        for (Lane lane : lanes.values()) {
+            if (lane.warehouseId.equals(warehouseId)) {
+                statuses.add(lane.status());
+            }
+        }
+        return statuses;
+    }
+
+    @Override
+    public Set<String> getWarehouseIds() {
+        Set<String> warehouses = new HashSet<>();
+        lanes.values().forEach(lane -> warehouses.add(lane.warehouseId));
+        return warehouses;
+    }
+
+    @Override
+    public int getQueueDepth(String warehouseId, String zone, TaskType type) {
+        Lane lane = lanes.get(QueueKeys.of(warehouseId, zone, type).queue());
+        return lane != null ? lane.index.size() : 0;
+    }
+
+    @Override
+    public int getInflightCount(String warehouseId, String zone, TaskType type) {
+        return 0;
+    }
+
+    @Override
+    public Optional<String> peek(String warehouseId, String zone, TaskType type) {
+        Lane lane = lanes.get(QueueKeys.of(warehouseId, zone, type).queue());
+        Entry head = lane != null ? firstOrNull(lane.byScore) : null;
+        return head != null ? Optional.of(head.taskId()) : Optional.empty();
+    }
+
+    @Override
+    public List<String> peek(String warehouseId, String zone, Set<TaskType> types, int limitPerQueue) {
+        List<String> taskIds = new ArrayList<>();
+        for (TaskType type : types) {
+            Lane lane = lanes.get(QueueKeys.of(warehouseId, zone, type).queue());
+            if (lane == null) {
+                continue;
+            }
+            int taken = 0;
+            for (Iterator<Entry> it = lane.byScore.iterator(); it.hasNext() && taken < limitPerQueue; taken++) {
+                taskIds.add(it.next().taskId());
+            }
+        }
+        return taskIds;
+    }
+
+    @Override
+    public void clearQueue(String warehouseId, String zone, TaskType type) {
+        String queueKey = QueueKeys.of(warehouseId, zone, type).queue();
+        lanes.remove(queueKey);
+        logger.warn("Cleared in-memory queue {}", queueKey);
+    }
+
+    private Lane lane(String warehouseId, String zone, TaskType type) {
+        return lanes.computeIfAbsent(QueueKeys.of(warehouseId, zone, type).queue(),
+                key -> new Lane(key, warehouseId, zone, type));
+    }
+
+    private Entry newEntry(WorkTask task) {
+        Long deadline = QueueScores.deadlineMillis(task);
+        return new Entry(
+                task.getTaskId(),
+                QueueScores.storedScore(task, properties.getAgingFactor()),
+                deadline != null ? deadline : Long.MAX_VALUE,
+                System.currentTimeMillis(),
+                sequence.incrementAndGet()
+        );
+    }
+
+    private void putScheduled(Scheduled entry) {
+        Scheduled previous = scheduledIndex.put(entry.taskId(), entry);
+        if (previous != null) {
+            scheduled.remove(previous);
+        }
+        scheduled.add(entry);
+    }
+
+    private double effectiveScore(Entry entry, long now) {
+        return QueueScores.effectiveScore(entry.score(), properties.getAgingFactor(), now, entry.deadline() <= now);
+    }
+
+    /**
+     * Head of a skip list without the first()/isEmpty() race of concurrent removal
+     */
+    private static Entry firstOrNull(ConcurrentSkipListSet<Entry> entries) {
+        Iterator<Entry> iterator = entries.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Queued task; seq breaks ties so equal scores keep FIFO order
+     */
+    private record Entry(String taskId, double score, long deadline, long enqueuedAt, long seq) {
+
+        Entry withEnqueuedAt(long originalEnqueuedAt) {
+            return new Entry(taskId, score, deadline, originalEnqueuedAt, seq);
+        }
+
+        Entry withScore(double newScore) {
+            return new Entry(taskId, newScore, deadline, enqueuedAt, seq);
+        }
+    }
+
+    /**
+     * Task held back until releaseAt (epoch millis)
+     */
+    private record Scheduled(String taskId, long releaseAt, long seq) {
+    }
+
+    private static final class Lane {
+        private static final Comparator<Entry> BY_SCORE =
+                Comparator.comparingDouble(Entry::score).thenComparingLong(Entry::seq);
+        private static final Comparator<Entry> BY_DEADLINE =
+                Comparator.comparingLong(Entry::deadline).thenComparingLong(Entry::seq);
+        private static final Comparator<Entry> BY_ENQUEUED =
+                Comparator.comparingLong(Entry::enqueuedAt).thenComparingLong(Entry::seq);
+
+        private final String queueKey;
+        private final String warehouseId;
+        private final String zone;
+        private final TaskType type;
+        private final ConcurrentSkipListSet<Entry> byScore = new ConcurrentSkipListSet<>(BY_SCORE);
+        private final ConcurrentSkipListSet<Entry> byDeadline = new ConcurrentSkipListSet<>(BY_DEADLINE);
+        private final ConcurrentSkipListSet<Entry> byEnqueued = new ConcurrentSkipListSet<>(BY_ENQUEUED);
+        private final ConcurrentMap<String, Entry> index = new ConcurrentHashMap<>();
+
+        private Lane(String queueKey, String warehouseId, String zone, TaskType type) {
+            this.queueKey = queueKey;
+            this.warehouseId = warehouseId;
+            this.zone = zone;
+            this.type = type;
+        }
+
+        /**
+         * Add or re-score a task (ZADD semantics); a re-scored task keeps its enqueue time
+         */
+        void add(Entry entry) {
+            Entry previous = index.get(entry.taskId());
+            if (previous != null) {
+                entry = entry.withEnqueuedAt(previous.enqueuedAt());
+            }
+            previous = index.put(entry.taskId(), entry);
+            if (previous != null) {
+                byScore.remove(previous);
+                byDeadline.remove(previous);
+                byEnqueued.remove(previous);
+            }
+            byScore.add(entry);
+            byEnqueued.add(entry);
+            if (entry.deadline() != Long.MAX_VALUE) {
+                byDeadline.add(entry);
+            }
+        }
+
+        /**
+         * Take ownership of an entry; false if another worker claimed it first
+         */
+        boolean claim(Entry entry) {
+            if (!byScore.remove(entry)) {
+                return false;
+            }
+            byDeadline.remove(entry);
+            byEnqueued.remove(entry);
+            index.remove(entry.taskId(), entry);
+            return true;
+        }
+
+        /**
+         * Move a waiting task to a new score (ZADD XX semantics); false if it is not waiting or unchanged
+         * Taking the old entry out of byScore first claims it, so a concurrent dequeue and re-score never both win
+         */
+        boolean rescore(String taskId, double score) {
+            Entry previous = index.get(taskId);
+            if (previous == null || QueueScores.sameScore(previous.score(), score) || !byScore.remove(previous)) {
+                return false;
+            }
+            byDeadline.remove(previous);
+            byEnqueued.remove(previous);
+            Entry updated = previous.withScore(score);
+            if (!index.replace(taskId, previous, updated)) {
+                return false;
+            }
+            byScore.add(updated);
+            byEnqueued.add(updated);
+            if (updated.deadline() != Long.MAX_VALUE) {
+                byDeadline.add(updated);
+            }
+            return true;
+        }
+
+        void remove(String taskId) {
+            Entry entry = index.remove(taskId);
+            if (entry != null) {
+                byScore.remove(entry);
+                byDeadline.remove(entry);
+                byEnqueued.remove(entry);
+            }
+        }
+
+        QueueStatus status() {
+            Entry head = firstOrNull(byScore);
+            Entry oldest = firstOrNull(byEnqueued);
+            return new QueueStatus(queueKey, warehouseId, zone, type, index.size(),
+                    head != null ? head.taskId() : null,
+                    oldest != null ? oldest.taskId() : null,
+                    oldest != null ? Instant.ofEpochMilli(oldest.enqueuedAt()) : null);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-local near-cache of queues known to be empty
+ * Dequeue skips cached-empty queues and makes no Redis call at all when every
+ * eligible queue is cached empty. Entries are dropped when any instance
+ * publishes a queue key on {@link #CHANNEL} (enqueue, lease requeue), and
+ * expire after task.queue.head-cache.empty-ttl to bound staleness if a
+ * message is missed
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.queue", name = "backend", havingValue = "redis", matchIfMissing = true)
+public class QueueHeadCache implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueHeadCache.class);
+
+    /**
+     * Pub/sub channel carrying the key of every queue that gained tasks
+     */
+    public static final String CHANNEL = "task:queue:events";
+
+    private final ConcurrentMap<String, Long> emptyUntil = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long emptyTtlMillis;
+
+    public QueueHeadCache(TaskQueueProperties properties) {
+        this.enabled = properties.getHeadCache().isEnabled();
+        this.emptyTtlMillis = properties.getHeadCache().getEmptyTtl().toMillis();
+    }
+
+    /**
+     * True if the queue was seen empty and nothing has been enqueued to it since
+     */
+    public boolean isKnownEmpty(String queueKey) {
+        Long until = emptyUntil.get(queueKey);
+        if (until == null) {
+            return false;
+        }
+        if (until > System.currentTimeMillis()) {
+            return true;
+        }
+        emptyUntil.remove(queueKey, until);
+        return false;
+    }
+
+    public void markEmpty(String queueKey) {
+        if (enabled && emptyTtlMillis > 0) {
+            emptyUntil.put(queueKey, System.currentTimeMillis() + emptyTtlMillis);
+        }
+    }
+
+    public void invalidate(String queueKey) {
+        emptyUntil.remove(queueKey);
+    }
+
+    public void clear() {
+        emptyUntil.clear();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String queueKey = new String(message.getBody(), StandardCharsets.UTF_8);
+        logger.trace("Queue {} gained tasks, dropping cached state", queueKey);
+        invalidate(queueKey);
+    }
+}
@@ -0,0 +1,47 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.domain.valueobject.TaskType;
+
+/**
+ * Redis key layout for queue keys (task.queue.key-layout)
+ * Redis Cluster places keys by the {hash tag} in their name; keys touched by
+ * one script must share a slot, so the tag decides which queues can be
+ * dequeued from atomically and how queues spread across shards
+ */
+public enum QueueKeyLayout {
+
+    /**
+     * task:queue:WH:ZONE:TYPE - untagged, standalone Redis only
+     */
+    LEGACY,
+
+    /**
+     * task:queue:{WH}:ZONE:TYPE - a warehouse's queues live on one shard
+     */
+    WAREHOUSE,
+
+    /**
+     * task:queue:{WH:ZONE}:TYPE - each zone on its own slot, spreading busy warehouses
+     */
+    ZONE;
+
+    String suffix(String warehouseId, String zone, TaskType type) {
+        return switch (this) {
+            case LEGACY -> warehouseId + ":" + zone + ":" + type.name();
+            case WAREHOUSE -> "{" + warehouseId + "}:" + zone + ":" + type.name();
+            case ZONE -> "{" + warehouseId + ":" + zone + "}:" + type.name();
+        };
+    }
+
+    /**
+     * SCAN pattern matching every queue key of a warehouse in this layout; "*" matches every warehouse
+     * Patterns can also match keys of other layouts, so check matches with {@link QueueKeys#parse}
+     */
+    String queuePattern(String warehouseId) {
+        return switch (this) {
+            case LEGACY -> QueueKeys.QUEUE_PREFIX + warehouseId + ":*";
+            case WAREHOUSE -> QueueKeys.QUEUE_PREFIX + "{" + warehouseId + "}:*";
+            case ZONE -> QueueKeys.QUEUE_PREFIX + "{" + warehouseId + ":*";
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves queue keys from one {@link QueueKeyLayout} to another
+ * Runs at startup when task.queue.migrate-keys-from is set. Keys are copied
+ * member by member rather than RENAMEd, since source and target may live in
+ * different cluster slots; only copied members are removed from the source,
+ * so tasks written to old keys by not-yet-upgraded instances are picked up
+ * by the next run. Source queues are found by SCAN over the source layout,
+ * not only through the warehouse registry, so queues written before the
+ * registry existed are moved too. Migration is idempotent.
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.queue", name = "migrate-keys-from")
+public class QueueKeyMigrator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueKeyMigrator.class);
+    private static final int BATCH_SIZE = 1000;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TaskQueueProperties properties;
+
+    public QueueKeyMigrator(RedisTemplate<String, String> redisTemplate, TaskQueueProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate(properties.getMigrateKeysFrom(), properties.getKeyLayout());
+    }
+
+    /**
+     * Move every queue found in one layout to another
+     * Returns the number of queue entries moved
+     */
+    public int migrate(QueueKeyLayout from, QueueKeyLayout to) {
+        if (from == null || from == to) {
+            return 0;
+        }
+
+        Set<String> sourceQueueKeys = findQueueKeys(from);
+        if (sourceQueueKeys.isEmpty()) {
+            return 0;
+        }
+
+        logger.info("Migrating {} queues from {} to {} layout", sourceQueueKeys.size(), from, to);
+        int moved = 0;
+
+        for (String sourceQueueKey : sourceQueueKeys) {
+            QueueKeys.QueueId id = QueueKeys.parse(sourceQueueKey).orElseThrow();
+            QueueKeys source = id.keys(from);
+            QueueKeys target = id.keys(to);
+
+            int queued = moveSortedSet(source.queue(), target.queue());
+            moveSortedSet(source.inflight(), target.inflight());
+            moveSortedSet(source.deadlines(), target.deadlines());
+            moveSortedSet(source.enqueued(), target.enqueued());
+            moveHash(source.leases(), target.leases());
+
+            // Register the queue and its warehouse, which queues older than the registry never were
+            String registryKey = QueueKeys.registryKey(id.warehouseId());
+            redisTemplate.opsForSet().add(registryKey, target.queue());
+            redisTemplate.opsForSet().remove(registryKey, source.queue());
+            redisTemplate.opsForSet().add(QueueKeys.WAREHOUSES_KEY, id.warehouseId());
+            moved += queued;
+
+            logger.info("Migrated {} queued tasks from {} to {}", queued, source.queue(), target.queue());
+        }
+
+        logger.info("Queue key migration complete: {} tasks moved", moved);
+        return moved;
+    }
+
+    private int moveSortedSet(String sourceKey, String targetKey) {
+        int moved = 0;
+        while (true) {
+            Set<ZSetOperations.TypedTuple<String>> batch =
+                    redisTemplate.opsForZSet().rangeWithScores(sourceKey, 0, BATCH_SIZE - 1);
+            if (batch == null || batch.isEmpty()) {
+                return moved;
+            }
+
+            redisTemplate.opsForZSet().add(targetKey, batch);
+            Object[] members = batch.stream().map(ZSetOperations.TypedTuple::getValue).toArray();
+            redisTemplate.opsForZSet().remove(sourceKey, members);
+            moved += batch.size();
+        }
+    }
+
+    private void moveHash(String sourceKey, String targetKey) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(sourceKey);
+        if (entries.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForHash().putAll(targetKey, entries);
+        redisTemplate.opsForHash().delete(sourceKey, entries.keySet().toArray());
+    }
+
+    /**
+     * Source-layout queue keys of every warehouse, from the registries and a SCAN for unregistered ones
+     */
+    private Set<String> findQueueKeys(QueueKeyLayout layout) {
+        Set<String> keys = new LinkedHashSet<>();
+        Set<String> warehouses = redisTemplate.opsForSet().members(QueueKeys.WAREHOUSES_KEY);
+        for (String warehouseId : warehouses != null ? warehouses : Set.<String>of()) {
+            Set<String> registered = redisTemplate.opsForSet().members(QueueKeys.registryKey(warehouseId));
+            if (registered != null) {
+                registered.stream()
+                        .filter(key -> isQueueKey(layout, key))
+                        .forEach(keys::add);
+            }
+        }
+
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(layout.queuePattern("*"))
+                .count(BATCH_SIZE)
+                .build();
+        List<String> scanned = redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+            List<String> found = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = new String(cursor.next(), StandardCharsets.UTF_8);
+                    if (isQueueKey(layout, key)) {
+                        found.add(key);
+                    }
+                }
+            }
+            return found;
+        });
+        keys.addAll(scanned != null ? scanned : Collections.emptyList());
+        return keys;
+    }
+
+    /**
+     * True for a queue key written in the given layout; the patterns of different layouts overlap
+     */
+    private static boolean isQueueKey(QueueKeyLayout layout, String key) {
+        return QueueKeys.parse(key).map(id -> id.keys(layout).queue().equals(key)).orElse(false);
+    }
+}
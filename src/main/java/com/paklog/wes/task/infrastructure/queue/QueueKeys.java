@@ -0,0 +1,84 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.domain.valueobject.TaskType;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Redis keys backing a single warehouse/zone/type queue
+ * queue     - sorted set of waiting task IDs scored by priority
+ * inflight  - sorted set of leased task IDs scored by lease expiry (epoch millis)
+ * leases    - hash of leased task ID to its original queue score
+ * deadlines - sorted set of task IDs scored by deadline (epoch millis), for overdue boosting
+ * enqueued  - sorted set of waiting task IDs scored by enqueue time (epoch millis), for wait metrics
+ * All five keys share the same hash tag under a tagged {@link QueueKeyLayout}
+ */
+record QueueKeys(
+        String queue,
+        String inflight,
+        String leases,
+        String deadlines,
+        String enqueued
+) {
+    static final String QUEUE_PREFIX = "task:queue:";
+    static final String INFLIGHT_PREFIX = "task:inflight:";
+    static final String LEASES_PREFIX = "task:leases:";
+    static final String DEADLINES_PREFIX = "task:deadlines:";
+    static final String ENQUEUED_PREFIX = "task:enqueued:";
+    static final String REGISTRY_PREFIX = "task:queues:";
+    static final String WAREHOUSES_KEY = "task:warehouses";
+    static final String DELAYED_KEY = "task:delayed";
+
+    static QueueKeys of(String warehouseId, String zone, TaskType type) {
+        return of(QueueKeyLayout.LEGACY, warehouseId, zone, type);
+    }
+
+    static QueueKeys of(QueueKeyLayout layout, String warehouseId, String zone, TaskType type) {
+        String suffix = layout.suffix(warehouseId, zone, type);
+        return new QueueKeys(
+                QUEUE_PREFIX + suffix,
+                INFLIGHT_PREFIX + suffix,
+                LEASES_PREFIX + suffix,
+                DEADLINES_PREFIX + suffix,
+                ENQUEUED_PREFIX + suffix
+        );
+    }
+
+    static String registryKey(String warehouseId) {
+        return REGISTRY_PREFIX + warehouseId;
+    }
+
+    /**
+     * Parse a queue key in any layout, e.g. task:queue:WH-001:ZONE-A:PICK,
+     * task:queue:{WH-001}:ZONE-A:PICK or task:queue:{WH-001:ZONE-A}:PICK
+     */
+    static Optional<QueueId> parse(String queueKey) {
+        if (!queueKey.startsWith(QUEUE_PREFIX)) {
+            return Optional.empty();
+        }
+        String[] parts = queueKey.replace("{", "").replace("}", "").split(":");
+        if (parts.length != 5) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new QueueId(parts[2], parts[3], TaskType.valueOf(parts[4])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    List<String> asList() {
+        return List.of(queue, inflight, leases, deadlines, enqueued);
+    }
+
+    /**
+     * Layout-independent identity of a queue
+     */
+    record QueueId(String warehouseId, String zone, TaskType type) {
+
+        QueueKeys keys(QueueKeyLayout layout) {
+            return QueueKeys.of(layout, warehouseId, zone, type);
+        }
+    }
+}
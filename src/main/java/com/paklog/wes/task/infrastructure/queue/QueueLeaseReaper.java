@@ -0,0 +1,39 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Background reaper for reliable-queue leases
+ * Tasks dequeued but never acknowledged (e.g. the pod died before assignment
+ * was persisted) are returned to their queue once the visibility timeout passes
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.queue.lease", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueueLeaseReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueLeaseReaper.class);
+
+    private final TaskQueue taskQueue;
+
+    public QueueLeaseReaper(TaskQueue taskQueue) {
+        this.taskQueue = taskQueue;
+    }
+
+    @Scheduled(fixedDelayString = "${task.queue.lease.reap-interval:PT5S}")
+    public void requeueExpiredLeases() {
+        try {
+            int requeued = taskQueue.requeueExpiredLeases(Instant.now());
+            if (requeued > 0) {
+                logger.info("Lease reaper requeued {} tasks", requeued);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to requeue expired leases", e);
+        }
+    }
+}
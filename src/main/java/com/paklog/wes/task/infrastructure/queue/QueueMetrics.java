@@ -0,0 +1,110 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer instrumentation for task queues, tagged by warehouse, zone and type
+ * task.queue.depth       - gauge of waiting tasks
+ * task.queue.oldest.age  - gauge of how long the oldest waiting task has waited
+ * task.queue.wait        - histogram of enqueue-to-dequeue wait time
+ * task.queue.reprioritize.scored / .moved - counters of tasks re-scored per warehouse
+ *                          and of those whose queue position changed
+ * Gauges are refreshed from polled {@link QueueStatus} snapshots; wait times are
+ * recorded by the backends at dequeue
+ */
+@Component
+public class QueueMetrics {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, QueueGauges> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> waitTimers = new ConcurrentHashMap<>();
+
+    public QueueMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordWait(String warehouseId, String zone, TaskType type, Duration wait) {
+        if (wait.isNegative()) {
+            return;
+        }
+        waitTimers.computeIfAbsent(warehouseId + ":" + zone + ":" + type.name(),
+                        key -> Timer.builder("task.queue.wait")
+                                .description("Time tasks wait in queue before being dequeued")
+                                .tags(tags(warehouseId, zone, type))
+                                .publishPercentileHistogram()
+                                .register(registry))
+                .record(wait);
+    }
+
+    public void recordReprioritization(String warehouseId, int scored, int moved) {
+        Counter.builder("task.queue.reprioritize.scored")
+                .description("Queued tasks re-scored by the re-prioritizer")
+                .tag("warehouse", warehouseId)
+                .register(registry)
+                .increment(scored);
+        Counter.builder("task.queue.reprioritize.moved")
+                .description("Queued tasks whose score the re-prioritizer changed")
+                .tag("warehouse", warehouseId)
+                .register(registry)
+                .increment(moved);
+    }
+
+    /**
+     * Publish a snapshot of queues; known queues missing from it are reported empty
+     */
+    public void update(Collection<QueueStatus> statuses, Instant now) {
+        Set<String> seen = new HashSet<>();
+        for (QueueStatus status : statuses) {
+            seen.add(status.queueKey());
+            gauges.computeIfAbsent(status.queueKey(), key -> new QueueGauges(status))
+                    .set(status.depth(), status.oldestWait(now).toMillis());
+        }
+        gauges.forEach((queueKey, queueGauges) -> {
+            if (!seen.contains(queueKey)) {
+                queueGauges.set(0, 0);
+            }
+        });
+    }
+
+    private static Tags tags(String warehouseId, String zone, TaskType type) {
+        return Tags.of("warehouse", warehouseId, "zone", String.valueOf(zone), "type", type.name());
+    }
+
+    private final class QueueGauges {
+        private final AtomicLong depth = new AtomicLong();
+        private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+        private QueueGauges(QueueStatus status) {
+            Tags tags = tags(status.warehouseId(), status.zone(), status.type());
+            Gauge.builder("task.queue.depth", depth, AtomicLong::get)
+                    .description("Tasks waiting in queue")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("task.queue.oldest.age", oldestAgeMillis, value -> value.get() / 1000.0)
+                    .description("Time the oldest waiting task has been queued")
+                    .baseUnit("seconds")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        private void set(long depthValue, long oldestAge) {
+            depth.set(depthValue);
+            oldestAgeMillis.set(oldestAge);
+        }
+    }
+}
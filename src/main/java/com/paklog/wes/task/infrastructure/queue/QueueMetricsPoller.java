@@ -0,0 +1,42 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodically snapshots every queue into the {@link QueueMetrics} gauges
+ * Polling keeps gauge reads (every Prometheus scrape) off Redis; each warehouse
+ * costs one registry read and one pipelined round trip
+ */
+@Component
+public class QueueMetricsPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueMetricsPoller.class);
+
+    private final TaskQueue taskQueue;
+    private final QueueMetrics metrics;
+
+    public QueueMetricsPoller(TaskQueue taskQueue, QueueMetrics metrics) {
+        this.taskQueue = taskQueue;
+        this.metrics = metrics;
+    }
+
+    @Scheduled(fixedDelayString = "${task.queue.metrics.poll-interval:PT15S}")
+    public void refresh() {
+        try {
+            List<QueueStatus> statuses = new ArrayList<>();
+            for (String warehouseId : taskQueue.getWarehouseIds()) {
+                statuses.addAll(taskQueue.getAllQueueStatus(warehouseId));
+            }
+            metrics.update(statuses, Instant.now());
+        } catch (Exception e) {
+            logger.error("Failed to refresh queue metrics", e);
+        }
+    }
+}
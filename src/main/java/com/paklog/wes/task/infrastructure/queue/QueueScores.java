@@ -0,0 +1,72 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Queue score arithmetic shared by the queue backends
+ *
+ * A task's aged score at time t is {@code base - agingFactor * ageMinutes(t)}.
+ * Because the age term grows at the same rate for every task, ordering by
+ * {@code base + agingFactor * createdMinutes} is identical to ordering by the
+ * aged score at any instant. That value is what the sorted sets store: it never
+ * has to be rewritten, yet older tasks still climb the queue as time passes.
+ *
+ * Urgency from the TaskPriorityCalculator (SLA, carrier cut-off, customer tier)
+ * does not grow uniformly, so it is subtracted separately and refreshed by the
+ * {@link TaskReprioritizer}; tasks enqueued since its last pass carry no boost yet.
+ */
+final class QueueScores {
+
+    private static final double SCORE_TOLERANCE = 1e-6;
+
+    private QueueScores() {
+    }
+
+    /**
+     * Stable sorted-set score for a task
+     * Future-dated tasks age from their release time rather than their creation
+     */
+    static double storedScore(WorkTask task, double agingFactor) {
+        LocalDateTime agingFrom = task.getCreatedAt() != null ? task.getCreatedAt() : LocalDateTime.now();
+        if (task.getScheduledFor() != null && task.getScheduledFor().isAfter(agingFrom)) {
+            agingFrom = task.getScheduledFor();
+        }
+        return task.getBasePriorityScore() + agingFactor * (toEpochMillis(agingFrom) / 60000.0);
+    }
+
+    /**
+     * Stable score lowered by urgencyWeight points per point of urgency (0-1000, higher = more urgent)
+     */
+    static double storedScore(WorkTask task, double agingFactor, int urgency, double urgencyWeight) {
+        return storedScore(task, agingFactor) - urgencyWeight * urgency;
+    }
+
+    /**
+     * Whether two stored scores are equal once they have been through Redis
+     */
+    static boolean sameScore(double a, double b) {
+        return Math.abs(a - b) <= SCORE_TOLERANCE;
+    }
+
+    /**
+     * Aged score of a stored score at the given time, including the overdue bonus
+     */
+    static double effectiveScore(double storedScore, double agingFactor, long nowMillis, boolean overdue) {
+        double score = storedScore - agingFactor * (nowMillis / 60000.0);
+        return overdue ? score - WorkTask.OVERDUE_SCORE_BONUS : score;
+    }
+
+    /**
+     * Task deadline in epoch millis, or null when the task has none
+     */
+    static Long deadlineMillis(WorkTask task) {
+        return task.getDeadline() != null ? toEpochMillis(task.getDeadline()) : null;
+    }
+
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -2,8 +2,13 @@ package com.paklog.wes.task.infrastructure.queue;
 
 import com.paklog.wes.task.domain.valueobject.TaskType;
 
+import java.time.Duration;
+import java.time.Instant;
+
 /**
  * Queue status information
+ * headTaskId is the next task to be dequeued (best score); oldestTaskId is the
+ * task that has waited longest, enqueued at oldestEnqueuedAt
  */
 public record QueueStatus(
         String queueKey,
@@ -11,7 +16,9 @@ public record QueueStatus(
         String zone,
         TaskType type,
         int depth,
-        String oldestTaskId
+        String headTaskId,
+        String oldestTaskId,
+        Instant oldestEnqueuedAt
 ) {
     public boolean isEmpty() {
         return depth == 0;
@@ -20,4 +27,11 @@ public record QueueStatus(
     public boolean hasBacklog() {
         return depth > 10; // Configurable threshold
     }
+
+    /**
+     * How long the oldest waiting task has been queued, zero for an empty queue
+     */
+    public Duration oldestWait(Instant now) {
+        return oldestEnqueuedAt != null ? Duration.between(oldestEnqueuedAt, now) : Duration.ZERO;
+    }
 }
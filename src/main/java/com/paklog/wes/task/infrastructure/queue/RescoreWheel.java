@@ -0,0 +1,103 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel of task re-score times
+ * Time is cut into ticks; a task due at tick t waits in slot t mod slots and is
+ * handed out once the wheel has advanced to t. Tasks are parked at most one
+ * rotation ahead: one due later is handed out early for a re-check, so a task
+ * that left the queue meanwhile is dropped within a rotation rather than held
+ * until its far-off time. Scheduling a task again supersedes its earlier time:
+ * the old entry is dropped when its slot comes round, so each task has one live
+ * time. Scheduling and advancing are O(1) per task, independent of backlog size
+ */
+final class RescoreWheel {
+
+    private final long tickNanos;
+    private final List<List<Entry>> slots;
+    private final Map<String, Long> dueTicks = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param now start of the wheel, on the same time line as the scheduled times
+     */
+    RescoreWheel(Duration tick, int slotCount, long now) {
+        if (tick.isZero() || tick.isNegative() || slotCount < 1) {
+            throw new IllegalArgumentException("Wheel needs a positive tick and at least one slot");
+        }
+        this.tickNanos = tick.toNanos();
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = Math.floorDiv(now, tickNanos);
+    }
+
+    /**
+     * Hand the task out at the first tick at or after due, or after one rotation if that is sooner
+     * Times already passed fire on the next advance
+     */
+    synchronized void schedule(String taskId, long due) {
+        long tick = Math.min(Math.max(Math.ceilDiv(due, tickNanos), currentTick + 1), currentTick + slots.size());
+        Long previous = dueTicks.put(taskId, tick);
+        if (previous == null || previous != tick) {
+            slots.get(slot(tick)).add(new Entry(taskId, tick));
+        }
+    }
+
+    synchronized void cancel(String taskId) {
+        dueTicks.remove(taskId);
+    }
+
+    /**
+     * Move the wheel to now and return the tasks that fell due, each once
+     * A gap of more than one rotation visits every slot once rather than every tick
+     */
+    synchronized List<String> advance(long now) {
+        long target = Math.floorDiv(now, tickNanos);
+        if (target <= currentTick) {
+            return List.of();
+        }
+
+        List<String> due = new ArrayList<>();
+        long steps = Math.min(target - currentTick, slots.size());
+        for (long step = 1; step <= steps; step++) {
+            List<Entry> slot = slots.get(slot(currentTick + step));
+            int kept = 0;
+            for (Entry entry : slot) {
+                Long live = dueTicks.get(entry.taskId());
+                if (live == null || live != entry.tick()) {
+                    continue; // cancelled or superseded
+                }
+                if (entry.tick() <= target) {
+                    due.add(entry.taskId());
+                    dueTicks.remove(entry.taskId());
+                } else {
+                    slot.set(kept++, entry);
+                }
+            }
+            slot.subList(kept, slot.size()).clear();
+        }
+        currentTick = target;
+        return due;
+    }
+
+    /**
+     * Number of tasks with a live re-score time
+     */
+    synchronized int size() {
+        return dueTicks.size();
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.size());
+    }
+
+    private record Entry(String taskId, long tick) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.application.service.TaskManagementService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Background promoter for future-dated tasks
+ * Releases due tasks from the scheduled set into their live queues in batches,
+ * draining the backlog each run so a burst of tasks due on the hour is promoted
+ * in one pass rather than trickling out one interval at a time
+ */
+@Component
+public class ScheduledTaskPromoter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledTaskPromoter.class);
+
+    private final TaskManagementService taskService;
+    private final TaskQueueProperties properties;
+
+    public ScheduledTaskPromoter(TaskManagementService taskService, TaskQueueProperties properties) {
+        this.taskService = taskService;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${task.queue.delayed.promote-interval:PT5S}")
+    public void promoteDueTasks() {
+        TaskQueueProperties.Delayed delayed = properties.getDelayed();
+        Instant now = Instant.now();
+        int total = 0;
+
+        try {
+            int promoted;
+            do {
+                promoted = taskService.promoteDueTasks(now, delayed.getClaimTimeout(), delayed.getPromoteBatchSize());
+                total += promoted;
+            } while (promoted == delayed.getPromoteBatchSize());
+        } catch (Exception e) {
+            logger.error("Failed to promote scheduled tasks", e);
+        }
+
+        if (total > 0) {
+            logger.info("Promoted {} scheduled tasks", total);
+        }
+    }
+}
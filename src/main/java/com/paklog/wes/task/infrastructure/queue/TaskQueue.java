@@ -0,0 +1,116 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Priority queue of tasks awaiting assignment, partitioned by warehouse, zone and type
+ * Lower score = higher priority; the backend is selected with task.queue.backend
+ */
+public interface TaskQueue {
+
+    /**
+     * Enqueue a task for assignment
+     */
+    void enqueue(WorkTask task);
+
+    /**
+     * Enqueue a batch of tasks (e.g. a released wave)
+     */
+    void enqueueAll(Collection<WorkTask> tasks);
+
+    /**
+     * Hold tasks back until their scheduledFor release time
+     * Scheduled tasks are not dequeued until promoted into their live queue
+     */
+    void schedule(Collection<WorkTask> tasks);
+
+    /**
+     * Claim up to limit scheduled task IDs whose release time is at or before now
+     * A claim hides the tasks from other promoters for claimTimeout; tasks not
+     * released with {@link #removeScheduled(Collection)} by then are claimed again
+     */
+    List<String> claimDueScheduled(Instant now, Duration claimTimeout, int limit);
+
+    /**
+     * Drop tasks from the scheduled set (after promotion or when abandoned)
+     */
+    void removeScheduled(Collection<String> taskIds);
+
+    /**
+     * Atomically dequeue the highest priority task across the worker's eligible queues
+     * Returns task ID if found, empty if no tasks available
+     */
+    Optional<String> dequeue(String workerId, String warehouseId, String zone, Set<TaskType> capabilities);
+
+    /**
+     * Remove a task from its queue (or the scheduled set), acknowledging any outstanding lease
+     */
+    void remove(WorkTask task);
+
+    /**
+     * Remove a batch of tasks from their queues (e.g. after a bulk assignment)
+     */
+    void removeAll(Collection<WorkTask> tasks);
+
+    /**
+     * Re-score waiting tasks with their current urgency (see {@link QueueScores})
+     * Tasks no longer waiting (dequeued, leased or removed) are left alone and only
+     * changed scores are written; returns the number of tasks that moved
+     */
+    int reprioritize(Collection<TaskUrgency> updates);
+
+    /**
+     * Return tasks whose lease expired before the given instant to their queue
+     * Backends without leases return 0
+     */
+    int requeueExpiredLeases(Instant now);
+
+    /**
+     * Get queue status for a specific queue
+     */
+    QueueStatus getQueueStatus(String warehouseId, String zone, TaskType type);
+
+    /**
+     * Get status of all queues for a warehouse
+     */
+    List<QueueStatus> getAllQueueStatus(String warehouseId);
+
+    /**
+     * IDs of warehouses that have ever had a queue
+     */
+    Set<String> getWarehouseIds();
+
+    /**
+     * Get queue depth (number of tasks) for a specific queue
+     */
+    int getQueueDepth(String warehouseId, String zone, TaskType type);
+
+    /**
+     * Get the number of leased (dequeued but unacknowledged) tasks for a specific queue
+     */
+    int getInflightCount(String warehouseId, String zone, TaskType type);
+
+    /**
+     * Peek at the next task without removing it
+     */
+    Optional<String> peek(String warehouseId, String zone, TaskType type);
+
+    /**
+     * Peek at up to limitPerQueue head tasks of each of the given queues
+     * IDs are grouped by queue, best first within each queue
+     */
+    List<String> peek(String warehouseId, String zone, Set<TaskType> types, int limitPerQueue);
+
+    /**
+     * Clear all tasks from a queue
+     */
+    void clearQueue(String warehouseId, String zone, TaskType type);
+}
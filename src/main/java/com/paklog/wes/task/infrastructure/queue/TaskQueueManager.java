@@ -4,139 +4,523 @@ import com.paklog.wes.task.domain.aggregate.WorkTask;
 import com.paklog.wes.task.domain.valueobject.TaskType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * Task queue management using Redis sorted sets
+ * Redis task queue backend using sorted sets
  * Tasks are queued by priority score (lower score = higher priority)
+ * Every queue key is also recorded in a per-warehouse registry set, so
+ * listing a warehouse's queues never needs a keyspace scan
+ * In reliable mode a dequeued task is leased into a per-queue in-flight set
+ * until assignment acknowledges it; expired leases are requeued
+ * Scores are stored pre-aged (see {@link QueueScores}) and the dequeue script
+ * applies the configured aging factor and overdue boost at read time
+ * Queues seen empty are remembered in a {@link QueueHeadCache}; writers publish
+ * the queue key on its channel so every instance drops the cached state
+ * Key names follow the configured {@link QueueKeyLayout}; tagged layouts keep a
+ * zone's queues in one Redis Cluster slot so the dequeue script stays single-slot
+ * Enqueue times are kept in a companion sorted set, giving the true oldest task
+ * for status and the wait time of each dequeued task for {@link QueueMetrics}
+ * Re-prioritization reads current scores in one pipeline and rewrites the
+ * changed ones with ZADD XX, which never resurrects a task dequeued meanwhile
  */
 @Service
-public class TaskQueueManager {
+@ConditionalOnProperty(prefix = "task.queue", name = "backend", havingValue = "redis", matchIfMissing = true)
+public class TaskQueueManager implements TaskQueue {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskQueueManager.class);
-    private static final String QUEUE_PREFIX = "task:queue:";
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final int MAX_ZADD_MEMBERS = 1000;
+    private static final int MAX_OVERDUE_CANDIDATES = 32;
 
-    private final RedisTemplate<String, String> redisTemplate;
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DEQUEUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-dequeue.lua"), List.class);
+
+    private static final RedisScript<Long> REQUEUE_EXPIRED_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-requeue-expired.lua"), Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_DUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-claim-due.lua"), List.class);
 
-    public TaskQueueManager(RedisTemplate<String, String> redisTemplate) {
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TaskQueueProperties properties;
+    private final QueueHeadCache headCache;
+    private final QueueMetrics metrics;
+
+    public TaskQueueManager(
+            RedisTemplate<String, String> redisTemplate,
+            TaskQueueProperties properties,
+            QueueHeadCache headCache,
+            QueueMetrics metrics) {
         this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.headCache = headCache;
+        this.metrics = metrics;
     }
 
     /**
      * Enqueue a task for assignment
      * Tasks are scored by priority, with lower scores getting higher priority
+     * Any outstanding lease on the task is dropped, since it is waiting again
      */
+    @Override
     public void enqueue(WorkTask task) {
-        String queueKey = buildQueueKey(task.getWarehouseId(), task.getZone(), task.getType());
-        double score = task.getPriorityScore();
+        QueueKeys keys = keys(task.getWarehouseId(), task.getZone(), task.getType());
+        String registryKey = buildRegistryKey(task.getWarehouseId());
+        double score = QueueScores.storedScore(task, properties.getAgingFactor());
+        Long deadline = QueueScores.deadlineMillis(task);
+        double enqueuedAt = System.currentTimeMillis();
 
         logger.debug("Enqueuing task {} to queue {} with score {}",
-                task.getTaskId(), queueKey, score);
+                task.getTaskId(), keys.queue(), score);
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForZSet().add(keys.queue(), task.getTaskId(), score);
+                ops.opsForZSet().addIfAbsent(keys.enqueued(), task.getTaskId(), enqueuedAt);
+                if (deadline != null) {
+                    ops.opsForZSet().add(keys.deadlines(), task.getTaskId(), deadline.doubleValue());
+                }
+                ops.opsForZSet().remove(keys.inflight(), task.getTaskId());
+                ops.opsForHash().delete(keys.leases(), task.getTaskId());
+                ops.opsForSet().add(registryKey, keys.queue());
+                ops.opsForSet().add(QueueKeys.WAREHOUSES_KEY, task.getWarehouseId());
+                ops.convertAndSend(QueueHeadCache.CHANNEL, keys.queue());
+                return null;
+            }
+        });
+        headCache.invalidate(keys.queue());
+
+        logger.info("Task {} enqueued to {}", task.getTaskId(), keys.queue());
+    }
+
+    /**
+     * Enqueue a batch of tasks (e.g. a released wave)
+     * Tasks are grouped by queue key and written as multi-member ZADDs in a
+     * single pipeline, so a wave costs a handful of round-trips rather than one per task
+     */
+    @Override
+    public void enqueueAll(Collection<WorkTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        double agingFactor = properties.getAgingFactor();
+        Map<String, Set<ZSetOperations.TypedTuple<String>>> tuplesByQueue = new LinkedHashMap<>();
+        Map<String, Set<ZSetOperations.TypedTuple<String>>> deadlinesByQueue = new LinkedHashMap<>();
+        Map<String, Set<ZSetOperations.TypedTuple<String>>> enqueuedByQueue = new LinkedHashMap<>();
+        double enqueuedAt = System.currentTimeMillis();
+        Map<String, Set<String>> queuesByWarehouse = new LinkedHashMap<>();
+
+        for (WorkTask task : tasks) {
+            QueueKeys keys = keys(task.getWarehouseId(), task.getZone(), task.getType());
+            tuplesByQueue.computeIfAbsent(keys.queue(), key -> new HashSet<>())
+                    .add(ZSetOperations.TypedTuple.of(task.getTaskId(), QueueScores.storedScore(task, agingFactor)));
+            enqueuedByQueue.computeIfAbsent(keys.enqueued(), key -> new HashSet<>())
+                    .add(ZSetOperations.TypedTuple.of(task.getTaskId(), enqueuedAt));
+            Long deadline = QueueScores.deadlineMillis(task);
+            if (deadline != null) {
+                deadlinesByQueue.computeIfAbsent(keys.deadlines(), key -> new HashSet<>())
+                        .add(ZSetOperations.TypedTuple.of(task.getTaskId(), deadline.doubleValue()));
+            }
+            queuesByWarehouse.computeIfAbsent(task.getWarehouseId(), key -> new HashSet<>())
+                    .add(keys.queue());
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                tuplesByQueue.forEach((queueKey, tuples) -> {
+                    for (Set<ZSetOperations.TypedTuple<String>> chunk : partition(tuples, MAX_ZADD_MEMBERS)) {
+                        ops.opsForZSet().add(queueKey, chunk);
+                    }
+                });
+                deadlinesByQueue.forEach((deadlinesKey, tuples) -> {
+                    for (Set<ZSetOperations.TypedTuple<String>> chunk : partition(tuples, MAX_ZADD_MEMBERS)) {
+                        ops.opsForZSet().add(deadlinesKey, chunk);
+                    }
+                });
+                enqueuedByQueue.forEach((enqueuedKey, tuples) -> {
+                    for (Set<ZSetOperations.TypedTuple<String>> chunk : partition(tuples, MAX_ZADD_MEMBERS)) {
+                        ops.opsForZSet().addIfAbsent(enqueuedKey, chunk);
+                    }
+                });
+                queuesByWarehouse.forEach((warehouseId, queueKeys) ->
+                        ops.opsForSet().add(buildRegistryKey(warehouseId), queueKeys.toArray(new String[0])));
+                ops.opsForSet().add(QueueKeys.WAREHOUSES_KEY, queuesByWarehouse.keySet().toArray(new String[0]));
+                tuplesByQueue.keySet().forEach(queueKey -> ops.convertAndSend(QueueHeadCache.CHANNEL, queueKey));
+                return null;
+            }
+        });
+        tuplesByQueue.keySet().forEach(headCache::invalidate);
+
+        logger.info("Enqueued {} tasks across {} queues", tasks.size(), tuplesByQueue.size());
+    }
 
-        redisTemplate.opsForZSet().add(queueKey, task.getTaskId(), score);
+    /**
+     * Hold tasks in the shared delayed set, scored by release time
+     * The set is global rather than per queue, so one claim call serves every warehouse
+     */
+    @Override
+    public void schedule(Collection<WorkTask> tasks) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        for (WorkTask task : tasks) {
+            if (task.getScheduledFor() != null) {
+                tuples.add(ZSetOperations.TypedTuple.of(
+                        task.getTaskId(), (double) QueueScores.toEpochMillis(task.getScheduledFor())));
+            }
+        }
+        if (tuples.isEmpty()) {
+            return;
+        }
 
-        logger.info("Task {} enqueued to {}", task.getTaskId(), queueKey);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (Set<ZSetOperations.TypedTuple<String>> chunk : partition(tuples, MAX_ZADD_MEMBERS)) {
+                    ops.opsForZSet().add(QueueKeys.DELAYED_KEY, chunk);
+                }
+                return null;
+            }
+        });
+
+        logger.info("Scheduled {} tasks for delayed release", tuples.size());
+    }
+
+    @Override
+    public List<String> claimDueScheduled(Instant now, Duration claimTimeout, int limit) {
+        List<?> claimed = redisTemplate.execute(
+                CLAIM_DUE_SCRIPT,
+                List.of(QueueKeys.DELAYED_KEY),
+                String.valueOf(now.toEpochMilli()),
+                String.valueOf(limit),
+                String.valueOf(now.plus(claimTimeout).toEpochMilli())
+        );
+
+        if (claimed == null || claimed.isEmpty()) {
+            return List.of();
+        }
+        return claimed.stream().map(String::valueOf).toList();
+    }
+
+    @Override
+    public void removeScheduled(Collection<String> taskIds) {
+        if (!taskIds.isEmpty()) {
+            redisTemplate.opsForZSet().remove(QueueKeys.DELAYED_KEY, taskIds.toArray());
+        }
     }
 
     /**
      * Dequeue highest priority task from eligible queues
+     * The best-scored task across all eligible queues is selected and removed
+     * by a single server-side script, so concurrent workers never race on ZREM
+     * The script ages scores and boosts overdue tasks as of the time of the call
+     * In reliable mode the task is leased until {@link #remove(WorkTask)} acknowledges it
+     * Queues cached as empty are left out, and no script runs if all of them are
      * Returns task ID if found, empty if no tasks available
      */
+    @Override
     public Optional<String> dequeue(String workerId, String warehouseId, String zone, Set<TaskType> capabilities) {
-        List<String> eligibleQueues = getEligibleQueues(warehouseId, zone, capabilities);
+        List<QueueKeys> eligibleQueues = getEligibleQueues(warehouseId, zone, capabilities);
+        eligibleQueues.removeIf(queue -> headCache.isKnownEmpty(queue.queue()));
 
-        logger.debug("Worker {} checking queues: {}", workerId, eligibleQueues);
+        if (eligibleQueues.isEmpty()) {
+            logger.debug("All eligible queues for worker {} are known empty", workerId);
+            return Optional.empty();
+        }
 
-        for (String queueKey : eligibleQueues) {
-            // Get highest priority task (lowest score)
-            Set<String> taskIds = redisTemplate.opsForZSet().range(queueKey, 0, 0);
+        logger.debug("Worker {} checking queues: {}", workerId, eligibleQueues);
 
-            if (taskIds != null && !taskIds.isEmpty()) {
-                String taskId = taskIds.iterator().next();
+        List<String> keys = new ArrayList<>(eligibleQueues.size() * 5);
+        eligibleQueues.forEach(queue -> keys.addAll(queue.asList()));
+
+        long now = System.currentTimeMillis();
+        List<?> result = redisTemplate.execute(
+                DEQUEUE_SCRIPT,
+                keys,
+                String.valueOf(leaseExpiry(now)),
+                String.valueOf(now),
+                String.valueOf(properties.getAgingFactor()),
+                String.valueOf(WorkTask.OVERDUE_SCORE_BONUS),
+                String.valueOf(MAX_OVERDUE_CANDIDATES)
+        );
 
-                // Remove from queue atomically
-                Long removed = redisTemplate.opsForZSet().remove(queueKey, taskId);
+        if (result == null || result.size() < 2) {
+            logger.debug("No tasks available for worker {} in queues: {}", workerId, eligibleQueues);
+            eligibleQueues.forEach(queue -> headCache.markEmpty(queue.queue()));
+            return Optional.empty();
+        }
 
-                if (removed != null && removed > 0) {
-                    logger.info("Dequeued task {} from queue {} for worker {}",
-                            taskId, queueKey, workerId);
-                    return Optional.of(taskId);
-                }
+        String queueKey = String.valueOf(result.get(0));
+        String taskId = String.valueOf(result.get(1));
+        if (result.size() > 4) {
+            if (result.get(3) instanceof Number remaining && remaining.longValue() == 0) {
+                headCache.markEmpty(queueKey);
             }
+            if (result.get(4) instanceof List<?> emptyQueues) {
+                emptyQueues.forEach(emptyQueue -> headCache.markEmpty(String.valueOf(emptyQueue)));
+            }
+        }
+        if (result.size() > 5 && !String.valueOf(result.get(5)).isEmpty()) {
+            long enqueuedAt = (long) Double.parseDouble(String.valueOf(result.get(5)));
+            QueueKeys.parse(queueKey).ifPresent(id -> metrics.recordWait(
+                    id.warehouseId(), id.zone(), id.type(), Duration.ofMillis(now - enqueuedAt)));
         }
 
-        logger.debug("No tasks available for worker {} in queues: {}", workerId, eligibleQueues);
-        return Optional.empty();
+        logger.info("Dequeued task {} from queue {} for worker {} (aged score {})",
+                taskId, queueKey, workerId, result.size() > 2 ? result.get(2) : null);
+        return Optional.of(taskId);
     }
 
     /**
      * Remove a task from its queue
+     * Also acknowledges any lease taken on the task by a reliable dequeue
      */
+    @Override
     public void remove(WorkTask task) {
-        String queueKey = buildQueueKey(task.getWarehouseId(), task.getZone(), task.getType());
-        redisTemplate.opsForZSet().remove(queueKey, task.getTaskId());
-        logger.debug("Removed task {} from queue {}", task.getTaskId(), queueKey);
+        QueueKeys keys = keys(task.getWarehouseId(), task.getZone(), task.getType());
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForZSet().remove(keys.queue(), task.getTaskId());
+                ops.opsForZSet().remove(keys.inflight(), task.getTaskId());
+                ops.opsForHash().delete(keys.leases(), task.getTaskId());
+                ops.opsForZSet().remove(keys.deadlines(), task.getTaskId());
+                ops.opsForZSet().remove(keys.enqueued(), task.getTaskId());
+                if (task.getScheduledFor() != null) {
+                    ops.opsForZSet().remove(QueueKeys.DELAYED_KEY, task.getTaskId());
+                }
+                return null;
+            }
+        });
+
+        logger.debug("Removed task {} from queue {}", task.getTaskId(), keys.queue());
+    }
+
+    /**
+     * Remove a batch of tasks in a single pipeline
+     */
+    @Override
+    public void removeAll(Collection<WorkTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (WorkTask task : tasks) {
+                    QueueKeys keys = keys(task.getWarehouseId(), task.getZone(), task.getType());
+                    ops.opsForZSet().remove(keys.queue(), task.getTaskId());
+                    ops.opsForZSet().remove(keys.inflight(), task.getTaskId());
+                    ops.opsForHash().delete(keys.leases(), task.getTaskId());
+                    ops.opsForZSet().remove(keys.deadlines(), task.getTaskId());
+                    ops.opsForZSet().remove(keys.enqueued(), task.getTaskId());
+                    if (task.getScheduledFor() != null) {
+                        ops.opsForZSet().remove(QueueKeys.DELAYED_KEY, task.getTaskId());
+                    }
+                }
+                return null;
+            }
+        });
+
+        logger.debug("Removed {} tasks from their queues", tasks.size());
+    }
+
+    /**
+     * Re-score waiting tasks in two pipelines: ZSCORE to find the scores that changed,
+     * then multi-member ZADD XX per queue for those alone
+     */
+    @Override
+    public int reprioritize(Collection<TaskUrgency> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        double agingFactor = properties.getAgingFactor();
+        double urgencyWeight = properties.getReprioritize().getUrgencyWeight();
+        List<String> queueKeys = new ArrayList<>(updates.size());
+        List<String> taskIds = new ArrayList<>(updates.size());
+        double[] targets = new double[updates.size()];
+        for (TaskUrgency update : updates) {
+            WorkTask task = update.task();
+            targets[taskIds.size()] = QueueScores.storedScore(task, agingFactor, update.urgency(), urgencyWeight);
+            queueKeys.add(keys(task.getWarehouseId(), task.getZone(), task.getType()).queue());
+            taskIds.add(task.getTaskId());
+        }
+
+        List<Object> current = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (int i = 0; i < taskIds.size(); i++) {
+                    ops.opsForZSet().score(queueKeys.get(i), taskIds.get(i));
+                }
+                return null;
+            }
+        });
+
+        Map<String, Set<Tuple>> changedByQueue = new LinkedHashMap<>();
+        int changed = 0;
+        for (int i = 0; i < taskIds.size(); i++) {
+            // No score means the task is not waiting in its queue (dequeued, leased or scheduled)
+            if (current.get(i) instanceof Number score && !QueueScores.sameScore(score.doubleValue(), targets[i])) {
+                changedByQueue.computeIfAbsent(queueKeys.get(i), key -> new HashSet<>())
+                        .add(new DefaultTuple(taskIds.get(i).getBytes(StandardCharsets.UTF_8), targets[i]));
+                changed++;
+            }
+        }
+        if (changed == 0) {
+            return 0;
+        }
+
+        RedisZSetCommands.ZAddArgs onlyExisting = RedisZSetCommands.ZAddArgs.ifExists();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            changedByQueue.forEach((queueKey, tuples) -> {
+                byte[] key = queueKey.getBytes(StandardCharsets.UTF_8);
+                for (Set<Tuple> chunk : partition(tuples, MAX_ZADD_MEMBERS)) {
+                    connection.zSetCommands().zAdd(key, chunk, onlyExisting);
+                }
+            });
+            return null;
+        });
+
+        logger.debug("Re-scored {} of {} queued tasks across {} queues",
+                changed, updates.size(), changedByQueue.size());
+        return changed;
+    }
+
+    /**
+     * Return every task whose lease expired before the given instant to its queue
+     * Returns the number of requeued tasks
+     */
+    @Override
+    public int requeueExpiredLeases(Instant now) {
+        Set<String> warehouses = redisTemplate.opsForSet().members(QueueKeys.WAREHOUSES_KEY);
+        if (warehouses == null || warehouses.isEmpty()) {
+            return 0;
+        }
+
+        String nowMillis = String.valueOf(now.toEpochMilli());
+        String batchSize = String.valueOf(properties.getLease().getReapBatchSize());
+        int requeued = 0;
+
+        for (String warehouseId : warehouses) {
+            for (String queueKey : getRegisteredQueues(warehouseId)) {
+                Optional<QueueKeys> keys = QueueKeys.parse(queueKey)
+                        .map(id -> id.keys(properties.getKeyLayout()));
+                if (keys.isEmpty()) {
+                    continue;
+                }
+
+                Long count = redisTemplate.execute(REQUEUE_EXPIRED_SCRIPT, keys.get().asList(), nowMillis, batchSize);
+                if (count != null && count > 0) {
+                    String liveQueueKey = keys.get().queue();
+                    redisTemplate.convertAndSend(QueueHeadCache.CHANNEL, liveQueueKey);
+                    headCache.invalidate(liveQueueKey);
+                    logger.warn("Requeued {} tasks with expired leases to {}", count, liveQueueKey);
+                    requeued += count.intValue();
+                }
+            }
+        }
+
+        return requeued;
     }
 
     /**
      * Get queue status for a specific queue
      */
+    @Override
     public QueueStatus getQueueStatus(String warehouseId, String zone, TaskType type) {
-        String queueKey = buildQueueKey(warehouseId, zone, type);
-        Long size = redisTemplate.opsForZSet().size(queueKey);
-
-        // Get oldest task (first in queue by time added, but we use score)
-        Set<String> oldestTasks = redisTemplate.opsForZSet().range(queueKey, 0, 0);
-        String oldestTaskId = oldestTasks != null && !oldestTasks.isEmpty()
-                ? oldestTasks.iterator().next()
-                : null;
-
-        return new QueueStatus(
-                queueKey,
-                warehouseId,
-                zone,
-                type,
-                size != null ? size.intValue() : 0,
-                oldestTaskId
-        );
+        String queueKey = keys(warehouseId, zone, type).queue();
+        List<QueueStatus> statuses = readQueueStatuses(List.of(queueKey));
+        return statuses.isEmpty()
+                ? new QueueStatus(queueKey, warehouseId, zone, type, 0, null, null, null)
+                : statuses.getFirst();
     }
 
     /**
      * Get status of all queues for a warehouse
+     * Queue keys come from the warehouse registry and every queue's depth and
+     * head are fetched in one pipelined batch
      */
+    @Override
     public List<QueueStatus> getAllQueueStatus(String warehouseId) {
-        // Get all queue keys for this warehouse
-        Set<String> keys = redisTemplate.keys(QUEUE_PREFIX + warehouseId + ":*");
+        List<String> queueKeys = getRegisteredQueues(warehouseId);
 
-        if (keys == null || keys.isEmpty()) {
+        if (queueKeys.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return keys.stream()
-                .map(this::parseQueueStatus)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
+        return readQueueStatuses(queueKeys);
+    }
+
+    @Override
+    public Set<String> getWarehouseIds() {
+        Set<String> warehouses = redisTemplate.opsForSet().members(QueueKeys.WAREHOUSES_KEY);
+        return warehouses != null ? warehouses : Collections.emptySet();
     }
 
     /**
      * Get queue depth (number of tasks) for a specific queue
      */
+    @Override
     public int getQueueDepth(String warehouseId, String zone, TaskType type) {
-        String queueKey = buildQueueKey(warehouseId, zone, type);
+        String queueKey = keys(warehouseId, zone, type).queue();
         Long size = redisTemplate.opsForZSet().size(queueKey);
         return size != null ? size.intValue() : 0;
     }
 
+    /**
+     * Get the number of leased (dequeued but unacknowledged) tasks for a specific queue
+     */
+    @Override
+    public int getInflightCount(String warehouseId, String zone, TaskType type) {
+        String inflightKey = keys(warehouseId, zone, type).inflight();
+        Long size = redisTemplate.opsForZSet().size(inflightKey);
+        return size != null ? size.intValue() : 0;
+    }
+
     /**
      * Peek at the next task without removing it
      */
+    @Override
     public Optional<String> peek(String warehouseId, String zone, TaskType type) {
-        String queueKey = buildQueueKey(warehouseId, zone, type);
+        String queueKey = keys(warehouseId, zone, type).queue();
         Set<String> taskIds = redisTemplate.opsForZSet().range(queueKey, 0, 0);
 
         if (taskIds != null && !taskIds.isEmpty()) {
@@ -146,62 +530,213 @@ public class TaskQueueManager {
         return Optional.empty();
     }
 
+    /**
+     * Peek at the heads of several queues in one pipelined round trip
+     */
+    @Override
+    public List<String> peek(String warehouseId, String zone, Set<TaskType> types, int limitPerQueue) {
+        List<QueueKeys> queues = getEligibleQueues(warehouseId, zone, types);
+        queues.removeIf(queue -> headCache.isKnownEmpty(queue.queue()));
+        if (queues.isEmpty() || limitPerQueue <= 0) {
+            return List.of();
+        }
+
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (QueueKeys queue : queues) {
+                    ops.opsForZSet().range(queue.queue(), 0, limitPerQueue - 1);
+                }
+                return null;
+            }
+        });
+
+        List<String> taskIds = new ArrayList<>();
+        for (Object result : results) {
+            if (result instanceof Collection<?> members) {
+                members.forEach(member -> taskIds.add(String.valueOf(member)));
+            }
+        }
+        return taskIds;
+    }
+
     /**
      * Clear all tasks from a queue
      */
+    @Override
     public void clearQueue(String warehouseId, String zone, TaskType type) {
-        String queueKey = buildQueueKey(warehouseId, zone, type);
-        redisTemplate.delete(queueKey);
-        logger.info("Cleared queue {}", queueKey);
+        QueueKeys keys = keys(warehouseId, zone, type);
+        String registryKey = buildRegistryKey(warehouseId);
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.delete(keys.asList());
+                ops.opsForSet().remove(registryKey, keys.queue());
+                return null;
+            }
+        });
+
+        logger.info("Cleared queue {}", keys.queue());
     }
 
     // Helper methods
 
-    private String buildQueueKey(String warehouseId, String zone, TaskType type) {
-        return QUEUE_PREFIX + warehouseId + ":" + zone + ":" + type.name();
+    private String buildRegistryKey(String warehouseId) {
+        return QueueKeys.registryKey(warehouseId);
     }
 
-    private List<String> getEligibleQueues(String warehouseId, String zone, Set<TaskType> capabilities) {
-        List<String> queues = new ArrayList<>();
+    private QueueKeys keys(String warehouseId, String zone, TaskType type) {
+        return QueueKeys.of(properties.getKeyLayout(), warehouseId, zone, type);
+    }
+
+    private long leaseExpiry(long now) {
+        TaskQueueProperties.Lease lease = properties.getLease();
+        if (!lease.isEnabled()) {
+            return 0L;
+        }
+        return now + lease.getVisibilityTimeout().toMillis();
+    }
+
+    private List<QueueKeys> getEligibleQueues(String warehouseId, String zone, Set<TaskType> capabilities) {
+        List<QueueKeys> queues = new ArrayList<>();
 
         for (TaskType type : capabilities) {
-            queues.add(buildQueueKey(warehouseId, zone, type));
+            queues.add(keys(warehouseId, zone, type));
         }
 
         return queues;
     }
 
-    private Optional<QueueStatus> parseQueueStatus(String queueKey) {
-        try {
-            // Parse: task:queue:WH-001:ZONE-A:PICK
-            String[] parts = queueKey.split(":");
-            if (parts.length < 5) {
-                return Optional.empty();
+    private static <T> List<Set<T>> partition(Set<T> items, int size) {
+        if (items.size() <= size) {
+            return List.of(items);
+        }
+
+        List<Set<T>> chunks = new ArrayList<>();
+        Set<T> current = new HashSet<>();
+        for (T item : items) {
+            current.add(item);
+            if (current.size() == size) {
+                chunks.add(current);
+                current = new HashSet<>();
             }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    /**
+     * Read the warehouse's queue registry, seeding it with an incremental SCAN
+     * the first time a warehouse is seen (queues enqueued before the registry existed)
+     */
+    private List<String> getRegisteredQueues(String warehouseId) {
+        String registryKey = buildRegistryKey(warehouseId);
+        Set<String> registered = redisTemplate.opsForSet().members(registryKey);
 
-            String warehouseId = parts[2];
-            String zone = parts[3];
-            TaskType type = TaskType.valueOf(parts[4]);
+        if (registered != null && !registered.isEmpty()) {
+            return new ArrayList<>(registered);
+        }
+
+        List<String> discovered = scanQueueKeys(warehouseId);
+        if (!discovered.isEmpty()) {
+            redisTemplate.opsForSet().add(registryKey, discovered.toArray(new String[0]));
+            logger.info("Seeded queue registry {} with {} queues", registryKey, discovered.size());
+        }
+        return discovered;
+    }
+
+    private List<String> scanQueueKeys(String warehouseId) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(properties.getKeyLayout().queuePattern(warehouseId))
+                .count(SCAN_BATCH_SIZE)
+                .build();
+
+        List<String> keys = redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+            List<String> found = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = new String(cursor.next(), StandardCharsets.UTF_8);
+                    if (QueueKeys.parse(key).isPresent()) {
+                        found.add(key);
+                    }
+                }
+            }
+            return found;
+        });
+
+        return keys != null ? keys : Collections.emptyList();
+    }
 
-            Long size = redisTemplate.opsForZSet().size(queueKey);
-            Set<String> oldestTasks = redisTemplate.opsForZSet().range(queueKey, 0, 0);
-            String oldestTaskId = oldestTasks != null && !oldestTasks.isEmpty()
-                    ? oldestTasks.iterator().next()
+    /**
+     * Depth, head and oldest entry of each queue, read in one pipeline
+     */
+    private List<QueueStatus> readQueueStatuses(List<String> queueKeys) {
+        List<QueueKeys.QueueId> ids = new ArrayList<>(queueKeys.size());
+        for (String queueKey : queueKeys) {
+            Optional<QueueKeys.QueueId> id = QueueKeys.parse(queueKey);
+            if (id.isPresent()) {
+                ids.add(id.get());
+            } else {
+                logger.warn("Ignoring unrecognised queue key: {}", queueKey);
+            }
+        }
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        QueueKeyLayout layout = properties.getKeyLayout();
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (QueueKeys.QueueId id : ids) {
+                    QueueKeys keys = id.keys(layout);
+                    ops.opsForZSet().size(keys.queue());
+                    ops.opsForZSet().range(keys.queue(), 0, 0);
+                    ops.opsForZSet().rangeWithScores(keys.enqueued(), 0, 0);
+                }
+                return null;
+            }
+        });
+
+        List<QueueStatus> statuses = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            QueueKeys.QueueId id = ids.get(i);
+            Object size = results.get(i * 3);
+            Object head = results.get(i * 3 + 1);
+            Object oldest = results.get(i * 3 + 2);
+
+            String headTaskId = head instanceof Collection<?> members && !members.isEmpty()
+                    ? String.valueOf(members.iterator().next())
                     : null;
+            String oldestTaskId = null;
+            Instant oldestEnqueuedAt = null;
+            if (oldest instanceof Collection<?> tuples && !tuples.isEmpty()
+                    && tuples.iterator().next() instanceof ZSetOperations.TypedTuple<?> tuple
+                    && tuple.getScore() != null) {
+                oldestTaskId = String.valueOf(tuple.getValue());
+                oldestEnqueuedAt = Instant.ofEpochMilli(tuple.getScore().longValue());
+            }
 
-            return Optional.of(new QueueStatus(
-                    queueKey,
-                    warehouseId,
-                    zone,
-                    type,
-                    size != null ? size.intValue() : 0,
-                    oldestTaskId
+            statuses.add(new QueueStatus(
+                    id.keys(layout).queue(),
+                    id.warehouseId(),
+                    id.zone(),
+                    id.type(),
+                    size instanceof Number number ? number.intValue() : 0,
+                    headTaskId,
+                    oldestTaskId,
+                    oldestEnqueuedAt
             ));
-        } catch (Exception e) {
-            logger.warn("Failed to parse queue key: {}", queueKey, e);
-            return Optional.empty();
-        
-
-}
-}
+        }
+        return statuses;
+    }
 }
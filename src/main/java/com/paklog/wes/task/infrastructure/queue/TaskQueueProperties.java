@@ -0,0 +1,299 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Task queue configuration (task.queue.*)
+ */
+@ConfigurationProperties(prefix = "task.queue")
+public class TaskQueueProperties {
+
+    /**
+     * Queue implementation backing the TaskQueue bean
+     */
+    private Backend backend = Backend.REDIS;
+
+    /**
+     * Queue score points gained per minute a task has existed
+     */
+    private double agingFactor = 0.1;
+
+    /**
+     * Redis key naming; tagged layouts are required on Redis Cluster
+     */
+    private QueueKeyLayout keyLayout = QueueKeyLayout.LEGACY;
+
+    /**
+     * When set, queue keys in this layout are moved to keyLayout at startup
+     */
+    private QueueKeyLayout migrateKeysFrom;
+
+    private final Lease lease = new Lease();
+
+    private final HeadCache headCache = new HeadCache();
+
+    private final Delayed delayed = new Delayed();
+
+    private final Metrics metrics = new Metrics();
+
+    private final Reprioritize reprioritize = new Reprioritize();
+
+    public Backend getBackend() {
+        return backend;
+    }
+
+    public void setBackend(Backend backend) {
+        this.backend = backend;
+    }
+
+    public double getAgingFactor() {
+        return agingFactor;
+    }
+
+    public void setAgingFactor(double agingFactor) {
+        this.agingFactor = agingFactor;
+    }
+
+    public QueueKeyLayout getKeyLayout() {
+        return keyLayout;
+    }
+
+    public void setKeyLayout(QueueKeyLayout keyLayout) {
+        this.keyLayout = keyLayout;
+    }
+
+    public QueueKeyLayout getMigrateKeysFrom() {
+        return migrateKeysFrom;
+    }
+
+    public void setMigrateKeysFrom(QueueKeyLayout migrateKeysFrom) {
+        this.migrateKeysFrom = migrateKeysFrom;
+    }
+
+    public Lease getLease() {
+        return lease;
+    }
+
+    public HeadCache getHeadCache() {
+        return headCache;
+    }
+
+    public Delayed getDelayed() {
+        return delayed;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Reprioritize getReprioritize() {
+        return reprioritize;
+    }
+
+    public enum Backend {
+        /**
+         * Shared Redis sorted sets (multi-node deployments)
+         */
+        REDIS,
+        /**
+         * In-process skip lists (single-node sites and tests, no leases)
+         */
+        MEMORY
+    }
+
+    /**
+     * Reliable-queue settings
+     * When enabled, dequeued tasks are leased rather than dropped and are
+     * returned to their queue if not acknowledged within the visibility timeout
+     */
+    public static class Lease {
+        private boolean enabled = true;
+        private Duration visibilityTimeout = Duration.ofSeconds(30);
+        private Duration reapInterval = Duration.ofSeconds(5);
+        private int reapBatchSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getVisibilityTimeout() {
+            return visibilityTimeout;
+        }
+
+        public void setVisibilityTimeout(Duration visibilityTimeout) {
+            this.visibilityTimeout = visibilityTimeout;
+        }
+
+        public Duration getReapInterval() {
+            return reapInterval;
+        }
+
+        public void setReapInterval(Duration reapInterval) {
+            this.reapInterval = reapInterval;
+        }
+
+        public int getReapBatchSize() {
+            return reapBatchSize;
+        }
+
+        public void setReapBatchSize(int reapBatchSize) {
+            this.reapBatchSize = reapBatchSize;
+        }
+    }
+
+    /**
+     * Empty-queue near-cache settings (Redis backend)
+     * emptyTtl bounds how long a queue stays cached empty if an
+     * invalidation message is missed
+     */
+    public static class HeadCache {
+        private boolean enabled = true;
+        private Duration emptyTtl = Duration.ofSeconds(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getEmptyTtl() {
+            return emptyTtl;
+        }
+
+        public void setEmptyTtl(Duration emptyTtl) {
+            this.emptyTtl = emptyTtl;
+        }
+    }
+
+    /**
+     * Scheduled (future-dated) task promotion settings
+     * A claimed batch that is not promoted within claimTimeout is claimed again
+     */
+    public static class Delayed {
+        private Duration promoteInterval = Duration.ofSeconds(5);
+        private int promoteBatchSize = 500;
+        private Duration claimTimeout = Duration.ofMinutes(1);
+
+        public Duration getPromoteInterval() {
+            return promoteInterval;
+        }
+
+        public void setPromoteInterval(Duration promoteInterval) {
+            this.promoteInterval = promoteInterval;
+        }
+
+        public int getPromoteBatchSize() {
+            return promoteBatchSize;
+        }
+
+        public void setPromoteBatchSize(int promoteBatchSize) {
+            this.promoteBatchSize = promoteBatchSize;
+        }
+
+        public Duration getClaimTimeout() {
+            return claimTimeout;
+        }
+
+        public void setClaimTimeout(Duration claimTimeout) {
+            this.claimTimeout = claimTimeout;
+        }
+    }
+
+    /**
+     * Queue gauge refresh settings
+     */
+    public static class Metrics {
+        private Duration pollInterval = Duration.ofSeconds(15);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+
+    /**
+     * Background re-scoring of waiting tasks by SLA, cut-off and customer urgency
+     * urgencyWeight is the queue score taken off per point of calculated priority
+     * (0-1000), so at 1.0 the most urgent task gains one full priority level
+     * Tasks are re-scored on a timing wheel of wheelSlots ticks at their next
+     * score band edge, or after one rotation of the wheel if that is sooner, so
+     * tasks that left the queue are let go; interval is the full sweep and
+     * admitInterval how often newly queued tasks are picked up
+     */
+    public static class Reprioritize {
+        private boolean enabled = true;
+        private Duration interval = Duration.ofMinutes(10);
+        private Duration admitInterval = Duration.ofSeconds(15);
+        private Duration tick = Duration.ofSeconds(1);
+        private int wheelSlots = 3600;
+        private double urgencyWeight = 1.0;
+        private int batchSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public Duration getAdmitInterval() {
+            return admitInterval;
+        }
+
+        public void setAdmitInterval(Duration admitInterval) {
+            this.admitInterval = admitInterval;
+        }
+
+        public Duration getTick() {
+            return tick;
+        }
+
+        public void setTick(Duration tick) {
+            this.tick = tick;
+        }
+
+        public int getWheelSlots() {
+            return wheelSlots;
+        }
+
+        public void setWheelSlots(int wheelSlots) {
+            this.wheelSlots = wheelSlots;
+        }
+
+        public double getUrgencyWeight() {
+            return urgencyWeight;
+        }
+
+        public void setUrgencyWeight(double urgencyWeight) {
+            this.urgencyWeight = urgencyWeight;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+}
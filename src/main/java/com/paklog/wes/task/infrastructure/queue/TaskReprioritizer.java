@@ -0,0 +1,278 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.repository.WorkTaskRepository;
+import com.paklog.wes.task.domain.service.PriorityFeatures;
+import com.paklog.wes.task.domain.service.TaskPriorityCalculator;
+import com.paklog.wes.task.domain.valueobject.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Background re-prioritization of waiting tasks
+ * A task's calculated priority only moves when its SLA, cut-off or age score
+ * steps into another band, so each scored task is parked on a {@link RescoreWheel}
+ * at its next band edge and re-scored exactly then. Tasks are admitted by
+ * streaming the ones queued since the previous pass; a slow full sweep of every
+ * QUEUED task reconciles anything missed (other instances, restarts). Batches
+ * are scored in parallel against one instant and the queue rewrites only the
+ * scores that changed. Sweeps run on their own thread so a long one never holds
+ * up the wheel tick or the other scheduled queue jobs
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.queue.reprioritize", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskReprioritizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskReprioritizer.class);
+
+    // Admission re-reads this much before the last pass, covering clock skew between instances
+    private static final Duration ADMIT_OVERLAP = Duration.ofSeconds(5);
+
+    private final WorkTaskRepository taskRepository;
+    private final TaskQueue taskQueue;
+    private final TaskPriorityCalculator priorityCalculator;
+    private final TaskQueueProperties properties;
+    private final QueueMetrics metrics;
+    private final RescoreWheel wheel;
+    private final ConcurrentMap<String, LocalDateTime> admittedUntil = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweepPending = new AtomicBoolean();
+    private final ExecutorService sweepExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reprioritize-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TaskReprioritizer(
+            WorkTaskRepository taskRepository,
+            TaskQueue taskQueue,
+            TaskPriorityCalculator priorityCalculator,
+            TaskQueueProperties properties,
+            QueueMetrics metrics) {
+        this.taskRepository = taskRepository;
+        this.taskQueue = taskQueue;
+        this.priorityCalculator = priorityCalculator;
+        this.properties = properties;
+        this.metrics = metrics;
+        TaskQueueProperties.Reprioritize reprioritize = properties.getReprioritize();
+        this.wheel = new RescoreWheel(reprioritize.getTick(), reprioritize.getWheelSlots(),
+                PriorityFeatures.toNanos(LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${task.queue.reprioritize.interval:PT10M}")
+    public void scheduleSweep() {
+        requestSweep();
+    }
+
+    /**
+     * Run a full sweep on the sweep thread and return at once
+     * Requests made while a sweep is waiting to start are merged into it; one made
+     * while a sweep runs starts another afterwards, so it sees changes made since
+     */
+    public void requestSweep() {
+        if (!sweepPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sweepExecutor.execute(() -> {
+                sweepPending.set(false);
+                try {
+                    reprioritizeQueuedTasks();
+                } catch (Exception e) {
+                    logger.error("Re-prioritization sweep failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sweepPending.set(false);
+            logger.debug("Re-prioritization sweep not started, shutting down");
+        }
+    }
+
+    /**
+     * Full sweep: re-score every queued task and reset its place on the wheel
+     */
+    public void reprioritizeQueuedTasks() {
+        LocalDateTime now = LocalDateTime.now();
+        int moved = 0;
+
+        for (String warehouseId : taskQueue.getWarehouseIds()) {
+            try {
+                moved += reprioritize(warehouseId, now);
+            } catch (Exception e) {
+                logger.error("Failed to re-prioritize queued tasks of warehouse {}", warehouseId, e);
+            }
+        }
+
+        if (moved > 0) {
+            logger.info("Re-prioritization sweep moved {} queued tasks", moved);
+        }
+    }
+
+    /**
+     * Score tasks queued since the previous pass and put them on the wheel
+     * A warehouse not swept yet gets a full sweep instead
+     */
+    @Scheduled(fixedDelayString = "${task.queue.reprioritize.admit-interval:PT15S}")
+    public void admitNewTasks() {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (String warehouseId : taskQueue.getWarehouseIds()) {
+            try {
+                admit(warehouseId, now);
+            } catch (Exception e) {
+                logger.error("Failed to admit queued tasks of warehouse {}", warehouseId, e);
+            }
+        }
+    }
+
+    /**
+     * Re-score the tasks whose next band edge has passed
+     */
+    @Scheduled(fixedDelayString = "${task.queue.reprioritize.tick:PT1S}")
+    public void rescoreDueTasks() {
+        try {
+            int moved = rescoreDueTasks(LocalDateTime.now());
+            if (moved > 0) {
+                logger.info("Re-scored tasks at their band edges, {} moved", moved);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to re-score due tasks", e);
+        }
+    }
+
+    /**
+     * Re-score a warehouse's queued tasks as of the given time
+     * Returns the number of tasks whose queue score changed
+     */
+    public int reprioritize(String warehouseId, LocalDateTime now) {
+        admittedUntil.put(warehouseId, now);
+        try (Stream<WorkTask> queued = taskRepository.streamByWarehouseIdAndStatus(warehouseId, TaskStatus.QUEUED)) {
+            return rescore(warehouseId, queued, now);
+        }
+    }
+
+    /**
+     * Score a warehouse's tasks queued since its previous pass, as of the given time
+     */
+    public int admit(String warehouseId, LocalDateTime now) {
+        LocalDateTime since = admittedUntil.get(warehouseId);
+        if (since == null) {
+            return reprioritize(warehouseId, now);
+        }
+
+        admittedUntil.put(warehouseId, now);
+        try (Stream<WorkTask> queued = taskRepository.streamByWarehouseIdAndStatusAndQueuedAtGreaterThanEqual(
+                warehouseId, TaskStatus.QUEUED, since.minus(ADMIT_OVERLAP))) {
+            return rescore(warehouseId, queued, now);
+        }
+    }
+
+    /**
+     * Advance the wheel to the given time and re-score the tasks it hands out
+     * Tasks no longer queued simply leave the wheel
+     */
+    public int rescoreDueTasks(LocalDateTime now) {
+        List<String> due = wheel.advance(PriorityFeatures.toNanos(now));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        int batchSize = Math.max(1, properties.getReprioritize().getBatchSize());
+        Map<String, List<WorkTask>> queuedByWarehouse = new LinkedHashMap<>();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            for (WorkTask task : taskRepository.findAllById(due.subList(from, Math.min(from + batchSize, due.size())))) {
+                if (task.getStatus() == TaskStatus.QUEUED) {
+                    queuedByWarehouse.computeIfAbsent(task.getWarehouseId(), key -> new ArrayList<>()).add(task);
+                }
+            }
+        }
+
+        int moved = 0;
+        for (Map.Entry<String, List<WorkTask>> warehouse : queuedByWarehouse.entrySet()) {
+            moved += rescore(warehouse.getKey(), warehouse.getValue().stream(), now);
+        }
+        return moved;
+    }
+
+    /**
+     * Number of tasks waiting on the wheel for their next band edge
+     */
+    public int scheduledCount() {
+        return wheel.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sweepExecutor.shutdown();
+        if (!sweepExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Re-prioritization sweep did not finish within 10s");
+            sweepExecutor.shutdownNow();
+        }
+    }
+
+    private int rescore(String warehouseId, Stream<WorkTask> tasks, LocalDateTime now) {
+        int batchSize = Math.max(1, properties.getReprioritize().getBatchSize());
+        long nowNanos = PriorityFeatures.toNanos(now);
+        List<WorkTask> batch = new ArrayList<>(batchSize);
+        int scored = 0;
+        int moved = 0;
+
+        Iterator<WorkTask> iterator = tasks.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                moved += rescoreBatch(batch, nowNanos);
+                scored += batch.size();
+                batch.clear();
+            }
+        }
+
+        metrics.recordReprioritization(warehouseId, scored, moved);
+        logger.debug("Re-scored {} queued tasks of warehouse {}, {} moved", scored, warehouseId, moved);
+        return moved;
+    }
+
+    private int rescoreBatch(List<WorkTask> batch, long now) {
+        List<Rescored> rescored = batch.parallelStream()
+                .map(task -> {
+                    PriorityFeatures features = priorityCalculator.extractFeatures(task);
+                    return new Rescored(new TaskUrgency(task, priorityCalculator.score(features, now)),
+                            priorityCalculator.nextScoreChange(features, now));
+                })
+                .toList();
+
+        int moved = taskQueue.reprioritize(rescored.stream().map(Rescored::urgency).toList());
+
+        for (Rescored task : rescored) {
+            String taskId = task.urgency().task().getTaskId();
+            if (task.nextChange() == PriorityFeatures.ABSENT) {
+                wheel.cancel(taskId);
+            } else {
+                wheel.schedule(taskId, task.nextChange());
+            }
+        }
+        return moved;
+    }
+
+    private record Rescored(TaskUrgency urgency, long nextChange) {
+    }
+}
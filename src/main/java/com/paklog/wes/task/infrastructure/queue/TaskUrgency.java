@@ -0,0 +1,9 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+
+/**
+ * A waiting task with its current TaskPriorityCalculator score (0-1000, higher = more urgent)
+ */
+public record TaskUrgency(WorkTask task, int urgency) {
+}
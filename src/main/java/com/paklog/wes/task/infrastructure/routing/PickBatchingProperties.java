@@ -0,0 +1,39 @@
+package com.paklog.wes.task.infrastructure.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cluster picking configuration (task.batching.*)
+ * Cart capacity is the number of order totes a picker carries and the units they hold
+ */
+@ConfigurationProperties(prefix = "task.batching")
+public class PickBatchingProperties {
+
+    private boolean enabled = false;
+    private int maxOrdersPerTour = 6;
+    private int maxUnitsPerTour = 60;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxOrdersPerTour() {
+        return maxOrdersPerTour;
+    }
+
+    public void setMaxOrdersPerTour(int maxOrdersPerTour) {
+        this.maxOrdersPerTour = maxOrdersPerTour;
+    }
+
+    public int getMaxUnitsPerTour() {
+        return maxUnitsPerTour;
+    }
+
+    public void setMaxUnitsPerTour(int maxUnitsPerTour) {
+        this.maxUnitsPerTour = maxUnitsPerTour;
+    }
+}
@@ -0,0 +1,261 @@
+package com.paklog.wes.task.infrastructure.routing;
+
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.infrastructure.layout.TravelTimeModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orders pick instructions into a short walking route
+ * Builds a nearest-neighbour tour from the start location, then improves it
+ * with 2-opt segment reversals and single-stop relocations. Travel times come
+ * from {@link TravelTimeModel}, so one-way aisles are respected when a layout
+ * is configured. The route is open: it ends at the last pick rather than
+ * returning to the start. Sequencing is best-effort: picks at a location
+ * without a numeric bay and level cannot be measured, and stay in arrival order
+ */
+@Component
+public class PickPathSequencer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickPathSequencer.class);
+
+    /**
+     * Upper bound on improvement passes, so large pick lists stay fast
+     */
+    static final int MAX_IMPROVEMENT_PASSES = 50;
+
+    private static final double EPSILON = 1e-9;
+
+    private final TravelTimeModel travelTimeModel;
+
+    public PickPathSequencer(TravelTimeModel travelTimeModel) {
+        this.travelTimeModel = travelTimeModel;
+    }
+
+    /**
+     * Reorder a pick context's instructions and record the route's travel time
+     * Left untouched if any location cannot be measured
+     */
+    public void sequence(String warehouseId, Location start, PickTaskContext context) {
+        List<PickTaskContext.PickInstruction> instructions = context.getInstructions();
+        if (!isRoutable(start, instructions)) {
+            logger.debug("Keeping arrival order for {} picks of order {}: not every location has a numeric grid",
+                    instructions.size(), context.getOrderId());
+            return;
+        }
+        PickRoute route = plan(warehouseId, start, instructions);
+        context.applyRoute(route.instructions(), route.travelSeconds());
+    }
+
+    /**
+     * True if every location is known and has a numeric bay and level, so travel times can be measured
+     * A missing start is fine: the route then starts at the first pick
+     */
+    public static boolean isRoutable(Location start, List<PickTaskContext.PickInstruction> instructions) {
+        if (start != null && !start.hasNumericGrid()) {
+            return false;
+        }
+        for (PickTaskContext.PickInstruction instruction : instructions) {
+            if (instruction.getLocation() == null || !instruction.getLocation().hasNumericGrid()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walking order for the instructions, starting from the given location
+     * Every location must be routable, see {@link #isRoutable}
+     */
+    public PickRoute plan(String warehouseId, Location start, List<PickTaskContext.PickInstruction> instructions) {
+        int n = instructions.size();
+        if (n == 0) {
+            return new PickRoute(List.of(), 0);
+        }
+
+        // Node 0 is the start, node i is instruction i - 1
+        double[][] cost = costMatrix(warehouseId, start, instructions);
+        int[] tour = nearestNeighbourTour(cost);
+        improve(tour, cost);
+
+        List<PickTaskContext.PickInstruction> ordered = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            ordered.add(instructions.get(tour[i] - 1));
+        }
+        return new PickRoute(ordered, length(tour, cost));
+    }
+
+    private double[][] costMatrix(String warehouseId, Location start,
+                                  List<PickTaskContext.PickInstruction> instructions) {
+        int size = instructions.size() + 1;
+        Location[] locations = new Location[size];
+        locations[0] = start != null ? start : instructions.get(0).getLocation();
+        for (int i = 1; i < size; i++) {
+            locations[i] = instructions.get(i - 1).getLocation();
+        }
+
+        double[][] cost = new double[size][size];
+        for (int from = 0; from < size; from++) {
+            for (int to = 1; to < size; to++) {
+                if (from != to && !locations[from].equals(locations[to])) {
+                    cost[from][to] = travelTimeModel.travelSeconds(warehouseId, locations[from], locations[to]);
+                }
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Greedy tour from the start; ties keep the original instruction order
+     */
+    private static int[] nearestNeighbourTour(double[][] cost) {
+        int size = cost.length;
+        int[] tour = new int[size];
+        boolean[] visited = new boolean[size];
+        visited[0] = true;
+
+        for (int step = 1; step < size; step++) {
+            int current = tour[step - 1];
+            int next = -1;
+            for (int candidate = 1; candidate < size; candidate++) {
+                if (!visited[candidate] && (next < 0 || cost[current][candidate] < cost[current][next])) {
+                    next = candidate;
+                }
+            }
+            tour[step] = next;
+            visited[next] = true;
+        }
+        return tour;
+    }
+
+    /**
+     * Apply improving moves until none is left; the start stays fixed
+     */
+    private static void improve(int[] tour, double[][] cost) {
+        if (tour.length < 3) {
+            return;
+        }
+
+        double[] forward = new double[tour.length];
+        double[] backward = new double[tour.length];
+        prefixSums(tour, cost, forward, backward);
+
+        for (int pass = 0; pass < MAX_IMPROVEMENT_PASSES; pass++) {
+            boolean improved = twoOpt(tour, cost, forward, backward);
+            if (relocate(tour, cost)) {
+                prefixSums(tour, cost, forward, backward);
+                improved = true;
+            }
+            if (!improved) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reverse segments where that shortens the route
+     * Prefix sums of forward and backward leg costs make each move O(1) to
+     * evaluate, including for asymmetric (one-way) travel times
+     */
+    private static boolean twoOpt(int[] tour, double[][] cost, double[] forward, double[] backward) {
+        int last = tour.length - 1;
+        boolean improved = false;
+        for (int i = 1; i < last; i++) {
+            for (int j = i + 1; j <= last; j++) {
+                double before = cost[tour[i - 1]][tour[i]] + (forward[j] - forward[i]);
+                double after = cost[tour[i - 1]][tour[j]] + (backward[j] - backward[i]);
+                if (j < last) {
+                    before += cost[tour[j]][tour[j + 1]];
+                    after += cost[tour[i]][tour[j + 1]];
+                }
+                if (after < before - EPSILON) {
+                    reverse(tour, i, j);
+                    prefixSums(tour, cost, forward, backward);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Move single stops to a cheaper position in the route
+     */
+    private static boolean relocate(int[] tour, double[][] cost) {
+        int last = tour.length - 1;
+        boolean improved = false;
+        for (int i = 1; i <= last; i++) {
+            int stop = tour[i];
+            int previous = tour[i - 1];
+            double saving = cost[previous][stop];
+            if (i < last) {
+                saving += cost[stop][tour[i + 1]] - cost[previous][tour[i + 1]];
+            }
+
+            // Insert between tour[j] and tour[j + 1]; j = i - 1 would put it back where it was
+            int bestPosition = -1;
+            double bestGain = EPSILON;
+            for (int j = 0; j <= last; j++) {
+                if (j == i || j == i - 1) {
+                    continue;
+                }
+                double insertion = cost[tour[j]][stop];
+                if (j < last) {
+                    insertion += cost[stop][tour[j + 1]] - cost[tour[j]][tour[j + 1]];
+                }
+                if (saving - insertion > bestGain) {
+                    bestGain = saving - insertion;
+                    bestPosition = j;
+                }
+            }
+
+            if (bestPosition >= 0) {
+                move(tour, i, bestPosition);
+                improved = true;
+            }
+        }
+        return improved;
+    }
+
+    private static void prefixSums(int[] tour, double[][] cost, double[] forward, double[] backward) {
+        for (int k = 1; k < tour.length; k++) {
+            forward[k] = forward[k - 1] + cost[tour[k - 1]][tour[k]];
+            backward[k] = backward[k - 1] + cost[tour[k]][tour[k - 1]];
+        }
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int swap = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = swap;
+        }
+    }
+
+    /**
+     * Take the stop at index from and put it right after the stop currently at index after
+     */
+    private static void move(int[] tour, int from, int after) {
+        int stop = tour[from];
+        if (from < after) {
+            System.arraycopy(tour, from + 1, tour, from, after - from);
+            tour[after] = stop;
+        } else {
+            System.arraycopy(tour, after + 1, tour, after + 2, from - after - 1);
+            tour[after + 1] = stop;
+        }
+    }
+
+    private static double length(int[] tour, double[][] cost) {
+        double total = 0;
+        for (int k = 1; k < tour.length; k++) {
+            total += cost[tour[k - 1]][tour[k]];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,17 @@
+package com.paklog.wes.task.infrastructure.routing;
+
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+
+import java.util.List;
+
+/**
+ * Pick instructions in walking order, with the estimated travel time of the route
+ */
+public record PickRoute(
+        List<PickTaskContext.PickInstruction> instructions,
+        double travelSeconds
+) {
+    public PickRoute {
+        instructions = List.copyOf(instructions);
+    }
+}
@@ -0,0 +1,241 @@
+package com.paklog.wes.task.infrastructure.routing;
+
+import com.paklog.task.execution.domain.valueobject.Priority;
+import com.paklog.wes.task.application.command.CreateTaskCommand;
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import com.paklog.wes.task.infrastructure.layout.TravelTimeModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Merges single-order pick tasks of a wave into multi-order cluster tours
+ * Orders of the same warehouse, zone and wave are grouped onto carts: each
+ * tour is seeded with the order reaching furthest from the start, then grows
+ * with whichever order adds the least walking (each of its picks measured
+ * against the closest pick already on the tour) until the cart is full.
+ * Runs before tasks are created, so the merged tasks are what gets queued.
+ * Orders with a pick that has no numeric grid position are left as they are
+ */
+@Component
+public class PickTourBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickTourBatcher.class);
+
+    private final TravelTimeModel travelTimeModel;
+    private final PickBatchingProperties properties;
+
+    public PickTourBatcher(TravelTimeModel travelTimeModel, PickBatchingProperties properties) {
+        this.travelTimeModel = travelTimeModel;
+        this.properties = properties;
+    }
+
+    /**
+     * Commands with eligible pick orders merged into tours; everything else is returned unchanged
+     */
+    public List<CreateTaskCommand> batch(List<CreateTaskCommand> commands) {
+        if (!properties.isEnabled() || properties.getMaxOrdersPerTour() < 2 || commands.size() < 2) {
+            return commands;
+        }
+
+        List<CreateTaskCommand> result = new ArrayList<>(commands.size());
+        Map<TourKey, List<CreateTaskCommand>> groups = new LinkedHashMap<>();
+        for (CreateTaskCommand command : commands) {
+            if (isBatchable(command)) {
+                PickTaskContext context = (PickTaskContext) command.context();
+                groups.computeIfAbsent(new TourKey(command.warehouseId(), command.zone(), context.getWaveId()),
+                        key -> new ArrayList<>()).add(command);
+            } else {
+                result.add(command);
+            }
+        }
+
+        groups.forEach((key, orders) -> {
+            List<CreateTaskCommand> tours = orders.size() < 2 ? orders : tours(key, orders);
+            if (tours.size() < orders.size()) {
+                logger.info("Batched {} pick orders of wave {} in zone {} into {} tours",
+                        orders.size(), key.waveId(), key.zone(), tours.size());
+            }
+            result.addAll(tours);
+        });
+        return result;
+    }
+
+    private static boolean isBatchable(CreateTaskCommand command) {
+        return command.type() == TaskType.PICK
+                && command.scheduledFor() == null
+                && command.context() instanceof PickTaskContext context
+                && context.getStrategy() == PickTaskContext.PickStrategy.DISCRETE
+                && !context.isMultiOrder()
+                && !context.getInstructions().isEmpty()
+                && PickPathSequencer.isRoutable(null, context.getInstructions());
+    }
+
+    private List<CreateTaskCommand> tours(TourKey key, List<CreateTaskCommand> orders) {
+        String warehouseId = key.warehouseId();
+        int n = orders.size();
+        Location start = startOf(orders.get(0));
+        List<List<Location>> picks = new ArrayList<>(n);
+        int[] units = new int[n];
+        for (CreateTaskCommand order : orders) {
+            PickTaskContext context = (PickTaskContext) order.context();
+            picks.add(context.getInstructions().stream().map(PickTaskContext.PickInstruction::getLocation).toList());
+            units[picks.size() - 1] = context.getTotalQuantity();
+        }
+
+        boolean[] placed = new boolean[n];
+        List<CreateTaskCommand> tours = new ArrayList<>();
+        for (int remaining = n; remaining > 0; ) {
+            int seed = furthestOrder(warehouseId, start, picks, placed);
+            List<Integer> tour = new ArrayList<>();
+            tour.add(seed);
+            placed[seed] = true;
+            remaining--;
+            int tourUnits = units[seed];
+
+            // closest[o][p]: walk from the nearest pick on the tour to pick p of order o
+            double[][] closest = new double[n][];
+            for (int order = 0; order < n; order++) {
+                if (!placed[order]) {
+                    closest[order] = new double[picks.get(order).size()];
+                    Arrays.fill(closest[order], Double.MAX_VALUE);
+                    tighten(warehouseId, closest[order], picks.get(order), picks.get(seed));
+                }
+            }
+
+            while (tour.size() < properties.getMaxOrdersPerTour() && remaining > 0) {
+                int next = -1;
+                double nextCost = Double.MAX_VALUE;
+                for (int order = 0; order < n; order++) {
+                    if (placed[order] || tourUnits + units[order] > properties.getMaxUnitsPerTour()) {
+                        continue;
+                    }
+                    double cost = 0;
+                    for (double legCost : closest[order]) {
+                        cost += legCost;
+                    }
+                    if (cost < nextCost) {
+                        next = order;
+                        nextCost = cost;
+                    }
+                }
+                if (next < 0) {
+                    break;
+                }
+
+                tour.add(next);
+                placed[next] = true;
+                remaining--;
+                tourUnits += units[next];
+                for (int order = 0; order < n; order++) {
+                    if (!placed[order]) {
+                        tighten(warehouseId, closest[order], picks.get(order), picks.get(next));
+                    }
+                }
+            }
+
+            tours.add(tour.size() == 1 ? orders.get(seed) : merge(key.waveId(), orders, tour));
+        }
+        return tours;
+    }
+
+    /**
+     * Unplaced order whose furthest pick is furthest from the start
+     */
+    private int furthestOrder(String warehouseId, Location start, List<List<Location>> picks, boolean[] placed) {
+        int furthest = -1;
+        double furthestSeconds = -1;
+        for (int order = 0; order < picks.size(); order++) {
+            if (placed[order]) {
+                continue;
+            }
+            for (Location pick : picks.get(order)) {
+                double seconds = start.equals(pick) ? 0 : travelTimeModel.travelSeconds(warehouseId, start, pick);
+                if (seconds > furthestSeconds) {
+                    furthest = order;
+                    furthestSeconds = seconds;
+                }
+            }
+        }
+        return furthest;
+    }
+
+    private void tighten(String warehouseId, double[] closest, List<Location> orderPicks, List<Location> joined) {
+        for (int p = 0; p < orderPicks.size(); p++) {
+            Location pick = orderPicks.get(p);
+            for (Location onTour : joined) {
+                double seconds = onTour.equals(pick) ? 0 : travelTimeModel.travelSeconds(warehouseId, onTour, pick);
+                closest[p] = Math.min(closest[p], seconds);
+            }
+        }
+    }
+
+    /**
+     * Where an order's walk starts: its task location, or its first pick if that cannot be measured from
+     */
+    private static Location startOf(CreateTaskCommand order) {
+        Location location = order.location();
+        if (location != null && location.hasNumericGrid()) {
+            return location;
+        }
+        return ((PickTaskContext) order.context()).getInstructions().get(0).getLocation();
+    }
+
+    /**
+     * One cluster pick command for the orders of a tour, most urgent priority and earliest deadline
+     * Keeps the orders' reference if they share one, otherwise the tour is referenced by its wave;
+     * the order ids travel in the cluster context either way
+     */
+    private static CreateTaskCommand merge(String waveId, List<CreateTaskCommand> orders, List<Integer> tour) {
+        CreateTaskCommand first = orders.get(tour.get(0));
+        Priority priority = first.priority();
+        String referenceId = first.referenceId();
+        LocalDateTime deadline = null;
+        Duration estimatedDuration = Duration.ZERO;
+        List<PickTaskContext> contexts = new ArrayList<>(tour.size());
+
+        for (int index : tour) {
+            CreateTaskCommand order = orders.get(index);
+            if (order.priority() != null && (priority == null || order.priority().getValue() < priority.getValue())) {
+                priority = order.priority();
+            }
+            if (order.deadline() != null && (deadline == null || order.deadline().isBefore(deadline))) {
+                deadline = order.deadline();
+            }
+            if (order.estimatedDuration() != null) {
+                estimatedDuration = estimatedDuration.plus(order.estimatedDuration());
+            }
+            if (!Objects.equals(order.referenceId(), referenceId)) {
+                referenceId = waveId;
+            }
+            contexts.add((PickTaskContext) order.context());
+        }
+
+        PickTaskContext cluster = PickTaskContext.cluster(waveId, contexts);
+        return new CreateTaskCommand(
+                TaskType.PICK,
+                first.warehouseId(),
+                first.zone(),
+                first.location() != null ? first.location() : startOf(first),
+                priority,
+                referenceId,
+                estimatedDuration,
+                deadline,
+                cluster
+        );
+    }
+
+    private record TourKey(String warehouseId, String zone, String waveId) {
+    }
+}
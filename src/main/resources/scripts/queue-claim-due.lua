@@ -0,0 +1,16 @@
+-- Claim scheduled tasks whose release time has passed.
+-- KEYS[1]: delayed sorted set of task IDs scored by release time (epoch millis)
+-- ARGV[1]: current time in epoch millis
+-- ARGV[2]: maximum number of tasks to claim
+-- ARGV[3]: epoch millis at which an unacknowledged claim becomes due again
+-- Returns the claimed task IDs.
+--
+-- Claimed tasks are re-scored rather than removed, so a promoter that dies
+-- mid-batch leaves them to be claimed again once the retry time passes
+-- (at-least-once). The promoter removes them after they are enqueued.
+
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+for _, task in ipairs(due) do
+    redis.call('ZADD', KEYS[1], ARGV[3], task)
+end
+return due
@@ -0,0 +1,100 @@
+-- Atomically pop the best task across a worker's eligible queues.
+-- KEYS: five keys per candidate queue: {queue, inflight, leases, deadlines, enqueued}
+--   queue     - sorted set of waiting tasks scored by base + agingFactor * createdMinutes
+--   inflight  - sorted set of leased tasks scored by lease expiry (epoch millis)
+--   leases    - hash of leased task -> original queue score
+--   deadlines - sorted set of tasks scored by deadline (epoch millis)
+--   enqueued  - sorted set of waiting tasks scored by enqueue time (epoch millis)
+-- ARGV[1]: lease expiry in epoch millis, or 0 to pop without a lease
+-- ARGV[2]: current time in epoch millis
+-- ARGV[3]: aging factor (score points per minute of age)
+-- ARGV[4]: score bonus subtracted from overdue tasks
+-- ARGV[5]: maximum number of overdue waiting tasks inspected per queue
+-- Returns {queueKey, taskId, effectiveScore, remainingDepth, emptyQueueKeys, enqueuedAt}
+-- or nil when every queue is empty. remainingDepth and emptyQueueKeys feed the
+-- caller's empty-queue cache; enqueuedAt (epoch millis, '' if unknown) its wait metrics.
+--
+-- The effective (aged) score is stored - agingFactor * nowMinutes, minus the
+-- overdue bonus once the deadline has passed. The aging term is identical for
+-- every task, so the queue head is the best non-overdue task; overdue tasks are
+-- found through the deadlines set. Leased tasks keep their deadline entries, so
+-- the scan pages past them until enough waiting tasks have been seen.
+
+local leaseUntil = tonumber(ARGV[1])
+local now = tonumber(ARGV[2])
+local agingOffset = tonumber(ARGV[3]) * (now / 60000)
+local overdueBonus = tonumber(ARGV[4])
+local overdueLimit = tonumber(ARGV[5])
+
+local bestIndex
+local bestTask
+local bestRawScore
+local bestEffective
+local empty = {}
+
+local function consider(index, task, rawScore, overdue)
+    local effective = tonumber(rawScore) - agingOffset
+    if overdue then
+        effective = effective - overdueBonus
+    end
+    if bestEffective == nil or effective < bestEffective then
+        bestIndex = index
+        bestTask = task
+        bestRawScore = rawScore
+        bestEffective = effective
+    end
+end
+
+for i = 1, #KEYS, 5 do
+    local queue = KEYS[i]
+    local inflight = KEYS[i + 1]
+    local deadlines = KEYS[i + 3]
+
+    local head = redis.call('ZRANGE', queue, 0, 0, 'WITHSCORES')
+    if head[1] then
+        local deadline = redis.call('ZSCORE', deadlines, head[1])
+        consider(i, head[1], head[2], deadline and tonumber(deadline) <= now)
+
+        local found = 0
+        local offset = 0
+        while found < overdueLimit do
+            local overdue = redis.call('ZRANGEBYSCORE', deadlines, '-inf', now, 'LIMIT', offset, overdueLimit)
+            for _, task in ipairs(overdue) do
+                local score = redis.call('ZSCORE', queue, task)
+                if score then
+                    consider(i, task, score, true)
+                    found = found + 1
+                    offset = offset + 1
+                elseif redis.call('ZSCORE', inflight, task) then
+                    offset = offset + 1
+                else
+                    -- Neither waiting nor leased: the deadline entry is stale
+                    redis.call('ZREM', deadlines, task)
+                end
+            end
+            if #overdue < overdueLimit then
+                break
+            end
+        end
+    else
+        empty[#empty + 1] = queue
+    end
+end
+
+if bestTask == nil then
+    return false
+end
+
+redis.call('ZREM', KEYS[bestIndex], bestTask)
+local enqueuedAt = redis.call('ZSCORE', KEYS[bestIndex + 4], bestTask)
+redis.call('ZREM', KEYS[bestIndex + 4], bestTask)
+
+if leaseUntil > 0 then
+    redis.call('ZADD', KEYS[bestIndex + 1], leaseUntil, bestTask)
+    redis.call('HSET', KEYS[bestIndex + 2], bestTask, bestRawScore)
+else
+    redis.call('ZREM', KEYS[bestIndex + 3], bestTask)
+end
+
+return {KEYS[bestIndex], bestTask, tostring(bestEffective), redis.call('ZCARD', KEYS[bestIndex]), empty,
+        enqueuedAt or ''}
@@ -0,0 +1,22 @@
+-- Return tasks whose lease has expired to their queue with their original score.
+-- KEYS[1]: queue, KEYS[2]: inflight, KEYS[3]: leases, KEYS[4]: deadlines (unused), KEYS[5]: enqueued
+-- The wait clock of a requeued task restarts at the requeue time.
+-- ARGV[1]: current time in epoch millis
+-- ARGV[2]: maximum number of leases to requeue in this call
+-- Returns the number of requeued tasks.
+
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+
+local requeued = 0
+for _, task in ipairs(expired) do
+    local score = redis.call('HGET', KEYS[3], task)
+    if score then
+        redis.call('ZADD', KEYS[1], score, task)
+        redis.call('ZADD', KEYS[5], 'NX', ARGV[1], task)
+        requeued = requeued + 1
+    end
+    redis.call('ZREM', KEYS[2], task)
+    redis.call('HDEL', KEYS[3], task)
+end
+
+return requeued
@@ -28,6 +28,7 @@ import java.util.HashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +38,7 @@ class WaveEventConsumerTest {
     private TaskManagementService taskManagementService;
 
     @Captor
-    private ArgumentCaptor<CreateTaskCommand> commandCaptor;
+    private ArgumentCaptor<List<CreateTaskCommand>> commandCaptor;
 
     private WaveEventConsumer consumer;
     private ObjectMapper objectMapper;
@@ -86,15 +87,15 @@ class WaveEventConsumerTest {
             new PickTaskContext("WAVE-001", "ORD-001", PickTaskContext.PickStrategy.DISCRETE, List.of(instruction))
         );
 
-        when(taskManagementService.createTask(any(CreateTaskCommand.class))).thenReturn(mockTask);
+        when(taskManagementService.createTasks(anyList())).thenReturn(List.of(mockTask));
 
         // When
         consumer.handleWaveEvent(cloudEvent);
 
         // Then
-        verify(taskManagementService, times(3)).createTask(commandCaptor.capture());
+        verify(taskManagementService).createTasks(commandCaptor.capture());
 
-        List<CreateTaskCommand> commands = commandCaptor.getAllValues();
+        List<CreateTaskCommand> commands = commandCaptor.getValue();
         assertThat(commands).hasSize(3);
         assertThat(commands).allMatch(cmd -> cmd.type() == TaskType.PICK);
         assertThat(commands).allMatch(cmd -> cmd.zone().equals("ZONE-A"));
@@ -138,14 +139,15 @@ class WaveEventConsumerTest {
             new PickTaskContext("WAVE-002", "ORD-004", PickTaskContext.PickStrategy.DISCRETE, List.of(instruction))
         );
 
-        when(taskManagementService.createTask(any(CreateTaskCommand.class))).thenReturn(mockTask);
+        when(taskManagementService.createTasks(anyList())).thenReturn(List.of(mockTask));
 
         // When
         consumer.handleWaveEvent(cloudEvent);
 
         // Then
-        verify(taskManagementService).createTask(commandCaptor.capture());
-        assertThat(commandCaptor.getValue().priority()).isEqualTo(com.paklog.task.execution.domain.valueobject.Priority.URGENT);
+        verify(taskManagementService).createTasks(commandCaptor.capture());
+        assertThat(commandCaptor.getValue()).hasSize(1);
+        assertThat(commandCaptor.getValue().getFirst().priority()).isEqualTo(com.paklog.task.execution.domain.valueobject.Priority.URGENT);
     }
 
     @Test
@@ -167,5 +169,6 @@ class WaveEventConsumerTest {
 
         // Then
         verify(taskManagementService, never()).createTask(any());
+        verify(taskManagementService, never()).createTasks(anyList());
     }
 }
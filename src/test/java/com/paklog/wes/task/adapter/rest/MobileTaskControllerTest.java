@@ -8,6 +8,9 @@ import com.paklog.wes.task.domain.aggregate.WorkTask;
 import com.paklog.wes.task.domain.entity.PickTaskContext;
 import com.paklog.wes.task.domain.valueobject.Location;
 import com.paklog.wes.task.domain.valueobject.TaskType;
+import com.paklog.wes.task.infrastructure.assignment.TaskAssignmentEngine;
+import com.paklog.wes.task.infrastructure.assignment.TaskRecommendation;
+import com.paklog.wes.task.infrastructure.assignment.ZoneAssignmentScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,10 +18,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -38,6 +44,12 @@ class MobileTaskControllerTest {
     @MockBean
     private TaskManagementService taskManagementService;
 
+    @MockBean
+    private TaskAssignmentEngine assignmentEngine;
+
+    @MockBean
+    private ZoneAssignmentScheduler assignmentScheduler;
+
     private WorkTask workTask;
 
     @BeforeEach
@@ -59,6 +71,44 @@ class MobileTaskControllerTest {
         workTask.queue();
     }
 
+    @Test
+    void getSuggestedTasksReturnsTopRecommendations() throws Exception {
+        TaskRecommendation recommendation = new TaskRecommendation(
+                workTask.getTaskId(), TaskType.PICK, Priority.HIGH, "ZONE-A", 150.0, 30);
+        when(assignmentEngine.getTaskRecommendations("WORKER-1", 5)).thenReturn(List.of(recommendation));
+
+        mockMvc.perform(get("/api/v1/mobile/tasks/suggested").param("limit", "5").header("X-Worker-Id", "WORKER-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].taskId").value(workTask.getTaskId()))
+                .andExpect(jsonPath("$[0].estimatedWalkTimeSeconds").value(30));
+    }
+
+    @Test
+    void nextTaskIsAssignedThroughTheZoneScheduler() throws Exception {
+        workTask.assign("WORKER-1");
+        when(assignmentScheduler.nextTask("WORKER-1")).thenReturn(CompletableFuture.completedFuture(Optional.of(workTask)));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/mobile/tasks/next").header("X-Worker-Id", "WORKER-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taskId").value(workTask.getTaskId()));
+    }
+
+    @Test
+    void nextTaskReturnsNoContentWhenNothingIsQueued() throws Exception {
+        when(assignmentScheduler.nextTask("WORKER-2")).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/mobile/tasks/next").header("X-Worker-Id", "WORKER-2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNoContent());
+    }
+
     @Test
     void getMyTasksReturnsActiveAssignments() throws Exception {
         when(taskManagementService.findActiveTasksByWorker("WORKER-1")).thenReturn(List.of(workTask));
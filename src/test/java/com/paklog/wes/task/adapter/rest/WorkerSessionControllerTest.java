@@ -0,0 +1,115 @@
+package com.paklog.wes.task.adapter.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paklog.task.execution.domain.valueobject.Priority;
+import com.paklog.wes.task.adapter.rest.dto.LocationDto;
+import com.paklog.wes.task.adapter.rest.dto.WorkerPositionRequest;
+import com.paklog.wes.task.adapter.rest.dto.WorkerSignInRequest;
+import com.paklog.wes.task.application.service.TaskManagementService;
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import com.paklog.wes.task.infrastructure.assignment.Worker;
+import com.paklog.wes.task.infrastructure.assignment.WorkerRegistry;
+import com.paklog.wes.task.infrastructure.assignment.WorkerSpatialIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(WorkerSessionController.class)
+@Import({WorkerRegistry.class, WorkerSpatialIndex.class})
+class WorkerSessionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WorkerRegistry workerRegistry;
+
+    @MockBean
+    private TaskManagementService taskManagementService;
+
+    @Test
+    void signInPositionScanAndSignOutDriveTheRegistry() throws Exception {
+        when(taskManagementService.findActiveTasksByWorker("WORKER-1")).thenReturn(List.of(heldTask()));
+        WorkerSignInRequest signIn = new WorkerSignInRequest("WH-1", "ZONE-A",
+                new LocationDto("A", "01", "01", null), Set.of(TaskType.PICK), null, 0.9);
+
+        mockMvc.perform(post("/api/v1/mobile/workers/sign-in")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signIn)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeTaskCount").value(1))
+                .andExpect(jsonPath("$.available").value(true));
+        assertThat(workerRegistry.availableWorkers("WH-1")).extracting(Worker::workerId).containsExactly("WORKER-1");
+
+        WorkerPositionRequest scan = new WorkerPositionRequest("ZONE-B", new LocationDto("B", "20", "01", null));
+        mockMvc.perform(put("/api/v1/mobile/workers/position")
+                        .header("X-Worker-Id", "WORKER-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(scan)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.zone").value("ZONE-B"));
+        assertThat(workerRegistry.nearest("WH-1", "ZONE-B", Location.fromCode("B-21-01"), 1, worker -> true))
+                .extracting(Worker::workerId).containsExactly("WORKER-1");
+
+        mockMvc.perform(post("/api/v1/mobile/workers/sign-out").header("X-Worker-Id", "WORKER-1"))
+                .andExpect(status().isNoContent());
+        assertThat(workerRegistry.find("WORKER-1")).isEmpty();
+        assertThat(workerRegistry.nearest("WH-1", null, Location.fromCode("B-21-01"), 1, worker -> true)).isEmpty();
+    }
+
+    @Test
+    void positionOfAWorkerWhoIsNotSignedInIsNotFound() throws Exception {
+        WorkerPositionRequest scan = new WorkerPositionRequest("ZONE-A", new LocationDto("A", "02", "01", null));
+
+        mockMvc.perform(put("/api/v1/mobile/workers/position")
+                        .header("X-Worker-Id", "WORKER-9")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(scan)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void signInWithoutCapabilitiesIsRejected() throws Exception {
+        WorkerSignInRequest signIn = new WorkerSignInRequest("WH-1", "ZONE-A",
+                new LocationDto("A", "01", "01", null), Set.of(), null, null);
+
+        mockMvc.perform(post("/api/v1/mobile/workers/sign-in")
+                        .header("X-Worker-Id", "WORKER-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signIn)))
+                .andExpect(status().isBadRequest());
+        assertThat(workerRegistry.find("WORKER-2")).isEmpty();
+    }
+
+    private static WorkTask heldTask() {
+        Location location = new Location("A", "03", "01", "01");
+        PickTaskContext context = new PickTaskContext("WAVE-1", "ORDER-1", PickTaskContext.PickStrategy.DISCRETE,
+                List.of(new PickTaskContext.PickInstruction("SKU-1", 1, location, "LPN-1")));
+        WorkTask task = WorkTask.create(TaskType.PICK, "WH-1", "ZONE-A", location, Priority.NORMAL, "REF-1",
+                Duration.ofMinutes(5), LocalDateTime.now().plusHours(1), context);
+        task.queue();
+        task.assign("WORKER-1");
+        return task;
+    }
+}
@@ -68,7 +68,7 @@ class DtoMappingTest {
 
         CreateTaskRequest request = new CreateTaskRequest(TaskType.PICK, "WH-1", "ZONE-A",
                 new LocationDto("A", "01", "01", "01"), Priority.HIGH, "REF-1", 900,
-                LocalDateTime.now().plusHours(1), Map.of("type", "PICK"));
+                LocalDateTime.now().plusHours(1), null, Map.of("type", "PICK"));
         assertThat(request.type()).isEqualTo(TaskType.PICK);
     }
 }
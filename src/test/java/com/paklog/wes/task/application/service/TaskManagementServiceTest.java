@@ -9,7 +9,10 @@ import com.paklog.wes.task.domain.repository.WorkTaskRepository;
 import com.paklog.wes.task.domain.valueobject.Location;
 import com.paklog.wes.task.domain.valueobject.TaskStatus;
 import com.paklog.wes.task.domain.valueobject.TaskType;
-import com.paklog.wes.task.infrastructure.queue.TaskQueueManager;
+import com.paklog.wes.task.infrastructure.assignment.WorkerRegistry;
+import com.paklog.wes.task.infrastructure.queue.TaskQueue;
+import com.paklog.wes.task.infrastructure.routing.PickPathSequencer;
+import com.paklog.wes.task.infrastructure.routing.PickTourBatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,8 +22,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,11 +41,20 @@ class TaskManagementServiceTest {
     private WorkTaskRepository taskRepository;
 
     @Mock
-    private TaskQueueManager queueManager;
+    private TaskQueue queueManager;
 
     @Mock
     private DomainEventPublisher domainEventPublisher;
 
+    @Mock
+    private WorkerRegistry workerRegistry;
+
+    @Mock
+    private PickPathSequencer pickPathSequencer;
+
+    @Mock
+    private PickTourBatcher pickTourBatcher;
+
     @InjectMocks
     private TaskManagementService service;
 
@@ -66,6 +81,56 @@ class TaskManagementServiceTest {
 
         assertThat(created.getStatus()).isEqualTo(TaskStatus.QUEUED);
         verify(queueManager).enqueue(created);
+        verify(pickPathSequencer).sequence("WH-1", location, context);
+    }
+
+    @Test
+    void createTasksSavesInBulkAndEnqueuesAllAtOnce() {
+        CreateTaskCommand first = new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-A", location,
+                Priority.HIGH, "REF-1", Duration.ofMinutes(10), LocalDateTime.now().plusHours(2), context);
+        CreateTaskCommand second = new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-B", location,
+                Priority.NORMAL, "REF-2", Duration.ofMinutes(10), LocalDateTime.now().plusHours(2), context);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(pickTourBatcher.batch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<WorkTask> created = service.createTasks(List.of(first, second));
+
+        assertThat(created).hasSize(2).allMatch(t -> t.getStatus() == TaskStatus.QUEUED);
+        verify(taskRepository).saveAll(anyList());
+        verify(queueManager).enqueueAll(created);
+        verify(queueManager, never()).enqueue(any());
+        verify(domainEventPublisher, times(2)).publishDomainEvents(any(WorkTask.class));
+    }
+
+    @Test
+    void createTaskWithFutureReleaseTimeIsScheduledNotQueued() {
+        LocalDateTime releaseAt = LocalDateTime.now().plusHours(8);
+        CreateTaskCommand command = new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-A", location,
+                Priority.NORMAL, "REF-1", Duration.ofMinutes(10), releaseAt.plusHours(2), context, releaseAt);
+
+        WorkTask created = service.createTask(command);
+
+        assertThat(created.getStatus()).isEqualTo(TaskStatus.PENDING);
+        assertThat(created.getScheduledFor()).isEqualTo(releaseAt);
+        verify(queueManager).schedule(List.of(created));
+        verify(queueManager, never()).enqueue(any());
+    }
+
+    @Test
+    void promoteDueTasksQueuesPendingTasksAndAcknowledgesAllClaims() {
+        task.scheduleFor(LocalDateTime.now().minusMinutes(1));
+        Instant now = Instant.now();
+        when(queueManager.claimDueScheduled(now, Duration.ofMinutes(1), 100))
+                .thenReturn(List.of(task.getTaskId(), "CANCELLED-OR-MISSING"));
+        when(taskRepository.findAllById(List.of(task.getTaskId(), "CANCELLED-OR-MISSING"))).thenReturn(List.of(task));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        int promoted = service.promoteDueTasks(now, Duration.ofMinutes(1), 100);
+
+        assertThat(promoted).isEqualTo(1);
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.QUEUED);
+        verify(queueManager).enqueueAll(List.of(task));
+        verify(queueManager).removeScheduled(List.of(task.getTaskId(), "CANCELLED-OR-MISSING"));
     }
 
     @Test
@@ -77,6 +142,24 @@ class TaskManagementServiceTest {
 
         verify(queueManager).remove(task);
         verify(taskRepository).save(task);
+        verify(workerRegistry).taskAssigned("WORKER-1");
+    }
+
+    @Test
+    void assignTasksCommitsAllAssignmentsInBulk() {
+        task.queue();
+        Map<String, String> assignments = new LinkedHashMap<>();
+        assignments.put(task.getTaskId(), "WORKER-1");
+        assignments.put("MISSING", "WORKER-2");
+        when(taskRepository.findAllById(assignments.keySet())).thenReturn(List.of(task));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<WorkTask> assigned = service.assignTasks(assignments);
+
+        assertThat(assigned).containsExactly(task);
+        assertThat(task.getAssignedTo()).isEqualTo("WORKER-1");
+        verify(queueManager).removeAll(List.of(task));
+        verify(taskRepository, never()).save(any());
     }
 
     @Test
@@ -88,6 +171,7 @@ class TaskManagementServiceTest {
         service.rejectTask(task.getTaskId(), "Busy");
 
         verify(queueManager).enqueue(task);
+        verify(workerRegistry).taskReleased("WORKER-1");
         assertThat(task.getStatus()).isEqualTo(TaskStatus.QUEUED);
     }
 
@@ -103,6 +187,8 @@ class TaskManagementServiceTest {
 
         assertThat(completed.getStatus()).isEqualTo(TaskStatus.COMPLETED);
         verify(taskRepository).save(task);
+        verify(workerRegistry).taskReleased("WORKER-1");
+        verify(workerRegistry).updatePosition("WORKER-1", "ZONE-A", location);
     }
 
     @Test
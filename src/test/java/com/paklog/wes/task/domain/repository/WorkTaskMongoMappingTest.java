@@ -0,0 +1,62 @@
+package com.paklog.wes.task.domain.repository;
+
+import com.paklog.task.execution.domain.valueobject.Priority;
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkTaskMongoMappingTest {
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        // Same store conversions as Spring Boot, so java.time values are simple types rather than entities
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    void locationIsStoredAsItsCodeFieldsAndResolvedAgainOnRead() {
+        Location location = new Location("B", "12", "03", "02");
+        PickTaskContext context = new PickTaskContext("WAVE-1", "ORDER-1", PickTaskContext.PickStrategy.DISCRETE,
+                List.of(new PickTaskContext.PickInstruction("SKU-1", 2, Location.fromCode("C-04-01"), "LPN-1")));
+        WorkTask task = WorkTask.create(TaskType.PICK, "WH-1", "ZONE-B", location, Priority.HIGH, "REF-1",
+                Duration.ofMinutes(5), LocalDateTime.now().plusHours(1), context);
+        task.queue();
+
+        Document document = new Document();
+        converter.write(task, document);
+
+        Document storedLocation = document.get("taskLocation", Document.class);
+        assertThat(storedLocation.keySet()).containsOnly("aisle", "bay", "level", "position");
+
+        WorkTask read = converter.read(WorkTask.class, document);
+
+        assertThat(read.getTaskLocation()).isEqualTo(location);
+        assertThat(read.getTaskLocation().hasNumericGrid()).isTrue();
+        assertThat(read.getTaskLocation().aisleOrdinal()).isEqualTo(location.aisleOrdinal());
+        assertThat(read.getTaskLocation().distanceFrom(Location.fromCode("D-10-01")))
+                .isEqualTo(location.distanceFrom(Location.fromCode("D-10-01")));
+        assertThat(read.getContext()).isInstanceOf(PickTaskContext.class);
+    }
+}
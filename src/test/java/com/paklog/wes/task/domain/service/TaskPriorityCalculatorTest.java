@@ -8,12 +8,16 @@ import com.paklog.wes.task.domain.valueobject.TaskType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class TaskPriorityCalculatorTest {
 
@@ -143,6 +147,101 @@ class TaskPriorityCalculatorTest {
                 .contains("High queue depth");
     }
 
+    @Test
+    void scoresAgainstTheInjectedClock() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 2, 10, 0);
+        TaskPriorityCalculator fixed = new TaskPriorityCalculator(
+                Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        WorkTask task = newTask(
+                Priority.NORMAL,
+                TaskType.PICK,
+                now.plusMinutes(90),
+                Map.of(
+                        "customerTier", "SILVER",
+                        "carrierCutoffTime", now.plusMinutes(100).toString()
+                )
+        );
+        task.setZone("PICK-B1");
+        task.setCreatedAt(now.minusHours(3));
+
+        // SLA 90, cutoff 80, customer 70, zone 70, age 40 -> (31 + 24 + 14 + 7 + 2) * 5
+        assertThat(fixed.calculatePriority(task)).isEqualTo(390);
+        assertThat(fixed.calculatePriority(task, now)).isEqualTo(390);
+    }
+
+    @Test
+    void extractedFeaturesRescoreWithoutReadingTheTaskAgain() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 2, 10, 0);
+        CountingTaskContext context = new CountingTaskContext(Map.of(
+                "customerTier", "SILVER",
+                "carrierCutoffTime", now.plusMinutes(100)
+        ));
+        WorkTask task = WorkTask.create(TaskType.PICK, "WH-1", "PICK-B1", defaultLocation, Priority.NORMAL,
+                "REF-123", Duration.ofMinutes(30), now.plusMinutes(90), context);
+        task.setCreatedAt(now.minusHours(3));
+
+        PriorityFeatures features = calculator.extractFeatures(task);
+
+        assertThat(context.reads).isEqualTo(1);
+        assertThat(calculator.score(features, PriorityFeatures.toNanos(now)))
+                .isEqualTo(calculator.calculatePriority(task, now))
+                .isEqualTo(390);
+        // An hour later: SLA 95, cutoff 90, age 40 -> (33 + 27 + 14 + 7 + 2) * 5
+        assertThat(calculator.score(features, PriorityFeatures.toNanos(now.plusHours(1)))).isEqualTo(415);
+    }
+
+    @Test
+    void nextScoreChangeIsTheNearestBandEdge() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 2, 10, 0);
+        WorkTask task = newTask(Priority.NORMAL, TaskType.PICK, now.plusMinutes(90), Map.of());
+        task.setCreatedAt(now.minusMinutes(30));
+        PriorityFeatures features = calculator.extractFeatures(task);
+        long nowNanos = PriorityFeatures.toNanos(now);
+
+        // Under an hour to the deadline from 10:30 on; age only moves at 12:30
+        long next = calculator.nextScoreChange(features, nowNanos);
+        assertThat(next).isEqualTo(PriorityFeatures.toNanos(now.plusMinutes(30)) + 1);
+        assertThat(calculator.score(features, next - 1)).isEqualTo(calculator.score(features, nowNanos));
+        assertThat(calculator.score(features, next)).isGreaterThan(calculator.score(features, nowNanos));
+
+        PriorityFeatures timeless = new PriorityFeatures(PriorityFeatures.ABSENT, PriorityFeatures.ABSENT,
+                PriorityFeatures.ABSENT, 50, 50, 1.0, false, PriorityWeightProfile.DEFAULT);
+        assertThat(calculator.nextScoreChange(timeless, nowNanos)).isEqualTo(PriorityFeatures.ABSENT);
+    }
+
+    @Test
+    void warehouseProfileReweightsOnlyItsOwnTasks() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 2, 10, 0);
+        WorkTask task = newTask(Priority.NORMAL, TaskType.PICK, now.plusMinutes(90), Map.of("customerTier", "SILVER"));
+        task.setCreatedAt(now.minusHours(3));
+        WorkTask otherWarehouse = WorkTask.create(TaskType.PICK, "WH-2", "ZONE-A", defaultLocation, Priority.NORMAL,
+                "REF-456", Duration.ofMinutes(30), now.plusMinutes(90), new StubTaskContext(Map.of("customerTier", "SILVER")));
+        otherWarehouse.setCreatedAt(now.minusHours(3));
+        PriorityFeatures before = calculator.extractFeatures(task);
+
+        // SLA only, and a site that rates SILVER customers highest
+        PriorityWeightProfile slaOnly = new PriorityWeightProfile(100, 0, 0, 0, 0,
+                Map.of("silver", 100), 50, List.of(), 30, 50);
+        calculator.setProfiles(new PriorityProfiles(PriorityWeightProfile.DEFAULT, Map.of("WH-1", slaOnly)));
+
+        PriorityFeatures after = calculator.extractFeatures(task);
+        assertThat(after.customerScore()).isEqualTo(100);
+        assertThat(calculator.calculatePriority(task, now)).isEqualTo(450);
+        // Default model: SLA 90, no cutoff 30, customer 70, zone 90, age 40 -> (31 + 9 + 14 + 9 + 2) * 5
+        assertThat(calculator.calculatePriority(otherWarehouse, now)).isEqualTo(325);
+        // Features extracted before the swap keep the profile they were extracted with
+        assertThat(calculator.score(before, PriorityFeatures.toNanos(now))).isEqualTo(325);
+    }
+
+    @Test
+    void profilesRejectOutOfRangeScores() {
+        assertThatThrownBy(() -> new PriorityWeightProfile(35, 30, 20, 10, 5,
+                Map.of("GOLD", 120), 50, List.of(), 30, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> calculator.setProfiles(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private WorkTask newTask(
             Priority priority,
             TaskType type,
@@ -164,6 +263,20 @@ class TaskPriorityCalculatorTest {
         return task;
     }
 
+    private static class CountingTaskContext extends StubTaskContext {
+        private int reads;
+
+        private CountingTaskContext(Map<String, Object> metadata) {
+            super(metadata);
+        }
+
+        @Override
+        public Map<String, Object> getMetadata() {
+            reads++;
+            return super.getMetadata();
+        }
+    }
+
     private static class StubTaskContext implements TaskContext {
         private final Map<String, Object> metadata;
 
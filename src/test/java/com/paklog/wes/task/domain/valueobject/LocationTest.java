@@ -42,6 +42,25 @@ class LocationTest {
         assertThat(distance).isEqualTo( (Math.abs("A".compareTo("B")) * 100.0) + (2 * 10.0) + (1 * 1.0) );
     }
 
+    @Test
+    void distanceFromUsesNumericAislePartsAndFallsBackToStringComparison() {
+        Location aisle2 = Location.fromCode("A2-01-01");
+        Location aisle12 = Location.fromCode("B12-01-01");
+        Location mixed = Location.fromCode("C-01-01");
+
+        assertThat(aisle2.distanceFrom(aisle12)).isEqualTo(1000.0);
+        assertThat(aisle2.distanceFrom(mixed)).isEqualTo(Math.abs("A2".compareTo("C")) * 100.0);
+        assertThat(Location.fromCode("AA-01-01").distanceFrom(Location.fromCode("AB-03-01"))).isEqualTo(120.0);
+    }
+
+    @Test
+    void distanceFromStillRejectsNonNumericBays() {
+        Location numeric = Location.fromCode("A-01-01");
+        Location lettered = Location.fromCode("A-XX-01");
+
+        assertThatThrownBy(() -> numeric.distanceFrom(lettered)).isInstanceOf(NumberFormatException.class);
+    }
+
     @Test
     void inSameZoneComparesAisle() {
         Location one = Location.fromCode("A-01-01");
@@ -0,0 +1,156 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SparseAssignmentSolverTest {
+
+    private static final double X = Double.POSITIVE_INFINITY;
+
+    @Test
+    void solvesSquareMatrixOptimally() {
+        double[][] cost = {
+                {4, 1, 3},
+                {2, 0, 5},
+                {3, 2, 2}
+        };
+
+        int[] assignment = solve(cost);
+
+        assertThat(assignment).containsExactly(1, 0, 2);
+    }
+
+    @Test
+    void leavesSurplusRowsUnassignedWhenThereAreMoreRowsThanColumns() {
+        double[][] cost = {
+                {5, 9},
+                {1, 8},
+                {7, 2}
+        };
+
+        int[] assignment = solve(cost);
+
+        assertThat(assignment).containsExactly(-1, 0, 1);
+    }
+
+    @Test
+    void neverUsesMissingPairsAndPrefersAssigningMoreRows() {
+        double[][] cost = {
+                {0, X},
+                {1, X},
+                {X, X}
+        };
+
+        assertThat(solve(cost)).containsExactly(0, -1, -1);
+
+        double[][] crossed = {
+                {0, 1},
+                {0, X}
+        };
+
+        assertThat(solve(crossed)).containsExactly(1, 0);
+    }
+
+    @Test
+    void laterRowCanTakeOverAColumnFromAnEarlierRow() {
+        double[][] cost = {
+                {10},
+                {0}
+        };
+
+        assertThat(solve(cost)).containsExactly(-1, 0);
+    }
+
+    @Test
+    void matchesBruteForceOnRandomSparseMatrices() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            int rows = 1 + random.nextInt(5);
+            int columns = 1 + random.nextInt(5);
+            double[][] cost = new double[rows][columns];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < columns; c++) {
+                    cost[r][c] = random.nextInt(3) == 0 ? X : random.nextInt(50) - 25;
+                }
+            }
+
+            int[] assignment = solve(cost);
+
+            double[] best = bruteForce(cost, 0, new boolean[columns]);
+            assertThat(assigned(assignment)).isEqualTo((int) best[0]);
+            assertThat(total(cost, assignment)).isEqualTo(best[1]);
+        }
+    }
+
+    /**
+     * Solves a dense matrix, with infinite cells left out of the edge lists
+     */
+    private static int[] solve(double[][] cost) {
+        int rows = cost.length;
+        int columns = cost[0].length;
+        int[][] edgeColumns = new int[rows][];
+        double[][] edgeCosts = new double[rows][];
+        for (int r = 0; r < rows; r++) {
+            double[] rowCost = cost[r];
+            List<Integer> permitted = new ArrayList<>();
+            for (int c = 0; c < columns; c++) {
+                if (!Double.isInfinite(rowCost[c])) {
+                    permitted.add(c);
+                }
+            }
+            edgeColumns[r] = permitted.stream().mapToInt(Integer::intValue).toArray();
+            edgeCosts[r] = permitted.stream().mapToDouble(c -> rowCost[c]).toArray();
+        }
+        return SparseAssignmentSolver.solve(rows, columns, edgeColumns, edgeCosts);
+    }
+
+    private static int assigned(int[] assignment) {
+        int assigned = 0;
+        for (int column : assignment) {
+            if (column >= 0) {
+                assigned++;
+            }
+        }
+        return assigned;
+    }
+
+    private static double total(double[][] cost, int[] assignment) {
+        double total = 0;
+        for (int r = 0; r < assignment.length; r++) {
+            if (assignment[r] >= 0) {
+                assertThat(cost[r][assignment[r]]).isFinite();
+                total += cost[r][assignment[r]];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Most pairs over permitted cells, then the lowest total cost: {pairs, cost}
+     */
+    private static double[] bruteForce(double[][] cost, int row, boolean[] usedColumns) {
+        if (row == cost.length) {
+            return new double[]{0, 0};
+        }
+
+        double[] best = bruteForce(cost, row + 1, usedColumns);
+        for (int c = 0; c < usedColumns.length; c++) {
+            if (!usedColumns[c] && !Double.isInfinite(cost[row][c])) {
+                usedColumns[c] = true;
+                double[] rest = bruteForce(cost, row + 1, usedColumns);
+                usedColumns[c] = false;
+                double pairs = rest[0] + 1;
+                double total = rest[1] + cost[row][c];
+                if (pairs > best[0] || (pairs == best[0] && total < best[1])) {
+                    best = new double[]{pairs, total};
+                }
+            }
+        }
+        return best;
+    }
+}
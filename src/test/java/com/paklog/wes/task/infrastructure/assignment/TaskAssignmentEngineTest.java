@@ -6,18 +6,24 @@ import com.paklog.wes.task.domain.aggregate.WorkTask;
 import com.paklog.wes.task.domain.entity.PickTaskContext;
 import com.paklog.wes.task.domain.valueobject.Location;
 import com.paklog.wes.task.domain.valueobject.TaskType;
-import com.paklog.wes.task.infrastructure.queue.TaskQueueManager;
+import com.paklog.wes.task.infrastructure.layout.HeuristicTravelTimeModel;
+import com.paklog.wes.task.infrastructure.layout.TravelTimeModel;
+import com.paklog.wes.task.infrastructure.queue.TaskQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,11 +33,17 @@ import static org.mockito.Mockito.*;
 class TaskAssignmentEngineTest {
 
     @Mock
-    private TaskQueueManager queueManager;
+    private TaskQueue queueManager;
 
     @Mock
     private TaskManagementService taskService;
 
+    @Spy
+    private TravelTimeModel travelTimeModel = new HeuristicTravelTimeModel();
+
+    @Spy
+    private WorkerRegistry workerRegistry = new WorkerRegistry(new WorkerSpatialIndex(), Optional.empty());
+
     @InjectMocks
     private TaskAssignmentEngine assignmentEngine;
 
@@ -129,6 +141,100 @@ class TaskAssignmentEngineTest {
         verify(taskService).assignTask(queuedTask.getTaskId(), worker.workerId());
     }
 
+    @Test
+    void assignTaskToBestWorkerScoresLargePoolsInParallel() {
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < 800; i++) {
+            workers.add(Worker.builder()
+                    .workerId("WORKER-" + i)
+                    .warehouseId("WH-001")
+                    .currentZone("ZONE-B")
+                    .capabilities(Set.of(TaskType.PICK))
+                    .activeTaskCount(2)
+                    .performanceRating(0.5)
+                    .build());
+        }
+        Worker best = worker("WORKER-BEST", Set.of(TaskType.PICK));
+        workers.add(517, best);
+        when(taskService.assignTask(queuedTask.getTaskId(), best.workerId())).thenReturn(queuedTask);
+
+        AssignmentResult result = assignmentEngine.assignTaskToBestWorker(queuedTask, workers);
+
+        assertThat(result.success()).isTrue();
+        assertThat(result.workerId()).isEqualTo(best.workerId());
+    }
+
+    @Test
+    void assignTaskToBestWorkerOnlyTriesTheTopCandidates() {
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            workers.add(worker("WORKER-" + i, Set.of(TaskType.PICK)));
+        }
+        when(taskService.assignTask(eq(queuedTask.getTaskId()), anyString()))
+                .thenThrow(new IllegalStateException("Cannot assign"));
+
+        AssignmentResult result = assignmentEngine.assignTaskToBestWorker(queuedTask, workers);
+
+        assertThat(result.success()).isFalse();
+        verify(taskService, times(5)).assignTask(eq(queuedTask.getTaskId()), anyString());
+    }
+
+    @Test
+    void assignTaskToNearestWorkerUsesIndexedWorkersAndFallsBackToOtherZones() {
+        Worker busyNearby = Worker.builder()
+                .workerId("WORKER-BUSY")
+                .warehouseId("WH-001")
+                .currentZone("ZONE-A")
+                .currentLocation(location)
+                .capabilities(Set.of(TaskType.PICK))
+                .activeTaskCount(Worker.MAX_ACTIVE_TASKS)
+                .build();
+        Worker otherZone = Worker.builder()
+                .workerId("WORKER-FAR")
+                .warehouseId("WH-001")
+                .currentZone("ZONE-B")
+                .currentLocation(new Location("D", "01", "01", "01"))
+                .capabilities(Set.of(TaskType.PICK))
+                .build();
+        workerRegistry.register(busyNearby);
+        workerRegistry.register(otherZone);
+        when(taskService.assignTask(queuedTask.getTaskId(), otherZone.workerId())).thenReturn(queuedTask);
+
+        AssignmentResult result = assignmentEngine.assignTaskToNearestWorker(queuedTask);
+
+        assertThat(result.success()).isTrue();
+        assertThat(result.workerId()).isEqualTo(otherZone.workerId());
+    }
+
+    @Test
+    void assignTaskToNearestZoneWorkerNeverReachesIntoOtherZones() {
+        Worker otherZone = Worker.builder()
+                .workerId("WORKER-FAR")
+                .warehouseId("WH-001")
+                .currentZone("ZONE-B")
+                .currentLocation(new Location("D", "01", "01", "01"))
+                .capabilities(Set.of(TaskType.PICK))
+                .build();
+        workerRegistry.register(otherZone);
+
+        AssignmentResult result = assignmentEngine.assignTaskToNearestZoneWorker(queuedTask);
+
+        assertThat(result.success()).isFalse();
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void getNextTaskForRegisteredWorkerUsesRegistryState() {
+        Worker worker = worker("WORKER-1", Set.of(TaskType.PICK));
+        workerRegistry.register(worker);
+        when(queueManager.dequeue(worker.workerId(), worker.warehouseId(), worker.currentZone(), worker.capabilities()))
+                .thenReturn(Optional.of(queuedTask.getTaskId()));
+        when(taskService.assignTask(queuedTask.getTaskId(), worker.workerId())).thenReturn(queuedTask);
+
+        assertThat(assignmentEngine.getNextTaskForWorker(worker.workerId())).contains(queuedTask);
+        assertThat(assignmentEngine.getNextTaskForWorker("UNKNOWN")).isEmpty();
+    }
+
     @Test
     void getTaskRecommendationsSortsByScore() {
         Worker worker = worker("WORKER-1", Set.of(TaskType.PICK));
@@ -150,6 +256,135 @@ class TaskAssignmentEngineTest {
         assertThat(recommendations.get(1).estimatedWalkTimeSeconds()).isGreaterThan(0);
     }
 
+    @Test
+    void batchAssignFindsGloballyBestPairingAndCommitsInBulk() {
+        WorkTask pickTask = createTask(TaskType.PICK, "ZONE-A");
+        WorkTask packTask = createTask(TaskType.PACK, "ZONE-A");
+        Worker generalist = Worker.builder()
+                .workerId("WORKER-1")
+                .warehouseId("WH-001")
+                .currentZone("ZONE-A")
+                .currentLocation(location)
+                .capabilities(Set.of(TaskType.PICK, TaskType.PACK))
+                .activeTaskCount(2)
+                .build();
+        Worker picker = Worker.builder()
+                .workerId("WORKER-2")
+                .warehouseId("WH-001")
+                .currentZone("ZONE-B")
+                .capabilities(Set.of(TaskType.PICK))
+                .activeTaskCount(2)
+                .build();
+        Map<String, String> expected = Map.of(
+                pickTask.getTaskId(), picker.workerId(),
+                packTask.getTaskId(), generalist.workerId());
+        when(taskService.assignTasks(expected)).thenReturn(List.of(pickTask, packTask));
+
+        List<AssignmentResult> results = assignmentEngine.batchAssign(
+                List.of(pickTask, packTask), List.of(generalist, picker));
+
+        assertThat(results).extracting(AssignmentResult::taskId)
+                .containsExactly(pickTask.getTaskId(), packTask.getTaskId());
+        assertThat(results).allMatch(AssignmentResult::success);
+        assertThat(results).extracting(AssignmentResult::workerId)
+                .containsExactly(picker.workerId(), generalist.workerId());
+        verify(taskService, never()).assignTask(anyString(), anyString());
+    }
+
+    @Test
+    void batchAssignRespectsRemainingCapacity() {
+        WorkTask first = createTask(TaskType.PICK, "ZONE-A");
+        WorkTask second = createTask(TaskType.PICK, "ZONE-A");
+        WorkTask third = createTask(TaskType.PICK, "ZONE-A");
+        WorkTask pack = createTask(TaskType.PACK, "ZONE-A");
+        Worker worker = worker("WORKER-1", Set.of(TaskType.PICK));
+        Worker busy = Worker.builder()
+                .workerId("WORKER-2")
+                .warehouseId("WH-001")
+                .capabilities(Set.of(TaskType.PICK))
+                .activeTaskCount(Worker.MAX_ACTIVE_TASKS)
+                .build();
+        when(taskService.assignTasks(anyMap())).thenAnswer(invocation -> {
+            Map<String, String> assignments = invocation.getArgument(0);
+            return List.of(first, second, third).stream()
+                    .filter(task -> assignments.containsKey(task.getTaskId()))
+                    .toList();
+        });
+
+        List<AssignmentResult> results = assignmentEngine.batchAssign(
+                List.of(first, second, third, pack), List.of(worker, busy));
+
+        assertThat(results.stream().filter(AssignmentResult::success))
+                .hasSize(2)
+                .allMatch(result -> result.workerId().equals(worker.workerId()));
+        assertThat(results.subList(0, 3)).filteredOn(result -> !result.success())
+                .extracting(AssignmentResult::errorMessage)
+                .containsExactly("No worker capacity available");
+        assertThat(results.get(3).errorMessage()).isEqualTo("No eligible workers available");
+    }
+
+    @Test
+    void batchAssignFillsEveryFreeSlotOfAWaveSizedBatch() {
+        Random random = new Random(7);
+        List<WorkTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            WorkTask task = createTask(TaskType.PICK, "ZONE-A");
+            task.setTaskLocation(randomLocation(random));
+            tasks.add(task);
+        }
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            workers.add(Worker.builder()
+                    .workerId("WORKER-" + i)
+                    .warehouseId("WH-001")
+                    .currentZone("ZONE-A")
+                    .currentLocation(randomLocation(random))
+                    .capabilities(Set.of(TaskType.PICK))
+                    .activeTaskCount(random.nextInt(Worker.MAX_ACTIVE_TASKS))
+                    .performanceRating(random.nextDouble())
+                    .build());
+        }
+        int slots = workers.stream().mapToInt(Worker::remainingCapacity).sum();
+        when(taskService.assignTasks(anyMap())).thenAnswer(invocation -> {
+            Map<String, String> assignments = invocation.getArgument(0);
+            return tasks.stream().filter(task -> assignments.containsKey(task.getTaskId())).toList();
+        });
+        // A plain travel model: the spy would record every scored pair
+        TaskAssignmentEngine engine = new TaskAssignmentEngine(queueManager, taskService,
+                new HeuristicTravelTimeModel(), workerRegistry);
+
+        long started = System.nanoTime();
+        List<AssignmentResult> results = engine.batchAssign(tasks, workers);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        List<AssignmentResult> assigned = results.stream().filter(AssignmentResult::success).toList();
+        assertThat(assigned).hasSize(slots);
+        workers.forEach(worker -> assertThat(assigned)
+                .filteredOn(result -> result.workerId().equals(worker.workerId()))
+                .hasSizeLessThanOrEqualTo(worker.remainingCapacity()));
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void getTaskRecommendationsWithLimitReadsQueueHeadsAndKeepsTheBest() {
+        Worker worker = worker("WORKER-1", Set.of(TaskType.PICK));
+        WorkTask near = createTask(TaskType.PICK, "ZONE-A");
+        WorkTask mid = createTask(TaskType.PICK, "ZONE-A");
+        mid.setTaskLocation(new Location("A", "09", "01", "01"));
+        WorkTask far = createTask(TaskType.PICK, "ZONE-A");
+        far.setTaskLocation(new Location("Z", "50", "10", "01"));
+        WorkTask taken = createTask(TaskType.PICK, "ZONE-A");
+        taken.assign("WORKER-2");
+        List<String> heads = List.of(far.getTaskId(), taken.getTaskId(), mid.getTaskId(), near.getTaskId());
+        when(queueManager.peek(worker.warehouseId(), worker.currentZone(), worker.capabilities(), 6)).thenReturn(heads);
+        when(taskService.findTasksByIds(heads)).thenReturn(List.of(far, taken, mid, near));
+
+        List<TaskRecommendation> recommendations = assignmentEngine.getTaskRecommendations(worker, 2);
+
+        assertThat(recommendations).extracting(TaskRecommendation::taskId)
+                .containsExactly(near.getTaskId(), mid.getTaskId());
+    }
+
     @Test
     void getNextTaskReEnqueuesWhenAssignmentFails() {
         Worker worker = worker("WORKER-1", Set.of(TaskType.PICK));
@@ -178,6 +413,11 @@ class TaskAssignmentEngineTest {
                 .build();
     }
 
+    private static Location randomLocation(Random random) {
+        return new Location(String.valueOf((char) ('A' + random.nextInt(26))),
+                String.format("%02d", 1 + random.nextInt(60)), "01", "01");
+    }
+
     private WorkTask createTask(TaskType type, String zone) {
         var instructions = List.of(new PickTaskContext.PickInstruction("SKU-1", 1, location, "LPN-1"));
         PickTaskContext context = new PickTaskContext("WAVE-1", "ORDER-1", PickTaskContext.PickStrategy.DISCRETE, instructions);
@@ -0,0 +1,172 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkerRegistryTest {
+
+    private WorkerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new WorkerRegistry(new WorkerSpatialIndex(), Optional.empty());
+    }
+
+    @Test
+    void activeTaskCountFollowsLifecycleAndDrivesAvailability() {
+        registry.register(worker("W-1", "A-01-01"));
+
+        registry.taskAssigned("W-1");
+        registry.taskAssigned("W-1");
+        registry.taskAssigned("W-1");
+        assertThat(registry.find("W-1")).get().extracting(Worker::activeTaskCount).isEqualTo(3);
+        assertThat(registry.availableWorkers("WH-001")).isEmpty();
+
+        registry.taskReleased("W-1");
+        assertThat(registry.availableWorkers("WH-001")).extracting(Worker::workerId).containsExactly("W-1");
+
+        registry.taskReleased("W-1");
+        registry.taskReleased("W-1");
+        registry.taskReleased("W-1");
+        assertThat(registry.find("W-1")).get().extracting(Worker::activeTaskCount).isEqualTo(0);
+
+        registry.taskAssigned("UNKNOWN");
+        assertThat(registry.find("UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    void positionUpdatesReachTheSpatialIndex() {
+        registry.register(worker("W-1", "A-01-01"));
+        registry.register(worker("W-2", "A-40-01"));
+
+        registry.updatePosition("W-2", "ZONE-A", Location.fromCode("A-02-01"));
+        registry.updatePerformanceRating("W-2", 0.4);
+
+        assertThat(registry.nearest("WH-001", "ZONE-A", Location.fromCode("A-03-01"), 1, worker -> true))
+                .extracting(Worker::workerId).containsExactly("W-2");
+        assertThat(registry.find("W-2")).get().extracting(Worker::performanceRating).isEqualTo(0.4);
+
+        registry.deregister("W-2");
+        assertThat(registry.nearest("WH-001", "ZONE-A", Location.fromCode("A-03-01"), 1, worker -> true))
+                .extracting(Worker::workerId).containsExactly("W-1");
+    }
+
+    @Test
+    void replaceAllSwapsInSnapshotAndDropsMissingWorkers() {
+        registry.register(worker("W-1", "A-01-01"));
+        registry.register(worker("W-2", "A-02-01"));
+
+        registry.replaceAll(List.of(worker("W-2", "B-05-01").withActiveTaskCount(2), worker("W-3", "C-01-01")));
+
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.find("W-1")).isEmpty();
+        assertThat(registry.find("W-2")).get().extracting(Worker::activeTaskCount).isEqualTo(2);
+        assertThat(registry.nearest("WH-001", null, Location.fromCode("A-01-01"), 5, worker -> true))
+                .extracting(Worker::workerId).containsExactly("W-2", "W-3");
+    }
+
+    @Test
+    void positionUpdatesKeepLoadIncrementsFromOtherNodes() {
+        WorkerRegistryMirror mirror = new WorkerRegistryMirror(sharedRedis());
+        WorkerRegistry nodeA = new WorkerRegistry(new WorkerSpatialIndex(), Optional.of(mirror));
+        WorkerRegistry nodeB = new WorkerRegistry(new WorkerSpatialIndex(), Optional.of(mirror));
+        nodeA.register(worker("W-1", "A-01-01"));
+        nodeB.replaceAll(mirror.loadAll());
+
+        nodeB.taskAssigned("W-1");
+        nodeA.updatePosition("W-1", "ZONE-A", Location.fromCode("A-05-01"));
+        nodeA.updatePerformanceRating("W-1", 0.9);
+        // Signing in again on another node must not reset the shared count either
+        nodeB.register(worker("W-1", "A-05-01"));
+
+        assertThat(mirror.loadAll()).singleElement().satisfies(worker -> {
+            assertThat(worker.activeTaskCount()).isEqualTo(1);
+            assertThat(worker.currentLocation()).isEqualTo(Location.fromCode("A-05-01"));
+        });
+    }
+
+    @Test
+    void mirrorProfileEncodingRoundTrips() {
+        Worker worker = Worker.builder()
+                .workerId("W-1")
+                .warehouseId("WH-001")
+                .currentZone("ZONE-A")
+                .currentLocation(Location.fromCode("A-01-02-03"))
+                .capabilities(Set.of(TaskType.PICK, TaskType.PACK))
+                .specializations(Set.of(TaskType.PICK))
+                .activeTaskCount(2)
+                .performanceRating(0.75)
+                .build();
+
+        Worker decoded = WorkerRegistryMirror.decode("WH-001", "W-1", WorkerRegistryMirror.encode(worker), 2);
+
+        assertThat(decoded).isEqualTo(worker);
+        assertThat(WorkerRegistryMirror.decode("WH-001", "W-2", "||||1.0", 0).currentLocation()).isNull();
+    }
+
+    /**
+     * RedisTemplate whose set and hash operations work on one in-memory map, as shared Redis would
+     */
+    @SuppressWarnings("unchecked")
+    private static RedisTemplate<String, String> sharedRedis() {
+        Map<String, Map<Object, Object>> hashes = new ConcurrentHashMap<>();
+        Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+        HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+        SetOperations<String, String> setOps = mock(SetOperations.class);
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForHash()).thenAnswer(invocation -> hashOps);
+        when(redisTemplate.opsForSet()).thenReturn(setOps);
+
+        when(setOps.add(anyString(), anyString())).thenAnswer(invocation -> {
+            sets.computeIfAbsent(invocation.getArgument(0), key -> ConcurrentHashMap.newKeySet())
+                    .add(invocation.getArgument(1));
+            return 1L;
+        });
+        when(setOps.members(anyString())).thenAnswer(invocation -> sets.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> hash(hashes, invocation.getArgument(0))
+                .put(invocation.getArgument(1), invocation.getArgument(2)))
+                .when(hashOps).put(anyString(), any(), any());
+        when(hashOps.putIfAbsent(anyString(), any(), any())).thenAnswer(invocation -> hash(hashes, invocation.getArgument(0))
+                .putIfAbsent(invocation.getArgument(1), invocation.getArgument(2)) == null);
+        when(hashOps.increment(anyString(), any(), anyLong())).thenAnswer(invocation -> Long.parseLong(
+                hash(hashes, invocation.getArgument(0)).merge(invocation.getArgument(1),
+                        String.valueOf(invocation.<Long>getArgument(2)),
+                        (current, delta) -> String.valueOf(Long.parseLong(current.toString())
+                                + Long.parseLong(delta.toString()))).toString()));
+        when(hashOps.entries(anyString())).thenAnswer(invocation -> Map.copyOf(hash(hashes, invocation.getArgument(0))));
+        return redisTemplate;
+    }
+
+    private static Map<Object, Object> hash(Map<String, Map<Object, Object>> hashes, String key) {
+        return hashes.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+    }
+
+    private static Worker worker(String workerId, String locationCode) {
+        return Worker.builder()
+                .workerId(workerId)
+                .warehouseId("WH-001")
+                .currentZone("ZONE-A")
+                .currentLocation(Location.fromCode(locationCode))
+                .capabilities(Set.of(TaskType.PICK))
+                .build();
+    }
+}
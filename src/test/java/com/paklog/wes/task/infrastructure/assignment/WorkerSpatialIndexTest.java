@@ -0,0 +1,163 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkerSpatialIndexTest {
+
+    private WorkerSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new WorkerSpatialIndex();
+    }
+
+    @Test
+    void nearestReturnsClosestWorkersFirst() {
+        index.update(worker("W-FAR", "ZONE-A", "H-30-01"));
+        index.update(worker("W-NEAR", "ZONE-A", "C-05-01"));
+        index.update(worker("W-MID", "ZONE-A", "C-25-01"));
+
+        List<Worker> nearest = index.nearest("WH-001", "ZONE-A", Location.fromCode("C-03-01"), 2, worker -> true);
+
+        assertThat(nearest).extracting(Worker::workerId).containsExactly("W-NEAR", "W-MID");
+    }
+
+    @Test
+    void updatesMoveWorkersBetweenCellsAndZones() {
+        index.update(worker("W-1", "ZONE-A", "A-01-01"));
+        index.update(worker("W-2", "ZONE-A", "A-50-01"));
+
+        index.update(worker("W-1", "ZONE-A", "A-90-01"));
+        assertThat(index.nearest("WH-001", "ZONE-A", Location.fromCode("A-02-01"), 1, worker -> true))
+                .extracting(Worker::workerId).containsExactly("W-2");
+
+        index.update(worker("W-2", "ZONE-B", "A-02-01"));
+        assertThat(index.nearest("WH-001", "ZONE-A", Location.fromCode("A-02-01"), 5, worker -> true))
+                .extracting(Worker::workerId).containsExactly("W-1");
+        assertThat(index.nearest("WH-001", null, Location.fromCode("A-02-01"), 5, worker -> true))
+                .extracting(Worker::workerId).containsExactly("W-2", "W-1");
+
+        index.remove("W-1");
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.nearest("WH-001", "ZONE-A", Location.fromCode("A-02-01"), 5, worker -> true)).isEmpty();
+    }
+
+    @Test
+    void concurrentMovesThroughSharedCellKeepEveryWorker() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String workerId = "W-" + t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    index.update(worker(workerId, "ZONE-A", "A-90-01"));
+                    index.update(worker(workerId, "ZONE-A", "A-01-01"));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(index.nearest("WH-001", "ZONE-A", Location.fromCode("A-01-01"), 4, worker -> true))
+                .extracting(Worker::workerId).containsExactlyInAnyOrder("W-0", "W-1", "W-2", "W-3");
+    }
+
+    @Test
+    void withinRadiusAppliesFilterAndDistance() {
+        index.update(worker("W-1", "ZONE-A", "B-01-01"));
+        index.update(worker("W-2", "ZONE-A", "B-04-01"));
+        index.update(worker("W-3", "ZONE-A", "D-01-01"));
+        index.update(worker("W-4", "ZONE-A", "B-02-01").withPosition("ZONE-A", Location.fromCode("B-02-01")));
+
+        List<Worker> found = index.withinRadius("WH-001", "ZONE-A", Location.fromCode("B-01-01"), 30.0,
+                worker -> !worker.workerId().equals("W-4"));
+
+        assertThat(found).extracting(Worker::workerId).containsExactly("W-1", "W-2");
+    }
+
+    @Test
+    void workersWithoutGridPositionRankLast() {
+        index.update(worker("W-NOWHERE", "ZONE-A", null));
+        index.update(worker("W-PLACED", "ZONE-A", "Z-99-01"));
+
+        assertThat(index.nearest("WH-001", "ZONE-A", Location.fromCode("A-01-01"), 5, worker -> true))
+                .extracting(Worker::workerId).containsExactly("W-PLACED", "W-NOWHERE");
+        assertThat(index.nearest("WH-001", "ZONE-A", null, 5, worker -> true)).hasSize(2);
+    }
+
+    @Test
+    void numberedAislesAreNotPrunedByLetteredAisleOrdinals() {
+        // A and A5 compare by code (one aisle apart) although their ordinals are 65 and 5
+        index.update(worker("W-NUMBERED", "ZONE-A", "A5-01-01"));
+        index.update(worker("W-LETTERED", "ZONE-A", "C-01-01"));
+
+        assertThat(index.nearest("WH-001", "ZONE-A", Location.fromCode("A-01-01"), 1, worker -> true))
+                .extracting(Worker::workerId).containsExactly("W-NUMBERED");
+        assertThat(index.withinRadius("WH-001", "ZONE-A", Location.fromCode("A-01-01"), 150.0, worker -> true))
+                .extracting(Worker::workerId).containsExactly("W-NUMBERED");
+    }
+
+    @Test
+    void nearestMatchesExhaustiveSearch() {
+        assertNearestMatchesExhaustiveSearch(false);
+    }
+
+    @Test
+    void nearestMatchesExhaustiveSearchOverMixedAisleKinds() {
+        assertNearestMatchesExhaustiveSearch(true);
+    }
+
+    private void assertNearestMatchesExhaustiveSearch(boolean mixedAisles) {
+        Random random = new Random(7);
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Worker worker = worker("W-" + i, "ZONE-A", code(random, mixedAisles));
+            workers.add(worker);
+            index.update(worker);
+        }
+
+        for (int round = 0; round < 50; round++) {
+            Location origin = Location.fromCode(code(random, mixedAisles));
+            List<Double> expected = workers.stream()
+                    .map(worker -> origin.distanceFrom(worker.currentLocation()))
+                    .sorted(Comparator.naturalOrder())
+                    .limit(10)
+                    .toList();
+
+            List<Double> actual = index.nearest("WH-001", "ZONE-A", origin, 10, worker -> true).stream()
+                    .map(worker -> origin.distanceFrom(worker.currentLocation()))
+                    .toList();
+
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    private static String code(Random random, boolean mixedAisles) {
+        String aisle = mixedAisles && random.nextBoolean()
+                ? String.format("%02d", 1 + random.nextInt(40))
+                : String.valueOf((char) ('A' + random.nextInt(26)));
+        return aisle + "-" + (1 + random.nextInt(80)) + "-" + (1 + random.nextInt(5));
+    }
+
+    private static Worker worker(String workerId, String zone, String locationCode) {
+        return Worker.builder()
+                .workerId(workerId)
+                .warehouseId("WH-001")
+                .currentZone(zone)
+                .currentLocation(locationCode != null ? Location.fromCode(locationCode) : null)
+                .capabilities(Set.of(TaskType.PICK))
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.paklog.wes.task.infrastructure.assignment;
+
+import com.paklog.task.execution.domain.valueobject.Priority;
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ZoneAssignmentSchedulerTest {
+
+    private TaskAssignmentEngine engine;
+    private WorkerRegistry registry;
+    private ZoneAssignmentScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        engine = mock(TaskAssignmentEngine.class);
+        registry = new WorkerRegistry(new WorkerSpatialIndex(), Optional.empty());
+        ZoneSchedulerProperties properties = new ZoneSchedulerProperties();
+        properties.setThreads(4);
+        properties.setDrainBatch(16);
+        scheduler = new ZoneAssignmentScheduler(engine, registry, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void jobsOfOneZoneRunOneAtATimeInSubmissionOrderPerProducer() throws Exception {
+        int producers = 8;
+        int jobsPerProducer = 1000;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int[] unsynchronisedCounter = new int[1];
+        int[][] lastSeen = new int[producers][1];
+        List<CompletableFuture<Boolean>> futures = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService producerPool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            producerPool.submit(() -> {
+                start.await();
+                for (int i = 1; i <= jobsPerProducer; i++) {
+                    int sequence = i;
+                    futures.add(scheduler.submit("WH-1", "ZONE-A", () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        unsynchronisedCounter[0]++;
+                        boolean inOrder = lastSeen[producer][0] == sequence - 1;
+                        lastSeen[producer][0] = sequence;
+                        running.decrementAndGet();
+                        return inOrder;
+                    }));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        producerPool.shutdown();
+        assertThat(producerPool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(unsynchronisedCounter[0]).isEqualTo(producers * jobsPerProducer);
+        assertThat(futures).allSatisfy(future -> assertThat(future.join()).isTrue());
+        assertThat(scheduler.laneCount()).isEqualTo(1);
+    }
+
+    @Test
+    void differentZonesRunInParallel() throws Exception {
+        CountDownLatch zoneBStarted = new CountDownLatch(1);
+
+        // Zone A can only finish once zone B has run, so this deadlocks if lanes share one thread
+        CompletableFuture<Boolean> zoneA = scheduler.submit("WH-1", "ZONE-A",
+                () -> awaitQuietly(zoneBStarted));
+        CompletableFuture<Boolean> zoneB = scheduler.submit("WH-1", "ZONE-B", () -> {
+            zoneBStarted.countDown();
+            return true;
+        });
+
+        assertThat(zoneA.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(zoneB.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(scheduler.laneCount()).isEqualTo(2);
+    }
+
+    @Test
+    void batchAssignSolvesEachZoneWithItsOwnWorkersAndKeepsInputOrder() throws Exception {
+        Worker workerA = worker("W-A", "ZONE-A");
+        Worker workerB = worker("W-B", "ZONE-B");
+        registry.register(workerA);
+        registry.register(workerB);
+        WorkTask taskA = task("ZONE-A");
+        WorkTask taskB = task("ZONE-B");
+        when(engine.batchAssign(List.of(taskA), List.of(workerA)))
+                .thenReturn(List.of(AssignmentResult.success(taskA.getTaskId(), "W-A", 100)));
+        when(engine.batchAssign(List.of(taskB), List.of(workerB)))
+                .thenReturn(List.of(AssignmentResult.success(taskB.getTaskId(), "W-B", 90)));
+
+        List<AssignmentResult> results = scheduler.batchAssign(List.of(taskB, taskA)).get(5, TimeUnit.SECONDS);
+
+        assertThat(results).extracting(AssignmentResult::workerId).containsExactly("W-B", "W-A");
+    }
+
+    @Test
+    void nextTaskRunsInTheWorkersZoneAndSkipsUnknownWorkers() throws Exception {
+        Worker worker = worker("W-A", "ZONE-A");
+        registry.register(worker);
+        WorkTask task = task("ZONE-A");
+        when(engine.getNextTaskForWorker(worker)).thenReturn(Optional.of(task));
+
+        assertThat(scheduler.nextTask("W-A").get(5, TimeUnit.SECONDS)).contains(task);
+        assertThat(scheduler.nextTask("UNKNOWN").get(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    void nearestWorkerAssignmentOnlyConsidersTheTasksZone() throws Exception {
+        WorkTask task = task("ZONE-A");
+        when(engine.assignTaskToNearestZoneWorker(task)).thenReturn(AssignmentResult.noEligibleWorker(task.getTaskId()));
+
+        assertThat(scheduler.assignToNearestWorker(task).get(5, TimeUnit.SECONDS).success()).isFalse();
+        verify(engine, never()).assignTaskToNearestWorker(any());
+    }
+
+    @Test
+    void jobsSubmittedAfterShutdownFailInsteadOfHanging() throws Exception {
+        scheduler.shutdown();
+
+        CompletableFuture<String> late = scheduler.submit("WH-1", "ZONE-A", () -> "never runs");
+
+        assertThatThrownBy(() -> late.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void failingJobDoesNotStallItsLane() throws Exception {
+        CompletableFuture<Object> failing = scheduler.submit("WH-1", "ZONE-A", () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = scheduler.submit("WH-1", "ZONE-A", () -> "ok");
+
+        assertThatThrownBy(() -> failing.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        verifyNoInteractions(engine);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Worker worker(String workerId, String zone) {
+        return Worker.builder()
+                .workerId(workerId)
+                .warehouseId("WH-1")
+                .currentZone(zone)
+                .currentLocation(Location.fromCode("A-01-01"))
+                .capabilities(Set.of(TaskType.PICK))
+                .specializations(Set.of())
+                .performanceRating(0.8)
+                .build();
+    }
+
+    private static WorkTask task(String zone) {
+        Location location = Location.fromCode("A-02-01");
+        PickTaskContext context = new PickTaskContext("WAVE-1", "ORDER-" + zone, PickTaskContext.PickStrategy.DISCRETE,
+                List.of(new PickTaskContext.PickInstruction("SKU-1", 1, location, "LPN-1")));
+        WorkTask task = WorkTask.create(TaskType.PICK, "WH-1", zone, location, Priority.NORMAL, "REF-" + zone,
+                Duration.ofMinutes(10), LocalDateTime.now().plusHours(1), context);
+        task.queue();
+        return task;
+    }
+}
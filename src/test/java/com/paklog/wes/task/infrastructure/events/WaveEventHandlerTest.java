@@ -7,6 +7,9 @@ import com.paklog.wes.task.domain.aggregate.WorkTask;
 import com.paklog.wes.task.domain.entity.PickTaskContext;
 import com.paklog.wes.task.domain.valueobject.Location;
 import com.paklog.wes.task.domain.valueobject.TaskType;
+import com.paklog.wes.task.infrastructure.layout.HeuristicTravelTimeModel;
+import com.paklog.wes.task.infrastructure.routing.PickBatchingProperties;
+import com.paklog.wes.task.infrastructure.routing.PickTourBatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -19,6 +22,7 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 class WaveEventHandlerTest {
@@ -42,16 +46,17 @@ class WaveEventHandlerTest {
         event.put("priority", "CRITICAL");
         event.put("orderIds", List.of("ORDER-1", "ORDER-2"));
 
-        when(taskManagementService.createTask(any(CreateTaskCommand.class)))
-                .thenReturn(sampleTask("ORDER-1"))
-                .thenReturn(sampleTask("ORDER-2"));
+        when(taskManagementService.createTasks(anyList()))
+                .thenReturn(List.of(sampleTask("ORDER-1"), sampleTask("ORDER-2")));
 
         handler.handleWaveReleased(event);
 
-        ArgumentCaptor<CreateTaskCommand> commandCaptor = ArgumentCaptor.forClass(CreateTaskCommand.class);
-        verify(taskManagementService, times(2)).createTask(commandCaptor.capture());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateTaskCommand>> commandCaptor = ArgumentCaptor.forClass(List.class);
+        verify(taskManagementService).createTasks(commandCaptor.capture());
+        verify(taskManagementService, never()).createTask(any(CreateTaskCommand.class));
 
-        List<CreateTaskCommand> commands = commandCaptor.getAllValues();
+        List<CreateTaskCommand> commands = commandCaptor.getValue();
         assertThat(commands)
                 .hasSize(2)
                 .allMatch(cmd -> cmd.type() == TaskType.PICK && cmd.warehouseId().equals("WH-1"));
@@ -60,6 +65,32 @@ class WaveEventHandlerTest {
                 .allMatch(ctx -> ctx instanceof PickTaskContext);
     }
 
+    @Test
+    void releasedWaveOrdersAreBatchedIntoOneTour() {
+        Map<String, Object> event = new HashMap<>();
+        event.put("type", "WaveReleasedEvent");
+        event.put("waveId", "WAVE-11");
+        event.put("warehouseId", "WH-1");
+        event.put("assignedZone", "ZONE-A");
+        event.put("orderIds", List.of("ORDER-1", "ORDER-2", "ORDER-3"));
+
+        handler.handleWaveReleased(event);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateTaskCommand>> commandCaptor = ArgumentCaptor.forClass(List.class);
+        verify(taskManagementService).createTasks(commandCaptor.capture());
+
+        PickBatchingProperties properties = new PickBatchingProperties();
+        properties.setEnabled(true);
+        List<CreateTaskCommand> tours = new PickTourBatcher(new HeuristicTravelTimeModel(), properties)
+                .batch(commandCaptor.getValue());
+
+        assertThat(tours).hasSize(1);
+        assertThat(tours.get(0).referenceId()).isEqualTo("WAVE-11");
+        assertThat(((PickTaskContext) tours.get(0).context()).getOrderIds())
+                .containsExactlyInAnyOrder("ORDER-1", "ORDER-2", "ORDER-3");
+    }
+
     @Test
     void handleWaveReleasedIgnoresDifferentEventType() {
         Map<String, Object> event = Map.of("type", "WaveCancelledEvent");
@@ -0,0 +1,88 @@
+package com.paklog.wes.task.infrastructure.layout;
+
+import com.paklog.wes.task.domain.valueobject.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraphTravelTimeModelTest {
+
+    private GraphTravelTimeModel model;
+
+    @BeforeEach
+    void setUp() {
+        WarehouseLayoutProperties.Warehouse layout = new WarehouseLayoutProperties.Warehouse();
+        layout.setBayWidth(1.0);
+        layout.setAisleSpacing(2.0);
+        layout.setAisles(List.of(
+                aisle("A", 10, WarehouseLayoutProperties.Direction.BOTH),
+                aisle("B", 10, WarehouseLayoutProperties.Direction.ASCENDING),
+                aisle("C", 10, WarehouseLayoutProperties.Direction.BOTH)));
+        layout.setCrossAisles(List.of(1, 10));
+
+        WarehouseLayoutProperties properties = new WarehouseLayoutProperties();
+        properties.setEnabled(true);
+        properties.setWalkSpeed(1.0);
+        properties.setLevelSeconds(5.0);
+        properties.getWarehouses().put("WH-001", layout);
+
+        model = new GraphTravelTimeModel(properties);
+    }
+
+    @Test
+    void walksAlongAnAisleAndAddsLevelTime() {
+        assertThat(seconds("A-02-01", "A-05-01")).isEqualTo(3.0);
+        assertThat(seconds("A-05-01", "A-02-01")).isEqualTo(3.0);
+        assertThat(seconds("A-02-01", "A-05-03")).isEqualTo(13.0);
+    }
+
+    @Test
+    void routesThroughCrossAislesAndHonoursOneWayAisles() {
+        // Down A to the front cross-aisle, then up B
+        assertThat(seconds("A-05-01", "B-05-01")).isEqualTo(10.0);
+        // B only runs upwards: out the back, round through A and in again at the front
+        assertThat(seconds("B-05-01", "B-02-01")).isEqualTo(19.0);
+        assertThat(seconds("B-02-01", "B-05-01")).isEqualTo(3.0);
+    }
+
+    @Test
+    void fallsBackToHeuristicOutsideTheLayout() {
+        Location inside = Location.fromCode("A-01-01");
+        Location outside = Location.fromCode("Z-01-01");
+
+        HeuristicTravelTimeModel heuristic = new HeuristicTravelTimeModel();
+
+        assertThat(model.travelSeconds("WH-001", inside, outside))
+                .isEqualTo(heuristic.travelSeconds("WH-001", inside, outside));
+        assertThat(model.travelSeconds("WH-OTHER", inside, Location.fromCode("A-05-01")))
+                .isEqualTo(heuristic.travelSeconds("WH-OTHER", inside, Location.fromCode("A-05-01")));
+    }
+
+    @Test
+    void rejectsInvalidLayouts() {
+        WarehouseLayoutProperties.Warehouse layout = new WarehouseLayoutProperties.Warehouse();
+        layout.setAisles(List.of(
+                aisle("A", 10, WarehouseLayoutProperties.Direction.BOTH),
+                aisle("A", 5, WarehouseLayoutProperties.Direction.BOTH)));
+
+        assertThatThrownBy(() -> LayoutGraph.build(layout, 1.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate aisle");
+    }
+
+    private double seconds(String from, String to) {
+        return model.travelSeconds("WH-001", Location.fromCode(from), Location.fromCode(to));
+    }
+
+    private static WarehouseLayoutProperties.Aisle aisle(String id, int bays, WarehouseLayoutProperties.Direction direction) {
+        WarehouseLayoutProperties.Aisle aisle = new WarehouseLayoutProperties.Aisle();
+        aisle.setId(id);
+        aisle.setBays(bays);
+        aisle.setDirection(direction);
+        return aisle;
+    }
+}
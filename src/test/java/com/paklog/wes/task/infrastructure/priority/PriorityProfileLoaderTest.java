@@ -0,0 +1,100 @@
+package com.paklog.wes.task.infrastructure.priority;
+
+import com.paklog.wes.task.domain.service.PriorityProfiles;
+import com.paklog.wes.task.domain.service.PriorityWeightProfile;
+import com.paklog.wes.task.domain.service.TaskPriorityCalculator;
+import com.paklog.wes.task.infrastructure.queue.TaskReprioritizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PriorityProfileLoaderTest {
+
+    private TaskPriorityCalculator calculator;
+    private PriorityProfileProperties properties;
+    private PriorityProfileRepository repository;
+    private TaskReprioritizer reprioritizer;
+    private PriorityProfileLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new TaskPriorityCalculator();
+        properties = new PriorityProfileProperties();
+        repository = mock(PriorityProfileRepository.class);
+        reprioritizer = mock(TaskReprioritizer.class);
+        when(repository.findAll()).thenReturn(List.of());
+        loader = new PriorityProfileLoader(calculator, properties, repository, Optional.of(reprioritizer));
+    }
+
+    @Test
+    void storedProfilesOverlayConfigurationWhichOverlaysTheBuiltInModel() {
+        PriorityProfileSettings configDefaults = new PriorityProfileSettings();
+        configDefaults.setAgeWeight(15);
+        properties.setDefaults(configDefaults);
+        PriorityProfileSettings configWarehouse = new PriorityProfileSettings();
+        configWarehouse.setSlaWeight(50);
+        configWarehouse.setZonePrefixes(Map.of("PICK-", 80));
+        properties.setWarehouses(Map.of("WH-1", configWarehouse));
+        PriorityProfileSettings storedWarehouse = new PriorityProfileSettings();
+        storedWarehouse.setSlaWeight(60);
+        storedWarehouse.setCustomerTiers(Map.of("vip", 100));
+        when(repository.findAll()).thenReturn(List.of(new PriorityProfileDocument("WH-1", storedWarehouse)));
+
+        loader.refresh();
+
+        PriorityProfiles profiles = calculator.getProfiles();
+        assertThat(profiles.defaults().ageWeight()).isEqualTo(15);
+        assertThat(profiles.defaults().slaWeight()).isEqualTo(35);
+        PriorityWeightProfile warehouse = profiles.forWarehouse("WH-1");
+        assertThat(warehouse.slaWeight()).isEqualTo(60);
+        assertThat(warehouse.ageWeight()).isEqualTo(15);
+        assertThat(warehouse.zoneScore("pick-b2")).isEqualTo(80);
+        assertThat(warehouse.customerScore("VIP")).isEqualTo(100);
+        // Tier table replaced as a whole: GOLD is no longer known to this warehouse
+        assertThat(warehouse.customerScore("GOLD")).isEqualTo(50);
+        assertThat(profiles.forWarehouse("WH-2")).isSameAs(profiles.defaults());
+        verify(reprioritizer).requestSweep();
+    }
+
+    @Test
+    void unchangedProfilesAreNotSwappedAgain() {
+        PriorityProfileSettings stored = new PriorityProfileSettings();
+        stored.setCutoffWeight(40);
+        when(repository.findAll()).thenReturn(List.of(new PriorityProfileDocument(PriorityProfileDocument.DEFAULTS_ID, stored)));
+
+        assertThat(loader.reload()).isTrue();
+        PriorityProfiles first = calculator.getProfiles();
+        loader.refresh();
+
+        assertThat(calculator.getProfiles()).isSameAs(first);
+        assertThat(first.defaults().cutoffWeight()).isEqualTo(40);
+        verify(reprioritizer, never()).requestSweep();
+    }
+
+    @Test
+    void invalidProfileKeepsTheProfilesInForce() {
+        PriorityProfileSettings stored = new PriorityProfileSettings();
+        stored.setSlaWeight(50);
+        when(repository.findAll()).thenReturn(List.of(new PriorityProfileDocument("WH-1", stored)));
+        loader.refresh();
+        PriorityProfiles valid = calculator.getProfiles();
+
+        PriorityProfileSettings broken = new PriorityProfileSettings();
+        broken.setZonePrefixes(Map.of("PICK-A", 250));
+        when(repository.findAll()).thenReturn(List.of(new PriorityProfileDocument("WH-1", broken)));
+        loader.refresh();
+
+        assertThat(calculator.getProfiles()).isSameAs(valid);
+        verify(reprioritizer, times(1)).requestSweep();
+    }
+}
@@ -0,0 +1,255 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.task.execution.domain.valueobject.Priority;
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTaskQueueTest {
+
+    private InMemoryTaskQueue queue;
+    private SimpleMeterRegistry meterRegistry;
+    private Location defaultLocation;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new InMemoryTaskQueue(new TaskQueueProperties(), new QueueMetrics(meterRegistry));
+        defaultLocation = new Location("A", "01", "01", "01");
+    }
+
+    @Test
+    void dequeuePrioritizesLowestScoreAndAgesOldTasks() {
+        WorkTask normal = newPickTask("REF-NORM", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        WorkTask high = newPickTask("REF-HIGH", Priority.HIGH, LocalDateTime.now().plusHours(4));
+        WorkTask oldLow = newPickTask("REF-OLD", Priority.LOW, LocalDateTime.now().plusHours(4));
+        oldLow.setCreatedAt(LocalDateTime.now().minusDays(30));
+
+        queue.enqueueAll(List.of(normal, high, oldLow));
+
+        assertThat(queue.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isEqualTo(3);
+        assertThat(queue.peek("WH-Q", "ZONE-A", TaskType.PICK)).contains(oldLow.getTaskId());
+
+        Set<TaskType> capabilities = Set.of(TaskType.PICK);
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-A", capabilities)).contains(oldLow.getTaskId());
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-A", capabilities)).contains(high.getTaskId());
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-A", capabilities)).contains(normal.getTaskId());
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-A", capabilities)).isEmpty();
+    }
+
+    @Test
+    void dequeuePicksBestScoreAcrossAllCapabilityQueues() {
+        WorkTask pick = newPickTask("REF-PICK", Priority.LOW, LocalDateTime.now().plusHours(4));
+        WorkTask pack = newPickTask("REF-PACK", Priority.CRITICAL, LocalDateTime.now().plusHours(4));
+        pack.setType(TaskType.PACK);
+
+        queue.enqueue(pick);
+        queue.enqueue(pack);
+
+        Set<TaskType> capabilities = Set.of(TaskType.PICK, TaskType.PACK);
+        assertThat(queue.peek("WH-Q", "ZONE-A", capabilities, 5))
+                .containsExactlyInAnyOrder(pick.getTaskId(), pack.getTaskId());
+        assertThat(queue.peek("WH-Q", "ZONE-A", Set.of(TaskType.PICK), 0)).isEmpty();
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-A", capabilities)).contains(pack.getTaskId());
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-A", capabilities)).contains(pick.getTaskId());
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-B", capabilities)).isEmpty();
+    }
+
+    @Test
+    void dequeueBoostsOverdueTasksBuriedBelowTheQueueHead() {
+        WorkTask overdue = newPickTask("REF-OVERDUE", Priority.LOW, LocalDateTime.now().minusMinutes(5));
+        WorkTask high = newPickTask("REF-HIGH", Priority.HIGH, LocalDateTime.now().plusHours(4));
+
+        queue.enqueueAll(List.of(overdue, high));
+
+        assertThat(queue.peek("WH-Q", "ZONE-A", TaskType.PICK)).contains(high.getTaskId());
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).contains(overdue.getTaskId());
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).contains(high.getTaskId());
+    }
+
+    @Test
+    void reEnqueueUpdatesScoreInsteadOfDuplicating() {
+        WorkTask task = newPickTask("REF-DUP", Priority.LOW, LocalDateTime.now().plusHours(4));
+        WorkTask other = newPickTask("REF-OTHER", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        queue.enqueueAll(List.of(task, other));
+
+        task.setPriority(Priority.CRITICAL);
+        queue.enqueue(task);
+
+        assertThat(queue.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isEqualTo(2);
+        assertThat(queue.peek("WH-Q", "ZONE-A", TaskType.PICK)).contains(task.getTaskId());
+    }
+
+    @Test
+    void removeClearAndStatusReflectQueueContents() {
+        WorkTask first = newPickTask("REF-1", Priority.HIGH, LocalDateTime.now().plusHours(4));
+        WorkTask second = newPickTask("REF-2", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        WorkTask pack = newPickTask("REF-3", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        pack.setType(TaskType.PACK);
+        queue.enqueueAll(List.of(first, second, pack));
+
+        queue.remove(first);
+
+        QueueStatus status = queue.getQueueStatus("WH-Q", "ZONE-A", TaskType.PICK);
+        assertThat(status.queueKey()).isEqualTo("task:queue:WH-Q:ZONE-A:PICK");
+        assertThat(status.depth()).isEqualTo(1);
+        assertThat(status.oldestTaskId()).isEqualTo(second.getTaskId());
+        assertThat(queue.getAllQueueStatus("WH-Q")).hasSize(2);
+        assertThat(queue.getAllQueueStatus("WH-OTHER")).isEmpty();
+
+        queue.clearQueue("WH-Q", "ZONE-A", TaskType.PICK);
+
+        assertThat(queue.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isZero();
+        assertThat(queue.getQueueStatus("WH-Q", "ZONE-A", TaskType.PICK).isEmpty()).isTrue();
+        assertThat(queue.getQueueDepth("WH-Q", "ZONE-A", TaskType.PACK)).isEqualTo(1);
+    }
+
+    @Test
+    void statusSeparatesOldestTaskFromHeadAndMetricsTrackWaitAndDepth() {
+        WorkTask first = newPickTask("REF-LOW", Priority.LOW, LocalDateTime.now().plusHours(4));
+        WorkTask second = newPickTask("REF-CRIT", Priority.CRITICAL, LocalDateTime.now().plusHours(4));
+        queue.enqueue(first);
+        queue.enqueue(second);
+
+        QueueStatus status = queue.getQueueStatus("WH-Q", "ZONE-A", TaskType.PICK);
+        assertThat(status.headTaskId()).isEqualTo(second.getTaskId());
+        assertThat(status.oldestTaskId()).isEqualTo(first.getTaskId());
+
+        QueueMetrics metrics = new QueueMetrics(meterRegistry);
+        metrics.update(List.of(status), status.oldestEnqueuedAt().plusSeconds(30));
+        assertThat(meterRegistry.get("task.queue.depth").tags("zone", "ZONE-A", "type", "PICK").gauge().value())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("task.queue.oldest.age").gauge().value()).isEqualTo(30.0);
+
+        queue.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK));
+        assertThat(meterRegistry.get("task.queue.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void backendHasNoLeases() {
+        queue.enqueue(newPickTask("REF-L", Priority.HIGH, LocalDateTime.now().plusHours(4)));
+        queue.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK));
+
+        assertThat(queue.getInflightCount("WH-Q", "ZONE-A", TaskType.PICK)).isZero();
+        assertThat(queue.requeueExpiredLeases(Instant.now().plusSeconds(3600))).isZero();
+    }
+
+    @Test
+    void claimDueScheduledHidesClaimedTasksUntilTheClaimTimesOut() {
+        WorkTask due = newPickTask("REF-DUE", Priority.HIGH, LocalDateTime.now().plusHours(4));
+        due.setScheduledFor(LocalDateTime.now().minusMinutes(1));
+        WorkTask later = newPickTask("REF-LATER", Priority.HIGH, LocalDateTime.now().plusHours(4));
+        later.setScheduledFor(LocalDateTime.now().plusHours(1));
+        queue.schedule(List.of(due, later));
+
+        Instant now = Instant.now();
+        assertThat(queue.claimDueScheduled(now, Duration.ofMinutes(1), 10)).containsExactly(due.getTaskId());
+        assertThat(queue.claimDueScheduled(now, Duration.ofMinutes(1), 10)).isEmpty();
+        assertThat(queue.claimDueScheduled(now.plusSeconds(61), Duration.ofMinutes(1), 10))
+                .containsExactly(due.getTaskId());
+
+        queue.removeScheduled(List.of(due.getTaskId()));
+        assertThat(queue.claimDueScheduled(now.plusSeconds(3600), Duration.ofMinutes(1), 10))
+                .containsExactly(later.getTaskId());
+    }
+
+    @Test
+    void concurrentWorkersDequeueEachTaskExactlyOnce() throws Exception {
+        List<WorkTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tasks.add(newPickTask("REF-C" + i, Priority.values()[i % Priority.values().length],
+                    LocalDateTime.now().plusHours(4)));
+        }
+        queue.enqueueAll(tasks);
+
+        int workers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<String> dequeued = new ConcurrentLinkedQueue<>();
+        for (int w = 0; w < workers; w++) {
+            String workerId = "worker-" + w;
+            executor.submit(() -> {
+                start.await();
+                while (true) {
+                    var taskId = queue.dequeue(workerId, "WH-Q", "ZONE-A", Set.of(TaskType.PICK));
+                    if (taskId.isEmpty()) {
+                        return null;
+                    }
+                    dequeued.add(taskId.get());
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(dequeued).hasSize(500).doesNotHaveDuplicates();
+        assertThat(queue.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isZero();
+    }
+
+    @Test
+    void reprioritizeMovesUrgentTasksAheadAndSkipsUnchangedOrDequeuedOnes() {
+        WorkTask first = newPickTask("REF-FIRST", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        first.setCreatedAt(LocalDateTime.now().minusMinutes(10));
+        WorkTask urgent = newPickTask("REF-URGENT", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        queue.enqueueAll(List.of(first, urgent));
+        assertThat(queue.peek("WH-Q", "ZONE-A", TaskType.PICK)).contains(first.getTaskId());
+
+        List<TaskUrgency> urgencies = List.of(new TaskUrgency(first, 0), new TaskUrgency(urgent, 800));
+
+        assertThat(queue.reprioritize(urgencies)).isEqualTo(1);
+        assertThat(queue.peek("WH-Q", "ZONE-A", TaskType.PICK)).contains(urgent.getTaskId());
+        assertThat(queue.reprioritize(urgencies)).isZero();
+
+        assertThat(queue.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).contains(urgent.getTaskId());
+        assertThat(queue.reprioritize(List.of(new TaskUrgency(urgent, 900)))).isZero();
+        assertThat(queue.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isEqualTo(1);
+    }
+
+    private WorkTask newPickTask(String referenceId, Priority priority, LocalDateTime deadline) {
+        PickTaskContext context = new PickTaskContext(
+                "WAVE-" + referenceId,
+                "ORDER-" + referenceId,
+                PickTaskContext.PickStrategy.DISCRETE,
+                List.of(new PickTaskContext.PickInstruction(
+                        "SKU-" + referenceId,
+                        1,
+                        defaultLocation,
+                        "LPN-" + referenceId
+                ))
+        );
+
+        WorkTask task = WorkTask.create(
+                TaskType.PICK,
+                "WH-Q",
+                "ZONE-A",
+                defaultLocation,
+                priority,
+                referenceId,
+                Duration.ofMinutes(10),
+                deadline,
+                context
+        );
+        task.setPriority(priority);
+        task.queue();
+        return task;
+    }
+}
@@ -0,0 +1,40 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueueKeysTest {
+
+    @Test
+    void legacyLayoutKeepsUntaggedKeys() {
+        QueueKeys keys = QueueKeys.of("WH-001", "ZONE-A", TaskType.PICK);
+
+        assertThat(keys.queue()).isEqualTo("task:queue:WH-001:ZONE-A:PICK");
+        assertThat(keys.inflight()).isEqualTo("task:inflight:WH-001:ZONE-A:PICK");
+        assertThat(keys.leases()).isEqualTo("task:leases:WH-001:ZONE-A:PICK");
+        assertThat(keys.deadlines()).isEqualTo("task:deadlines:WH-001:ZONE-A:PICK");
+    }
+
+    @Test
+    void taggedLayoutsShareOneHashTagAcrossCompanionKeys() {
+        QueueKeys warehouse = QueueKeys.of(QueueKeyLayout.WAREHOUSE, "WH-001", "ZONE-A", TaskType.PICK);
+        QueueKeys zone = QueueKeys.of(QueueKeyLayout.ZONE, "WH-001", "ZONE-A", TaskType.PICK);
+
+        assertThat(warehouse.asList()).allSatisfy(key -> assertThat(key).contains("{WH-001}:ZONE-A:PICK"));
+        assertThat(zone.asList()).allSatisfy(key -> assertThat(key).contains("{WH-001:ZONE-A}:PICK"));
+    }
+
+    @Test
+    void parseAcceptsEveryLayout() {
+        for (QueueKeyLayout layout : QueueKeyLayout.values()) {
+            String queueKey = QueueKeys.of(layout, "WH-001", "ZONE-A", TaskType.PACK).queue();
+
+            assertThat(QueueKeys.parse(queueKey))
+                    .contains(new QueueKeys.QueueId("WH-001", "ZONE-A", TaskType.PACK));
+        }
+        assertThat(QueueKeys.parse("task:queue:WH-001:ZONE-A:UNKNOWN")).isEmpty();
+        assertThat(QueueKeys.parse("task:inflight:WH-001:ZONE-A:PICK")).isEmpty();
+    }
+}
@@ -0,0 +1,62 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RescoreWheelTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void handsOutTasksOnceTheirTickHasPassed() {
+        RescoreWheel wheel = new RescoreWheel(Duration.ofSeconds(1), 8, 0);
+        wheel.schedule("T-1", 3 * SECOND);
+        wheel.schedule("T-2", 2 * SECOND + 1);
+
+        assertThat(wheel.advance(2 * SECOND)).isEmpty();
+        assertThat(wheel.advance(3 * SECOND)).containsExactlyInAnyOrder("T-1", "T-2");
+        assertThat(wheel.advance(4 * SECOND)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void parksTasksAtMostOneRotationAhead() {
+        RescoreWheel wheel = new RescoreWheel(Duration.ofSeconds(1), 8, 0);
+        wheel.schedule("FAR", 21 * SECOND);
+        wheel.schedule("NEAR", 5 * SECOND);
+
+        assertThat(wheel.advance(7 * SECOND)).containsExactly("NEAR");
+        assertThat(wheel.advance(8 * SECOND)).containsExactly("FAR");
+
+        // Still waiting after the re-check: parked for another rotation at most
+        wheel.schedule("FAR", 21 * SECOND);
+        assertThat(wheel.advance(15 * SECOND)).isEmpty();
+        assertThat(wheel.advance(16 * SECOND)).containsExactly("FAR");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reschedulingSupersedesAndCancelledTasksNeverFire() {
+        RescoreWheel wheel = new RescoreWheel(Duration.ofSeconds(1), 8, 0);
+        wheel.schedule("MOVED", 2 * SECOND);
+        wheel.schedule("MOVED", 6 * SECOND);
+        wheel.schedule("MOVED", 2 * SECOND);
+        wheel.schedule("CANCELLED", 3 * SECOND);
+        wheel.cancel("CANCELLED");
+
+        assertThat(wheel.advance(100 * SECOND)).containsExactly("MOVED");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastTimesFireOnTheNextAdvance() {
+        RescoreWheel wheel = new RescoreWheel(Duration.ofSeconds(1), 8, 10 * SECOND);
+        wheel.schedule("LATE", SECOND);
+
+        assertThat(wheel.advance(10 * SECOND)).isEmpty();
+        assertThat(wheel.advance(11 * SECOND)).containsExactly("LATE");
+    }
+}
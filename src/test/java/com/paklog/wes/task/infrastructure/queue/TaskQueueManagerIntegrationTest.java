@@ -5,6 +5,10 @@ import com.paklog.wes.task.domain.aggregate.WorkTask;
 import com.paklog.wes.task.domain.entity.PickTaskContext;
 import com.paklog.wes.task.domain.valueobject.Location;
 import com.paklog.wes.task.domain.valueobject.TaskType;
+import com.paklog.wes.task.infrastructure.config.QueueEventsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +18,9 @@ import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoCo
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -26,7 +32,9 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -51,6 +59,12 @@ class TaskQueueManagerIntegrationTest {
     @Autowired
     private TaskQueueManager queueManager;
 
+    @Autowired
+    private QueueHeadCache headCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
 
@@ -60,6 +74,7 @@ class TaskQueueManagerIntegrationTest {
     void cleanRedis() {
         Optional.ofNullable(redisTemplate.getConnectionFactory())
                 .ifPresent(factory -> factory.getConnection().serverCommands().flushAll());
+        headCache.clear();
         defaultLocation = new Location("A", "01", "01", "01");
     }
 
@@ -88,6 +103,142 @@ class TaskQueueManagerIntegrationTest {
         assertThat(queueManager.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isZero();
     }
 
+    @Test
+    void dequeuePicksBestScoreAcrossAllCapabilityQueues() {
+        WorkTask pick = newPickTask("REF-PICK", Priority.LOW, LocalDateTime.now().plusHours(4));
+        pick.queue();
+
+        WorkTask pack = newPickTask("REF-PACK", Priority.CRITICAL, LocalDateTime.now().plusHours(4));
+        pack.setType(TaskType.PACK);
+        pack.queue();
+
+        queueManager.enqueue(pick);
+        queueManager.enqueue(pack);
+
+        Set<TaskType> capabilities = Set.of(TaskType.PICK, TaskType.PACK);
+        String first = queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", capabilities).orElseThrow();
+        String second = queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", capabilities).orElseThrow();
+
+        assertThat(first).isEqualTo(pack.getTaskId());
+        assertThat(second).isEqualTo(pick.getTaskId());
+        assertThat(queueManager.getQueueDepth("WH-Q", "ZONE-A", TaskType.PACK)).isZero();
+        assertThat(queueManager.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isZero();
+    }
+
+    @Test
+    void dequeueAgesOldTasksAheadOfNewerHigherPriorityWork() {
+        WorkTask stale = newPickTask("REF-STALE", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        stale.setCreatedAt(LocalDateTime.now().minusDays(14));
+        stale.queue();
+        WorkTask fresh = newPickTask("REF-FRESH", Priority.HIGH, LocalDateTime.now().plusHours(4));
+        fresh.queue();
+
+        queueManager.enqueue(fresh);
+        queueManager.enqueue(stale);
+
+        String first = queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK)).orElseThrow();
+
+        assertThat(first).isEqualTo(stale.getTaskId());
+    }
+
+    @Test
+    void dequeueBoostsOverdueTasksBuriedBelowTheQueueHead() {
+        WorkTask overdue = newPickTask("REF-OVERDUE", Priority.LOW, LocalDateTime.now().minusMinutes(5));
+        overdue.queue();
+        WorkTask high = newPickTask("REF-HIGH", Priority.HIGH, LocalDateTime.now().plusHours(4));
+        high.queue();
+
+        queueManager.enqueueAll(List.of(overdue, high));
+
+        assertThat(queueManager.peek("WH-Q", "ZONE-A", TaskType.PICK)).contains(high.getTaskId());
+
+        String first = queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK)).orElseThrow();
+        String second = queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK)).orElseThrow();
+
+        assertThat(first).isEqualTo(overdue.getTaskId());
+        assertThat(second).isEqualTo(high.getTaskId());
+    }
+
+    @Test
+    void dequeueFindsOverdueTasksBehindManyLeasedOverdueTasks() {
+        List<WorkTask> leased = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            WorkTask task = newPickTask("REF-LEASED-" + i, Priority.CRITICAL, LocalDateTime.now().minusHours(1));
+            task.queue();
+            leased.add(task);
+        }
+        queueManager.enqueueAll(leased);
+        for (int i = 0; i < leased.size(); i++) {
+            assertThat(queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).isPresent();
+        }
+
+        WorkTask overdue = newPickTask("REF-OVERDUE", Priority.LOW, LocalDateTime.now().minusMinutes(5));
+        overdue.queue();
+        WorkTask high = newPickTask("REF-HIGH", Priority.HIGH, LocalDateTime.now().plusHours(4));
+        high.queue();
+        queueManager.enqueueAll(List.of(overdue, high));
+
+        assertThat(queueManager.dequeue("worker-2", "WH-Q", "ZONE-A", Set.of(TaskType.PICK)))
+                .contains(overdue.getTaskId());
+    }
+
+    @Test
+    void dequeueLeasesTaskUntilAcknowledgedByRemove() {
+        WorkTask task = newPickTask("REF-LEASE", Priority.HIGH, LocalDateTime.now().plusHours(2));
+        task.queue();
+        queueManager.enqueue(task);
+
+        String taskId = queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK)).orElseThrow();
+
+        assertThat(taskId).isEqualTo(task.getTaskId());
+        assertThat(queueManager.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isZero();
+        assertThat(queueManager.getInflightCount("WH-Q", "ZONE-A", TaskType.PICK)).isEqualTo(1);
+
+        queueManager.remove(task);
+
+        assertThat(queueManager.getInflightCount("WH-Q", "ZONE-A", TaskType.PICK)).isZero();
+        assertThat(queueManager.requeueExpiredLeases(Instant.now().plus(Duration.ofHours(1)))).isZero();
+    }
+
+    @Test
+    void requeueExpiredLeasesReturnsUnacknowledgedTasksWithOriginalScore() {
+        WorkTask critical = newPickTask("REF-STRANDED", Priority.CRITICAL, LocalDateTime.now().plusHours(2));
+        critical.queue();
+        WorkTask low = newPickTask("REF-WAITING", Priority.LOW, LocalDateTime.now().plusHours(2));
+        low.queue();
+        queueManager.enqueue(critical);
+        queueManager.enqueue(low);
+
+        queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK)).orElseThrow();
+
+        assertThat(queueManager.requeueExpiredLeases(Instant.now())).isZero();
+        assertThat(queueManager.requeueExpiredLeases(Instant.now().plus(Duration.ofHours(1)))).isEqualTo(1);
+
+        assertThat(queueManager.getInflightCount("WH-Q", "ZONE-A", TaskType.PICK)).isZero();
+        assertThat(queueManager.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isEqualTo(2);
+        assertThat(queueManager.peek("WH-Q", "ZONE-A", TaskType.PICK)).contains(critical.getTaskId());
+    }
+
+    @Test
+    void enqueueAllGroupsTasksByQueueAndRegistersThem() {
+        WorkTask low = newPickTask("REF-BULK-LOW", Priority.LOW, LocalDateTime.now().plusHours(4));
+        low.queue();
+        WorkTask critical = newPickTask("REF-BULK-CRIT", Priority.CRITICAL, LocalDateTime.now().plusHours(4));
+        critical.queue();
+        WorkTask pack = newPickTask("REF-BULK-PACK", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        pack.setType(TaskType.PACK);
+        pack.queue();
+
+        queueManager.enqueueAll(List.of(low, critical, pack));
+
+        assertThat(queueManager.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isEqualTo(2);
+        assertThat(queueManager.getQueueDepth("WH-Q", "ZONE-A", TaskType.PACK)).isEqualTo(1);
+        assertThat(queueManager.peek("WH-Q", "ZONE-A", TaskType.PICK)).contains(critical.getTaskId());
+        assertThat(queueManager.getAllQueueStatus("WH-Q")).hasSize(2);
+        assertThat(queueManager.peek("WH-Q", "ZONE-A", Set.of(TaskType.PICK, TaskType.PACK), 1))
+                .containsExactlyInAnyOrder(critical.getTaskId(), pack.getTaskId());
+    }
+
     @Test
     void getAllQueueStatusIncludesOldestTaskAndFiltersInvalidKeys() {
         WorkTask older = newPickTask("REF-OLD", Priority.HIGH, LocalDateTime.now().plusMinutes(45));
@@ -112,6 +263,34 @@ class TaskQueueManagerIntegrationTest {
         assertThat(status.oldestTaskId()).isEqualTo(older.getTaskId());
     }
 
+    @Test
+    void getAllQueueStatusUsesRegistryAndSeedsItWhenMissing() {
+        WorkTask pick = newPickTask("REF-REG-PICK", Priority.NORMAL, LocalDateTime.now().plusHours(2));
+        pick.queue();
+        WorkTask pack = newPickTask("REF-REG-PACK", Priority.NORMAL, LocalDateTime.now().plusHours(2));
+        pack.setType(TaskType.PACK);
+        pack.queue();
+
+        queueManager.enqueue(pick);
+        queueManager.enqueue(pack);
+
+        assertThat(redisTemplate.opsForSet().members("task:queues:WH-Q"))
+                .containsExactlyInAnyOrder("task:queue:WH-Q:ZONE-A:PICK", "task:queue:WH-Q:ZONE-A:PACK");
+
+        redisTemplate.delete("task:queues:WH-Q");
+
+        List<QueueStatus> statuses = queueManager.getAllQueueStatus("WH-Q");
+
+        assertThat(statuses).extracting(QueueStatus::type)
+                .containsExactlyInAnyOrder(TaskType.PICK, TaskType.PACK);
+        assertThat(redisTemplate.opsForSet().size("task:queues:WH-Q")).isEqualTo(2);
+
+        queueManager.clearQueue("WH-Q", "ZONE-A", TaskType.PACK);
+
+        assertThat(queueManager.getAllQueueStatus("WH-Q")).extracting(QueueStatus::type)
+                .containsExactly(TaskType.PICK);
+    }
+
     @Test
     void removeAndClearQueueUpdatesRedisState() {
         WorkTask keep = newPickTask("REF-KEEP", Priority.NORMAL, LocalDateTime.now().plusHours(2));
@@ -131,6 +310,152 @@ class TaskQueueManagerIntegrationTest {
         assertThat(queueManager.peek("WH-Q", "ZONE-A", TaskType.PICK)).isEmpty();
     }
 
+    @Test
+    void dequeueSkipsQueuesKnownEmptyUntilAnEnqueueIsPublished() throws InterruptedException {
+        String pickQueue = "task:queue:WH-Q:ZONE-A:PICK";
+        String packQueue = "task:queue:WH-Q:ZONE-A:PACK";
+        assertThat(queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK, TaskType.PACK))).isEmpty();
+        assertThat(headCache.isKnownEmpty(pickQueue)).isTrue();
+        assertThat(headCache.isKnownEmpty(packQueue)).isTrue();
+
+        // Another instance enqueues behind this one's back and announces it
+        redisTemplate.opsForZSet().add(pickQueue, "REMOTE-TASK", 1000);
+        assertThat(queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).isEmpty();
+        redisTemplate.convertAndSend(QueueHeadCache.CHANNEL, pickQueue);
+
+        long waitUntil = System.currentTimeMillis() + 5000;
+        while (headCache.isKnownEmpty(pickQueue) && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(20);
+        }
+
+        assertThat(queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).contains("REMOTE-TASK");
+        assertThat(headCache.isKnownEmpty(pickQueue)).isTrue();
+    }
+
+    @Test
+    void enqueueInvalidatesLocallyCachedEmptyQueue() {
+        assertThat(queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).isEmpty();
+
+        WorkTask task = newPickTask("REF-CACHE", Priority.HIGH, LocalDateTime.now().plusHours(1));
+        task.queue();
+        queueManager.enqueue(task);
+
+        assertThat(queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).contains(task.getTaskId());
+    }
+
+    @Test
+    void migratorMovesQueuesToHashTaggedLayout() {
+        WorkTask queued = newPickTask("REF-MIG-Q", Priority.HIGH, LocalDateTime.now().plusHours(1));
+        queued.queue();
+        WorkTask leased = newPickTask("REF-MIG-L", Priority.CRITICAL, LocalDateTime.now().plusHours(1));
+        leased.queue();
+        queueManager.enqueueAll(List.of(queued, leased));
+        assertThat(queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).contains(leased.getTaskId());
+
+        TaskQueueProperties zoneLayout = new TaskQueueProperties();
+        zoneLayout.setKeyLayout(QueueKeyLayout.ZONE);
+        int moved = new QueueKeyMigrator(redisTemplate, zoneLayout).migrate(QueueKeyLayout.LEGACY, QueueKeyLayout.ZONE);
+
+        assertThat(moved).isEqualTo(1);
+        assertThat(redisTemplate.hasKey("task:queue:WH-Q:ZONE-A:PICK")).isFalse();
+        assertThat(redisTemplate.opsForSet().members("task:queues:WH-Q"))
+                .containsExactly("task:queue:{WH-Q:ZONE-A}:PICK");
+
+        TaskQueueManager migrated = new TaskQueueManager(redisTemplate, zoneLayout, new QueueHeadCache(zoneLayout),
+                new QueueMetrics(meterRegistry));
+        assertThat(migrated.getInflightCount("WH-Q", "ZONE-A", TaskType.PICK)).isEqualTo(1);
+        assertThat(migrated.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK))).contains(queued.getTaskId());
+        assertThat(migrated.requeueExpiredLeases(Instant.now().plus(Duration.ofHours(1)))).isEqualTo(2);
+    }
+
+    @Test
+    void migratorFindsLegacyQueuesThatWereNeverRegistered() {
+        // Written the way the baseline did: plain sorted sets, no queue registry and no warehouse set
+        redisTemplate.opsForZSet().add("task:queue:WH-OLD:ZONE-A:PICK", "OLD-TASK-1", 100);
+        redisTemplate.opsForZSet().add("task:queue:WH-OLD:ZONE-B:PACK", "OLD-TASK-2", 200);
+
+        TaskQueueProperties zoneLayout = new TaskQueueProperties();
+        zoneLayout.setKeyLayout(QueueKeyLayout.ZONE);
+        int moved = new QueueKeyMigrator(redisTemplate, zoneLayout).migrate(QueueKeyLayout.LEGACY, QueueKeyLayout.ZONE);
+
+        assertThat(moved).isEqualTo(2);
+        assertThat(redisTemplate.hasKey("task:queue:WH-OLD:ZONE-A:PICK")).isFalse();
+        assertThat(redisTemplate.opsForSet().members("task:warehouses")).contains("WH-OLD");
+        assertThat(redisTemplate.opsForSet().members("task:queues:WH-OLD"))
+                .containsExactlyInAnyOrder("task:queue:{WH-OLD:ZONE-A}:PICK", "task:queue:{WH-OLD:ZONE-B}:PACK");
+
+        TaskQueueManager migrated = new TaskQueueManager(redisTemplate, zoneLayout, new QueueHeadCache(zoneLayout),
+                new QueueMetrics(meterRegistry));
+        assertThat(migrated.dequeue("worker-1", "WH-OLD", "ZONE-A", Set.of(TaskType.PICK))).contains("OLD-TASK-1");
+    }
+
+    @Test
+    void scheduledTasksAreClaimedAtLeastOnceUntilRemoved() {
+        WorkTask due = newPickTask("REF-SCHED-DUE", Priority.HIGH, LocalDateTime.now().plusHours(4));
+        due.scheduleFor(LocalDateTime.now().minusMinutes(1));
+        WorkTask later = newPickTask("REF-SCHED-LATER", Priority.HIGH, LocalDateTime.now().plusHours(4));
+        later.scheduleFor(LocalDateTime.now().plusHours(1));
+        queueManager.schedule(List.of(due, later));
+
+        Instant now = Instant.now();
+        assertThat(queueManager.claimDueScheduled(now, Duration.ofMinutes(1), 10)).containsExactly(due.getTaskId());
+        assertThat(queueManager.claimDueScheduled(now, Duration.ofMinutes(1), 10)).isEmpty();
+        assertThat(queueManager.claimDueScheduled(now.plusSeconds(61), Duration.ofMinutes(1), 10))
+                .containsExactly(due.getTaskId());
+
+        queueManager.removeScheduled(List.of(due.getTaskId()));
+        queueManager.remove(later);
+
+        assertThat(queueManager.claimDueScheduled(now.plusSeconds(7200), Duration.ofMinutes(1), 10)).isEmpty();
+        assertThat(queueManager.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isZero();
+    }
+
+    @Test
+    void statusReportsOldestTaskSeparatelyFromHeadAndDequeueRecordsWaitTime() {
+        WorkTask first = newPickTask("REF-WAIT-LOW", Priority.LOW, LocalDateTime.now().plusHours(4));
+        first.queue();
+        queueManager.enqueue(first);
+        WorkTask second = newPickTask("REF-WAIT-CRIT", Priority.CRITICAL, LocalDateTime.now().plusHours(4));
+        second.queue();
+        queueManager.enqueue(second);
+
+        QueueStatus status = queueManager.getQueueStatus("WH-Q", "ZONE-A", TaskType.PICK);
+        assertThat(status.depth()).isEqualTo(2);
+        assertThat(status.headTaskId()).isEqualTo(second.getTaskId());
+        assertThat(status.oldestTaskId()).isEqualTo(first.getTaskId());
+        assertThat(status.oldestEnqueuedAt()).isBeforeOrEqualTo(Instant.now());
+
+        queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK));
+
+        Timer wait = meterRegistry.find("task.queue.wait")
+                .tags("warehouse", "WH-Q", "zone", "ZONE-A", "type", "PICK")
+                .timer();
+        assertThat(wait).isNotNull();
+        assertThat(wait.count()).isGreaterThanOrEqualTo(1);
+        assertThat(queueManager.getQueueStatus("WH-Q", "ZONE-A", TaskType.PICK).oldestTaskId())
+                .isEqualTo(first.getTaskId());
+    }
+
+    @Test
+    void reprioritizeRewritesChangedScoresOfWaitingTasksOnly() {
+        WorkTask first = newPickTask("REF-FIRST", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        first.setCreatedAt(LocalDateTime.now().minusMinutes(10));
+        WorkTask urgent = newPickTask("REF-URGENT", Priority.NORMAL, LocalDateTime.now().plusHours(4));
+        WorkTask leased = newPickTask("REF-LEASED", Priority.CRITICAL, LocalDateTime.now().plusHours(4));
+        queueManager.enqueue(leased);
+        queueManager.dequeue("worker-1", "WH-Q", "ZONE-A", Set.of(TaskType.PICK)).orElseThrow();
+        queueManager.enqueueAll(List.of(first, urgent));
+
+        List<TaskUrgency> urgencies = List.of(
+                new TaskUrgency(first, 0), new TaskUrgency(urgent, 800), new TaskUrgency(leased, 1000));
+
+        assertThat(queueManager.reprioritize(urgencies)).isEqualTo(1);
+        assertThat(queueManager.peek("WH-Q", "ZONE-A", TaskType.PICK)).contains(urgent.getTaskId());
+        assertThat(queueManager.getQueueDepth("WH-Q", "ZONE-A", TaskType.PICK)).isEqualTo(2);
+        assertThat(queueManager.getInflightCount("WH-Q", "ZONE-A", TaskType.PICK)).isEqualTo(1);
+        assertThat(queueManager.reprioritize(urgencies)).isZero();
+    }
+
     private WorkTask newPickTask(String referenceId, Priority priority, LocalDateTime deadline) {
         PickTaskContext context = new PickTaskContext(
                 "WAVE-" + referenceId,
@@ -167,7 +492,13 @@ class TaskQueueManagerIntegrationTest {
             MongoDataAutoConfiguration.class,
             MongoRepositoriesAutoConfiguration.class
     })
-    @Import(TaskQueueManager.class)
+    @EnableConfigurationProperties(TaskQueueProperties.class)
+    @Import({TaskQueueManager.class, QueueHeadCache.class, QueueMetrics.class, QueueEventsConfig.class})
     static class RedisTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
     }
 }
@@ -0,0 +1,185 @@
+package com.paklog.wes.task.infrastructure.queue;
+
+import com.paklog.task.execution.domain.valueobject.Priority;
+import com.paklog.wes.task.domain.aggregate.WorkTask;
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+import com.paklog.wes.task.domain.repository.WorkTaskRepository;
+import com.paklog.wes.task.domain.service.TaskPriorityCalculator;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskStatus;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskReprioritizerTest {
+
+    private static final Location LOCATION = Location.fromCode("A-01-01");
+
+    private WorkTaskRepository repository;
+    private InMemoryTaskQueue queue;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskReprioritizer reprioritizer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(WorkTaskRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        TaskQueueProperties properties = new TaskQueueProperties();
+        properties.getReprioritize().setBatchSize(1);
+        QueueMetrics metrics = new QueueMetrics(meterRegistry);
+        queue = new InMemoryTaskQueue(properties, metrics);
+        reprioritizer = new TaskReprioritizer(repository, queue, new TaskPriorityCalculator(), properties, metrics);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        reprioritizer.shutdown();
+    }
+
+    @Test
+    void tasksNearingTheirDeadlineOvertakeEarlierWorkAndOnlyChangesCount() {
+        LocalDateTime now = LocalDateTime.now();
+        WorkTask relaxed = queuedTask("REF-RELAXED", now.plusDays(3));
+        relaxed.setCreatedAt(now.minusMinutes(10));
+        WorkTask rush = queuedTask("REF-RUSH", now.plusMinutes(30));
+        queue.enqueueAll(List.of(relaxed, rush));
+        assertThat(queue.peek("WH-R", "ZONE-A", TaskType.PICK)).contains(relaxed.getTaskId());
+
+        when(repository.streamByWarehouseIdAndStatus("WH-R", TaskStatus.QUEUED))
+                .thenAnswer(invocation -> List.of(relaxed, rush).stream());
+
+        assertThat(reprioritizer.reprioritize("WH-R", now)).isEqualTo(2);
+        assertThat(queue.peek("WH-R", "ZONE-A", TaskType.PICK)).contains(rush.getTaskId());
+        assertThat(reprioritizer.reprioritize("WH-R", now)).isZero();
+
+        assertThat(meterRegistry.get("task.queue.reprioritize.scored").tag("warehouse", "WH-R").counter().count())
+                .isEqualTo(4);
+        assertThat(meterRegistry.get("task.queue.reprioritize.moved").tag("warehouse", "WH-R").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void scheduledPassCoversEveryWarehouseWithAQueue() {
+        WorkTask task = queuedTask("REF-ONE", LocalDateTime.now().plusHours(1));
+        queue.enqueue(task);
+        when(repository.streamByWarehouseIdAndStatus("WH-R", TaskStatus.QUEUED))
+                .thenAnswer(invocation -> List.of(task).stream());
+
+        reprioritizer.reprioritizeQueuedTasks();
+
+        assertThat(meterRegistry.get("task.queue.reprioritize.moved").tag("warehouse", "WH-R").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void requestedSweepRunsOnItsOwnThreadWithoutHoldingUpTheTick() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        WorkTask task = queuedTask("REF-SWEEP", now.plusHours(1));
+        queue.enqueue(task);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> sweepThread = new AtomicReference<>();
+        when(repository.streamByWarehouseIdAndStatus("WH-R", TaskStatus.QUEUED)).thenAnswer(invocation -> {
+            sweepThread.set(Thread.currentThread().getName());
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(task).stream();
+        });
+
+        reprioritizer.requestSweep();
+        await().atMost(Duration.ofSeconds(5)).until(() -> sweepThread.get() != null);
+
+        // The sweep is blocked, yet the caller is free and the wheel still ticks
+        assertThat(reprioritizer.rescoreDueTasks(now.plusSeconds(1))).isZero();
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> reprioritizer.scheduledCount() == 1);
+        assertThat(sweepThread.get()).isEqualTo("reprioritize-sweep");
+    }
+
+    @Test
+    void tasksAreRescoredOnlyWhenTheirNextBandEdgeArrives() {
+        LocalDateTime now = LocalDateTime.now();
+        WorkTask task = queuedTask("REF-EDGE", now.plusMinutes(90));
+        queue.enqueue(task);
+        when(repository.streamByWarehouseIdAndStatus("WH-R", TaskStatus.QUEUED))
+                .thenAnswer(invocation -> List.of(task).stream());
+        when(repository.findAllById(List.of(task.getTaskId()))).thenReturn(List.of(task));
+
+        assertThat(reprioritizer.reprioritize("WH-R", now)).isEqualTo(1);
+        assertThat(reprioritizer.scheduledCount()).isEqualTo(1);
+
+        assertThat(reprioritizer.rescoreDueTasks(now.plusMinutes(29))).isZero();
+        verify(repository, never()).findAllById(any());
+
+        // Under an hour to the deadline: the SLA score steps up and the task moves
+        assertThat(reprioritizer.rescoreDueTasks(now.plusMinutes(31))).isEqualTo(1);
+        assertThat(reprioritizer.scheduledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tasksThatLeaveTheQueueDropOffTheWheelWithinOneRotation() {
+        LocalDateTime now = LocalDateTime.now();
+        // No band edge for a day: the deadline is three days out and the age score is already maxed
+        WorkTask task = queuedTask("REF-FAR", now.plusDays(3));
+        task.setCreatedAt(now.minusDays(10));
+        queue.enqueue(task);
+        when(repository.streamByWarehouseIdAndStatus("WH-R", TaskStatus.QUEUED))
+                .thenAnswer(invocation -> List.of(task).stream());
+        when(repository.findAllById(List.of(task.getTaskId()))).thenReturn(List.of(task));
+
+        reprioritizer.reprioritize("WH-R", now);
+        assertThat(reprioritizer.scheduledCount()).isEqualTo(1);
+
+        task.assign("W-1");
+        assertThat(reprioritizer.rescoreDueTasks(now.plusHours(1))).isZero();
+        assertThat(reprioritizer.scheduledCount()).isZero();
+    }
+
+    @Test
+    void admissionScoresOnlyTasksQueuedSinceThePreviousPass() {
+        LocalDateTime now = LocalDateTime.now();
+        WorkTask early = queuedTask("REF-EARLY", now.plusHours(5));
+        WorkTask late = queuedTask("REF-LATE", now.plusHours(5));
+        queue.enqueueAll(List.of(early, late));
+        when(repository.streamByWarehouseIdAndStatus("WH-R", TaskStatus.QUEUED))
+                .thenAnswer(invocation -> List.of(early).stream());
+        when(repository.streamByWarehouseIdAndStatusAndQueuedAtGreaterThanEqual(
+                eq("WH-R"), eq(TaskStatus.QUEUED), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> List.of(late).stream());
+
+        // The first admission of a warehouse is a full sweep
+        assertThat(reprioritizer.admit("WH-R", now)).isEqualTo(1);
+        assertThat(reprioritizer.admit("WH-R", now.plusSeconds(15))).isEqualTo(1);
+
+        assertThat(reprioritizer.scheduledCount()).isEqualTo(2);
+        verify(repository).streamByWarehouseIdAndStatusAndQueuedAtGreaterThanEqual(
+                "WH-R", TaskStatus.QUEUED, now.minusSeconds(5));
+    }
+
+    private static WorkTask queuedTask(String referenceId, LocalDateTime deadline) {
+        PickTaskContext context = new PickTaskContext("WAVE-1", "ORDER-" + referenceId,
+                PickTaskContext.PickStrategy.DISCRETE,
+                List.of(new PickTaskContext.PickInstruction("SKU-1", 1, LOCATION, "LPN-1")));
+        WorkTask task = WorkTask.create(TaskType.PICK, "WH-R", "ZONE-A", LOCATION, Priority.NORMAL, referenceId,
+                Duration.ofMinutes(10), deadline, context);
+        task.queue();
+        return task;
+    }
+}
@@ -0,0 +1,167 @@
+package com.paklog.wes.task.infrastructure.routing;
+
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.infrastructure.layout.HeuristicTravelTimeModel;
+import com.paklog.wes.task.infrastructure.layout.TravelTimeModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PickPathSequencerTest {
+
+    private final TravelTimeModel travelTimeModel = new HeuristicTravelTimeModel();
+    private final PickPathSequencer sequencer = new PickPathSequencer(travelTimeModel);
+
+    @Test
+    void ordersPicksAlongTheAisleInsteadOfArrivalOrder() {
+        List<PickTaskContext.PickInstruction> instructions = List.of(
+                pick("SKU-9", "A-09-01"),
+                pick("SKU-2", "A-02-01"),
+                pick("SKU-7", "A-07-01"),
+                pick("SKU-4", "A-04-01"));
+
+        PickRoute route = sequencer.plan("WH-1", Location.fromCode("A-01-01"), instructions);
+
+        assertThat(route.instructions()).extracting(PickTaskContext.PickInstruction::getSku)
+                .containsExactly("SKU-2", "SKU-4", "SKU-7", "SKU-9");
+        // One walk down the aisle: the same as going straight to the last bay
+        assertThat(route.travelSeconds()).isEqualTo(seconds("A-01-01", "A-09-01"));
+    }
+
+    @Test
+    void twoOptRemovesTheCrossingLeftByNearestNeighbour() {
+        // Nearest neighbour takes bay 4 first and walks back past the start; going to bay 1 first is shorter
+        List<PickTaskContext.PickInstruction> instructions = List.of(
+                pick("SKU-1", "A-01-01"),
+                pick("SKU-2", "A-04-01"),
+                pick("SKU-5", "A-08-01"));
+
+        PickRoute route = sequencer.plan("WH-1", Location.fromCode("A-03-01"), instructions);
+
+        assertThat(route.instructions()).extracting(PickTaskContext.PickInstruction::getSku)
+                .containsExactly("SKU-1", "SKU-2", "SKU-5");
+        assertThat(route.travelSeconds()).isEqualTo(seconds("A-03-01", "A-01-01") + seconds("A-01-01", "A-08-01"));
+    }
+
+    @Test
+    void routeIsNeverLongerThanArrivalOrderAndCloseToOptimal() {
+        Random random = new Random(42);
+        Location start = Location.fromCode("A-01-01");
+        for (int round = 0; round < 50; round++) {
+            List<PickTaskContext.PickInstruction> instructions = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                String aisle = String.valueOf((char) ('A' + random.nextInt(4)));
+                instructions.add(pick("SKU-" + i, aisle + "-" + (1 + random.nextInt(20)) + "-" + (1 + random.nextInt(3))));
+            }
+
+            PickRoute route = sequencer.plan("WH-1", start, instructions);
+
+            assertThat(route.instructions()).containsExactlyInAnyOrderElementsOf(instructions);
+            assertThat(route.travelSeconds()).isCloseTo(length(start, route.instructions()), within(1e-6));
+            assertThat(route.travelSeconds()).isLessThanOrEqualTo(length(start, instructions) + 1e-6);
+            assertThat(route.travelSeconds()).isLessThanOrEqualTo(optimal(start, instructions) * 1.25 + 1e-6);
+        }
+    }
+
+    @Test
+    void respectsAsymmetricTravelTimes() {
+        // Walking towards higher bays is cheap, walking back costs ten times as much
+        TravelTimeModel oneWay = (warehouseId, from, to) -> {
+            int delta = to.bayNumber() - from.bayNumber();
+            return delta >= 0 ? delta : -10.0 * delta;
+        };
+        PickPathSequencer oneWaySequencer = new PickPathSequencer(oneWay);
+        List<PickTaskContext.PickInstruction> instructions = List.of(
+                pick("SKU-3", "A-03-01"),
+                pick("SKU-6", "A-06-01"),
+                pick("SKU-1", "A-01-01"));
+
+        PickRoute route = oneWaySequencer.plan("WH-1", Location.fromCode("A-02-01"), instructions);
+
+        assertThat(route.instructions()).extracting(PickTaskContext.PickInstruction::getSku)
+                .containsExactly("SKU-1", "SKU-3", "SKU-6");
+        assertThat(route.travelSeconds()).isEqualTo(15.0);
+    }
+
+    @Test
+    void sequenceReordersContextAndRecordsTravelTime() {
+        PickTaskContext context = new PickTaskContext("WAVE-1", "ORDER-1", PickTaskContext.PickStrategy.DISCRETE,
+                List.of(pick("SKU-B", "A-05-01"), pick("SKU-A", "A-02-01")));
+
+        sequencer.sequence("WH-1", Location.fromCode("A-01-01"), context);
+
+        assertThat(context.getInstructions()).extracting(PickTaskContext.PickInstruction::getSku)
+                .containsExactly("SKU-A", "SKU-B");
+        assertThat(context.getEstimatedTravelSeconds()).isEqualTo(seconds("A-01-01", "A-05-01"));
+        assertThat(context.getTotalQuantity()).isEqualTo(2);
+        assertThat(context.getMetadata()).containsEntry("estimatedTravelSeconds", context.getEstimatedTravelSeconds());
+    }
+
+    @Test
+    void picksWithAnAlphanumericBayKeepArrivalOrder() {
+        List<PickTaskContext.PickInstruction> instructions = List.of(
+                pick("SKU-B", "A-05-01"),
+                new PickTaskContext.PickInstruction("SKU-X", 1, new Location("A", "0B", "01", "01"), "LPN-X"),
+                pick("SKU-A", "A-02-01"));
+        PickTaskContext context = new PickTaskContext("WAVE-1", "ORDER-1", PickTaskContext.PickStrategy.DISCRETE,
+                instructions);
+
+        sequencer.sequence("WH-1", Location.fromCode("A-01-01"), context);
+
+        assertThat(context.getInstructions()).containsExactlyElementsOf(instructions);
+        assertThat(context.getEstimatedTravelSeconds()).isZero();
+        assertThat(PickPathSequencer.isRoutable(new Location("A", "0B", "01", "01"), List.of())).isFalse();
+    }
+
+    @Test
+    void emptyAndSingleInstructionRoutes() {
+        Location start = Location.fromCode("A-01-01");
+
+        assertThat(sequencer.plan("WH-1", start, List.of()).travelSeconds()).isZero();
+        PickRoute single = sequencer.plan("WH-1", start, List.of(pick("SKU-1", "A-03-01")));
+        assertThat(single.instructions()).hasSize(1);
+        assertThat(single.travelSeconds()).isEqualTo(seconds("A-01-01", "A-03-01"));
+    }
+
+    private double seconds(String from, String to) {
+        return travelTimeModel.travelSeconds("WH-1", Location.fromCode(from), Location.fromCode(to));
+    }
+
+    private double length(Location start, List<PickTaskContext.PickInstruction> route) {
+        double total = 0;
+        Location current = start;
+        for (PickTaskContext.PickInstruction instruction : route) {
+            total += travelTimeModel.travelSeconds("WH-1", current, instruction.getLocation());
+            current = instruction.getLocation();
+        }
+        return total;
+    }
+
+    private double optimal(Location start, List<PickTaskContext.PickInstruction> instructions) {
+        return permute(start, new ArrayList<>(instructions), 0);
+    }
+
+    private double permute(Location start, List<PickTaskContext.PickInstruction> route, int fixed) {
+        if (fixed == route.size()) {
+            return length(start, route);
+        }
+        double best = Double.MAX_VALUE;
+        for (int i = fixed; i < route.size(); i++) {
+            Collections.swap(route, fixed, i);
+            best = Math.min(best, permute(start, route, fixed + 1));
+            Collections.swap(route, fixed, i);
+        }
+        return best;
+    }
+
+    private static PickTaskContext.PickInstruction pick(String sku, String locationCode) {
+        return new PickTaskContext.PickInstruction(sku, 1, Location.fromCode(locationCode), "LPN-" + sku);
+    }
+}
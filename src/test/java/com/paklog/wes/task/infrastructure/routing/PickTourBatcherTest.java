@@ -0,0 +1,172 @@
+package com.paklog.wes.task.infrastructure.routing;
+
+import com.paklog.task.execution.domain.valueobject.Priority;
+import com.paklog.wes.task.application.command.CreateTaskCommand;
+import com.paklog.wes.task.domain.entity.PackTaskContext;
+import com.paklog.wes.task.domain.entity.PickTaskContext;
+import com.paklog.wes.task.domain.valueobject.Location;
+import com.paklog.wes.task.domain.valueobject.TaskType;
+import com.paklog.wes.task.infrastructure.layout.HeuristicTravelTimeModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PickTourBatcherTest {
+
+    private static final Location START = Location.fromCode("A-01-01");
+
+    private PickBatchingProperties properties;
+    private PickTourBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PickBatchingProperties();
+        properties.setEnabled(true);
+        properties.setMaxOrdersPerTour(3);
+        properties.setMaxUnitsPerTour(100);
+        batcher = new PickTourBatcher(new HeuristicTravelTimeModel(), properties);
+    }
+
+    @Test
+    void groupsNearbyOrdersOntoTheSameCart() {
+        List<CreateTaskCommand> orders = List.of(
+                order("WAVE-1", "ORDER-A2", 1, "A-02-01"),
+                order("WAVE-1", "ORDER-D30", 1, "D-30-01"),
+                order("WAVE-1", "ORDER-A4", 1, "A-04-01"),
+                order("WAVE-1", "ORDER-D36", 1, "D-36-01"),
+                order("WAVE-1", "ORDER-A6", 1, "A-06-01"),
+                order("WAVE-1", "ORDER-D33", 1, "D-33-01"));
+
+        List<CreateTaskCommand> tours = batcher.batch(orders);
+
+        assertThat(tours).hasSize(2);
+        assertThat(context(tours.get(0)).getOrderIds())
+                .containsExactlyInAnyOrder("ORDER-D30", "ORDER-D33", "ORDER-D36");
+        assertThat(context(tours.get(1)).getOrderIds())
+                .containsExactlyInAnyOrder("ORDER-A2", "ORDER-A4", "ORDER-A6");
+    }
+
+    @Test
+    void respectsCartCapacityInOrdersAndUnits() {
+        properties.setMaxUnitsPerTour(10);
+        List<CreateTaskCommand> orders = List.of(
+                order("WAVE-1", "ORDER-1", 4, "A-02-01"),
+                order("WAVE-1", "ORDER-2", 4, "A-03-01"),
+                order("WAVE-1", "ORDER-3", 4, "A-04-01"),
+                order("WAVE-1", "ORDER-4", 12, "A-05-01"));
+
+        List<CreateTaskCommand> tours = batcher.batch(orders);
+
+        assertThat(tours).hasSize(3);
+        assertThat(tours).allSatisfy(tour -> {
+            PickTaskContext context = context(tour);
+            assertThat(context.getOrderIds().size()).isLessThanOrEqualTo(properties.getMaxOrdersPerTour());
+            if (context.isMultiOrder()) {
+                assertThat(context.getTotalQuantity()).isLessThanOrEqualTo(properties.getMaxUnitsPerTour());
+            }
+        });
+        // The oversized order goes out on its own, unchanged
+        assertThat(tours).contains(orders.get(3));
+    }
+
+    @Test
+    void mergedTaskIsAMultiOrderClusterPick() {
+        LocalDateTime early = LocalDateTime.now().plusHours(1);
+        CreateTaskCommand normal = order("WAVE-1", "ORDER-1", 2, "A-02-01");
+        CreateTaskCommand urgent = new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-A", START, Priority.HIGH,
+                "WAVE-1", Duration.ofMinutes(10), early, pickContext("WAVE-1", "ORDER-2", 3, "A-03-01"));
+
+        List<CreateTaskCommand> tours = batcher.batch(List.of(normal, urgent));
+
+        assertThat(tours).hasSize(1);
+        CreateTaskCommand tour = tours.get(0);
+        assertThat(tour.priority()).isEqualTo(Priority.HIGH);
+        assertThat(tour.deadline()).isEqualTo(early);
+        assertThat(tour.estimatedDuration()).isEqualTo(Duration.ofMinutes(20));
+        assertThat(tour.location()).isEqualTo(START);
+
+        PickTaskContext context = context(tour);
+        assertThat(context.isMultiOrder()).isTrue();
+        assertThat(context.getStrategy()).isEqualTo(PickTaskContext.PickStrategy.CLUSTER);
+        assertThat(context.getTotalQuantity()).isEqualTo(5);
+        assertThat(context.getInstructions()).extracting(PickTaskContext.PickInstruction::getOrderId)
+                .containsExactlyInAnyOrder("ORDER-1", "ORDER-2");
+        assertThat(context.getComplexityScore()).isCloseTo((1.0 + 2 * 0.1 + 5 * 0.05) * 1.3, within(1e-9));
+        context.validate();
+    }
+
+    @Test
+    void mergedTaskIsReferencedByItsWaveWhenOrderReferencesDiffer() {
+        CreateTaskCommand first = new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-A", START, Priority.NORMAL,
+                "ORDER-1", Duration.ofMinutes(10), null, pickContext("WAVE-1", "ORDER-1", 1, "A-02-01"));
+        CreateTaskCommand second = new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-A", START, Priority.NORMAL,
+                "ORDER-2", Duration.ofMinutes(10), null, pickContext("WAVE-1", "ORDER-2", 1, "A-03-01"));
+
+        CreateTaskCommand tour = batcher.batch(List.of(first, second)).get(0);
+
+        assertThat(tour.referenceId()).isEqualTo("WAVE-1");
+        assertThat(context(tour).getOrderIds()).containsExactlyInAnyOrder("ORDER-1", "ORDER-2");
+    }
+
+    @Test
+    void ordersWithoutTaskLocationStartFromTheirFirstPick() {
+        CreateTaskCommand first = new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-A", null, Priority.NORMAL,
+                "WAVE-1", Duration.ofMinutes(10), null, pickContext("WAVE-1", "ORDER-1", 1, "A-02-01"));
+        CreateTaskCommand second = new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-A", null, Priority.NORMAL,
+                "WAVE-1", Duration.ofMinutes(10), null, pickContext("WAVE-1", "ORDER-2", 1, "A-03-01"));
+
+        List<CreateTaskCommand> tours = batcher.batch(List.of(first, second));
+
+        assertThat(tours).hasSize(1);
+        assertThat(tours.get(0).location()).isNotNull();
+        assertThat(context(tours.get(0)).getOrderIds()).containsExactlyInAnyOrder("ORDER-1", "ORDER-2");
+    }
+
+    @Test
+    void ordersWithAnAlphanumericBayAreNotBatched() {
+        CreateTaskCommand measurable = order("WAVE-1", "ORDER-1", 1, "A-02-01");
+        CreateTaskCommand alphanumeric = new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-A", START,
+                Priority.NORMAL, "WAVE-1", Duration.ofMinutes(10), null,
+                new PickTaskContext("WAVE-1", "ORDER-2", PickTaskContext.PickStrategy.DISCRETE, List.of(
+                        new PickTaskContext.PickInstruction("SKU-2", 1, new Location("A", "0B", "01", "01"),
+                                "LPN-2"))));
+
+        assertThat(batcher.batch(List.of(measurable, alphanumeric))).containsExactly(alphanumeric, measurable);
+    }
+
+    @Test
+    void leavesOtherWavesTypesAndDisabledBatchingAlone() {
+        CreateTaskCommand waveOne = order("WAVE-1", "ORDER-1", 1, "A-02-01");
+        CreateTaskCommand waveTwo = order("WAVE-2", "ORDER-2", 1, "A-03-01");
+        CreateTaskCommand pack = new CreateTaskCommand(TaskType.PACK, "WH-1", "ZONE-A", START, Priority.NORMAL,
+                "REF-PACK", Duration.ofMinutes(5), null,
+                new PackTaskContext());
+
+        assertThat(batcher.batch(List.of(waveOne, pack, waveTwo))).containsExactly(pack, waveOne, waveTwo);
+
+        properties.setEnabled(false);
+        List<CreateTaskCommand> sameWave = List.of(waveOne, order("WAVE-1", "ORDER-4", 1, "A-04-01"));
+        assertThat(batcher.batch(sameWave)).isSameAs(sameWave);
+    }
+
+    private static CreateTaskCommand order(String waveId, String orderId, int quantity, String locationCode) {
+        return new CreateTaskCommand(TaskType.PICK, "WH-1", "ZONE-A", START, Priority.NORMAL, waveId,
+                Duration.ofMinutes(10), null, pickContext(waveId, orderId, quantity, locationCode));
+    }
+
+    private static PickTaskContext pickContext(String waveId, String orderId, int quantity, String locationCode) {
+        return new PickTaskContext(waveId, orderId, PickTaskContext.PickStrategy.DISCRETE, List.of(
+                new PickTaskContext.PickInstruction("SKU-" + orderId, quantity, Location.fromCode(locationCode),
+                        "LPN-" + orderId)));
+    }
+
+    private static PickTaskContext context(CreateTaskCommand command) {
+        return (PickTaskContext) command.context();
+    }
+}